@@ -0,0 +1,32 @@
+package org.example.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа для запуска бенчмарков. Принимает стандартные аргументы командной строки JMH
+ * (например, регулярное выражение для выбора бенчмарков или -p size=10000000) и всегда подключает
+ * профилировщик gc, чтобы вместе со временем выводилась скорость выделения памяти
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Запускает бенчмарки
+     *
+     * @param args аргументы командной строки JMH
+     * @throws RunnerException             если запуск бенчмарков завершился с ошибкой
+     * @throws CommandLineOptionException если аргументы командной строки некорректны
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
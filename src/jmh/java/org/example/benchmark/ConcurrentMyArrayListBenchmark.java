@@ -0,0 +1,116 @@
+package org.example.benchmark;
+
+import org.example.ConcurrentMyArrayList;
+import org.example.MyArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк конкурентного доступа к списку: ConcurrentMyArrayList (оптимистичное чтение через StampedLock)
+ * в сравнении с MyArrayList, обёрнутым в synchronized. Группы readOnly содержат только читающие потоки,
+ * группы readMostly - читающие потоки и один пишущий.
+ *
+ * <p>
+ * Масштабирование по числу потоков измеряется параметром JMH -tg, например:
+ * java -jar target/benchmarks.jar ConcurrentMyArrayListBenchmark.*ReadOnly -tg 1,2,4,8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentMyArrayListBenchmark {
+
+    /**
+     * Размер списка
+     */
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private ConcurrentMyArrayList<Integer> concurrentList;
+
+    private MyArrayList<Integer> synchronizedList;
+
+    /**
+     * Значение, которое записывает пишущий поток
+     */
+    private final Integer value = 42;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        concurrentList = new ConcurrentMyArrayList<>();
+        synchronizedList = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            concurrentList.add(i);
+            synchronizedList.add(i);
+        }
+    }
+
+    /**
+     * Состояние потока: генератор псевдослучайных индексов (xorshift), не требующий синхронизации
+     */
+    @State(Scope.Thread)
+    public static class ThreadIndex {
+
+        private int seed = (int) System.nanoTime() | 1;
+
+        int next(int bound) {
+            int x = seed;
+            x ^= x << 13;
+            x ^= x >>> 17;
+            x ^= x << 5;
+            seed = x;
+            return (x & Integer.MAX_VALUE) % bound;
+        }
+    }
+
+    @Benchmark
+    @Group("concurrentReadOnly")
+    @GroupThreads(4)
+    public Integer concurrentReadOnlyGet(ThreadIndex index) {
+        return concurrentList.get(index.next(size));
+    }
+
+    @Benchmark
+    @Group("synchronizedReadOnly")
+    @GroupThreads(4)
+    public Integer synchronizedReadOnlyGet(ThreadIndex index) {
+        synchronized (synchronizedList) {
+            return synchronizedList.get(index.next(size));
+        }
+    }
+
+    @Benchmark
+    @Group("concurrentReadMostly")
+    @GroupThreads(7)
+    public Integer concurrentReadMostlyGet(ThreadIndex index) {
+        return concurrentList.get(index.next(size));
+    }
+
+    @Benchmark
+    @Group("concurrentReadMostly")
+    @GroupThreads(1)
+    public Integer concurrentReadMostlySet(ThreadIndex index) {
+        return concurrentList.set(index.next(size), value);
+    }
+
+    @Benchmark
+    @Group("synchronizedReadMostly")
+    @GroupThreads(7)
+    public Integer synchronizedReadMostlyGet(ThreadIndex index) {
+        synchronized (synchronizedList) {
+            return synchronizedList.get(index.next(size));
+        }
+    }
+
+    @Benchmark
+    @Group("synchronizedReadMostly")
+    @GroupThreads(1)
+    public Integer synchronizedReadMostlySet(ThreadIndex index) {
+        synchronized (synchronizedList) {
+            return synchronizedList.set(index.next(size), value);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package org.example.benchmark;
+
+import org.example.MyArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение основных операций MyArrayList и java.util.ArrayList на списках разного размера.
+ * Операции, изменяющие размер списка, измеряются парами (например, вставка и удаление по одному индексу),
+ * чтобы размер списка не менялся между вызовами
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MyArrayListBenchmark {
+
+    /**
+     * Количество случайных индексов для бенчмарка get
+     */
+    private static final int RANDOM_READS = 1024;
+
+    /**
+     * Размер списка
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * Заранее упакованные значения, чтобы не измерять упаковку int в Integer
+     */
+    private Integer[] values;
+
+    private MyArrayList<Integer> myArrayList;
+
+    private ArrayList<Integer> arrayList;
+
+    /**
+     * Случайные индексы для бенчмарка get
+     */
+    private int[] randomIndexes;
+
+    /**
+     * Упорядоченные случайные индексы вставки для бенчмарков insertAll (1% от размера списка)
+     */
+    private int[] insertIndexes;
+
+    /**
+     * Вставляемые значения для бенчмарков insertAll
+     */
+    private Integer[] insertValues;
+
+    /**
+     * Все чётные значения списка, используются в removeAll и retainAll
+     */
+    private Set<Integer> evenValues;
+
+    /**
+     * Значение из середины списка
+     */
+    private Integer middleValue;
+
+    /**
+     * Последнее значение списка (худший случай для линейного поиска)
+     */
+    private Integer lastValue;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        values = new Integer[size];
+        evenValues = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            if (i % 2 == 0)
+                evenValues.add(values[i]);
+        }
+        myArrayList = new MyArrayList<>();
+        arrayList = new ArrayList<>();
+        for (Integer value : values) {
+            myArrayList.add(value);
+            arrayList.add(value);
+        }
+        Random random = new Random(42);
+        randomIndexes = new int[RANDOM_READS];
+        for (int i = 0; i < RANDOM_READS; i++)
+            randomIndexes[i] = random.nextInt(size);
+        insertIndexes = new int[size / 100];
+        insertValues = new Integer[insertIndexes.length];
+        for (int i = 0; i < insertIndexes.length; i++) {
+            insertIndexes[i] = random.nextInt(size + 1);
+            insertValues[i] = -i;
+        }
+        Arrays.sort(insertIndexes);
+        middleValue = values[size / 2];
+        lastValue = values[size - 1];
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListAdd() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (Integer value : values)
+            list.add(value);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> arrayListAdd() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer value : values)
+            list.add(value);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListAddAllMyArrayList() {
+        MyArrayList<Integer> list = new MyArrayList<>(myArrayList);
+        list.addAll(myArrayList);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> arrayListAddAllArrayList() {
+        ArrayList<Integer> list = new ArrayList<>(arrayList);
+        list.addAll(arrayList);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListAddAllIterator() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.addAll(arrayList.iterator(), size);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListInsertAll() {
+        MyArrayList<Integer> list = new MyArrayList<>(myArrayList);
+        list.insertAll(insertIndexes, insertValues);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListAddAtSortedIndexes() {
+        MyArrayList<Integer> list = new MyArrayList<>(myArrayList);
+        for (int i = insertIndexes.length - 1; i >= 0; i--)
+            list.add(insertIndexes[i], insertValues[i]);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListReplaceAllHeavy() {
+        myArrayList.replaceAll(MyArrayListBenchmark::heavy);
+        return myArrayList;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListParallelReplaceAllHeavy() {
+        myArrayList.parallelReplaceAll(MyArrayListBenchmark::heavy);
+        return myArrayList;
+    }
+
+    @Benchmark
+    public long myArrayListParallelReduce() {
+        return myArrayList.parallelReduce(0L, (sum, value) -> sum + heavy(value), Long::sum);
+    }
+
+    @Benchmark
+    public MyArrayList<String> myArrayListViewFilterMapLimit() {
+        return myArrayList.view()
+                .filter(value -> (value & 1) == 0)
+                .map(String::valueOf)
+                .limit(size / 4)
+                .toMyArrayList();
+    }
+
+    @Benchmark
+    public MyArrayList<String> myArrayListStagedFilterMapLimit() {
+        MyArrayList<Integer> even = new MyArrayList<>();
+        myArrayList.forEach(value -> {
+            if ((value & 1) == 0)
+                even.add(value);
+        });
+        MyArrayList<String> strings = new MyArrayList<>(even.size());
+        even.forEach(value -> strings.add(String.valueOf(value)));
+        MyArrayList<String> limited = new MyArrayList<>(size / 4);
+        for (int i = 0; i < size / 4 && i < strings.size(); i++)
+            limited.add(strings.get(i));
+        return limited;
+    }
+
+    @Benchmark
+    public List<String> arrayListStreamFilterMapLimit() {
+        return arrayList.stream()
+                .filter(value -> (value & 1) == 0)
+                .map(String::valueOf)
+                .limit(size / 4)
+                .toList();
+    }
+
+    @Benchmark
+    public Integer myArrayListAddAndRemoveAtIndex() {
+        myArrayList.add(size / 2, middleValue);
+        return myArrayList.remove(size / 2);
+    }
+
+    @Benchmark
+    public Integer arrayListAddAndRemoveAtIndex() {
+        arrayList.add(size / 2, middleValue);
+        return arrayList.remove(size / 2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RANDOM_READS)
+    public long myArrayListGet() {
+        long sum = 0;
+        for (int index : randomIndexes)
+            sum += myArrayList.get(index);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RANDOM_READS)
+    public long arrayListGet() {
+        long sum = 0;
+        for (int index : randomIndexes)
+            sum += arrayList.get(index);
+        return sum;
+    }
+
+    @Benchmark
+    public boolean myArrayListRemoveObject() {
+        boolean removed = myArrayList.remove(middleValue);
+        myArrayList.add(size / 2, middleValue);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean arrayListRemoveObject() {
+        boolean removed = arrayList.remove(middleValue);
+        arrayList.add(size / 2, middleValue);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean myArrayListContains() {
+        return myArrayList.contains(lastValue);
+    }
+
+    @Benchmark
+    public boolean arrayListContains() {
+        return arrayList.contains(lastValue);
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListAddAll() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.addAll(myArrayList);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> arrayListAddAll() {
+        ArrayList<Integer> list = new ArrayList<>();
+        list.addAll(arrayList);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListRemoveAll() {
+        MyArrayList<Integer> list = new MyArrayList<>(arrayList);
+        list.removeAll(evenValues);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> arrayListRemoveAll() {
+        ArrayList<Integer> list = new ArrayList<>(arrayList);
+        list.removeAll(evenValues);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListRetainAll() {
+        MyArrayList<Integer> list = new MyArrayList<>(arrayList);
+        list.retainAll(evenValues);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> arrayListRetainAll() {
+        ArrayList<Integer> list = new ArrayList<>(arrayList);
+        list.retainAll(evenValues);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myArrayListRemoveIf() {
+        MyArrayList<Integer> list = new MyArrayList<>(arrayList);
+        list.removeIf(i -> (i & 1) == 0);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> arrayListRemoveIf() {
+        ArrayList<Integer> list = new ArrayList<>(arrayList);
+        list.removeIf(i -> (i & 1) == 0);
+        return list;
+    }
+
+    @Benchmark
+    public Object[] myArrayListToArray() {
+        return myArrayList.toArray();
+    }
+
+    @Benchmark
+    public Object[] arrayListToArray() {
+        return arrayList.toArray();
+    }
+
+    @Benchmark
+    public long myArrayListIterate() {
+        long sum = 0;
+        for (Integer value : myArrayList)
+            sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public long arrayListIterate() {
+        long sum = 0;
+        for (Integer value : arrayList)
+            sum += value;
+        return sum;
+    }
+
+    /**
+     * Вычислительно тяжёлая операция над элементом для бенчмарков параллельной обработки
+     *
+     * @param value значение
+     * @return перемешанное значение
+     */
+    private static Integer heavy(Integer value) {
+        int h = value;
+        for (int i = 0; i < 64; i++)
+            h = Integer.rotateLeft(h * 0x9E3779B9, 5) ^ i;
+        return h;
+    }
+}
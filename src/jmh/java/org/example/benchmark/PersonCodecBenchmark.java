@@ -0,0 +1,167 @@
+package org.example.benchmark;
+
+import org.example.person.Person;
+import org.example.person.PersonBatchReader;
+import org.example.person.PersonBatchWriter;
+import org.example.person.enums.Sex;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность потокового кодирования PersonBatchWriter и декодирования PersonBatchReader.
+ * Основной результат - записей в секунду (одна операция - одна персона), дополнительный счётчик
+ * megabytes показывает мегабайты закодированного потока в секунду. Кодирование пишет в канал,
+ * который только считает байты, декодирование читает заранее закодированный поток из памяти
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PersonCodecBenchmark {
+
+    /**
+     * Количество персон в потоке
+     */
+    private static final int SIZE = 100_000;
+
+    /**
+     * Количество различных имён и фамилий
+     */
+    @Param({"100", "100000"})
+    public int distinctNames;
+
+    /**
+     * Кодируемые персоны
+     */
+    private ArrayList<Person> persons;
+
+    /**
+     * Закодированный поток персон
+     */
+    private byte[] encoded;
+
+    /**
+     * Канал, считающий записанные байты
+     */
+    private final CountingChannel counting = new CountingChannel();
+
+    /**
+     * Счётчик мегабайт закодированного потока, JMH выводит его в мегабайтах в секунду
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        persons = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            persons.add(new Person(random.nextInt(100), "Имя" + random.nextInt(distinctNames),
+                    "Фамилия" + random.nextInt(distinctNames), random.nextBoolean() ? Sex.MALE : Sex.FEMALE));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PersonBatchWriter writer = new PersonBatchWriter(Channels.newChannel(bytes))) {
+            writer.writeAll(persons);
+        }
+        encoded = bytes.toByteArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public long encode(Throughput throughput) throws IOException {
+        counting.bytes = 0;
+        PersonBatchWriter writer = new PersonBatchWriter(counting);
+        writer.writeAll(persons);
+        writer.finish();
+        throughput.megabytes += counting.bytes / 1e6;
+        return counting.bytes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int decode(Throughput throughput) throws IOException {
+        PersonBatchReader reader = new PersonBatchReader(new ArrayChannel(encoded));
+        int hash = 0;
+        for (Person person = reader.read(); person != null; person = reader.read())
+            hash += person.getAge();
+        throughput.megabytes += encoded.length / 1e6;
+        return hash;
+    }
+
+    /**
+     * Канал, отбрасывающий записанные байты и считающий их количество
+     */
+    private static final class CountingChannel implements WritableByteChannel {
+
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            bytes += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Канал, читающий байты из массива без копирования в промежуточные буферы потока
+     */
+    private static final class ArrayChannel implements ReadableByteChannel {
+
+        private final ByteBuffer source;
+
+        ArrayChannel(byte[] bytes) {
+            source = ByteBuffer.wrap(bytes);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!source.hasRemaining())
+                return -1;
+            int n = Math.min(dst.remaining(), source.remaining());
+            dst.put(dst.position(), source, source.position(), n);
+            dst.position(dst.position() + n);
+            source.position(source.position() + n);
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.benchmark;
+
+import org.example.MyArrayList;
+import org.example.person.Person;
+import org.example.person.PersonAgeColumn;
+import org.example.person.enums.Sex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтр персон по диапазону возраста: проход по списку с вызовом getAge у каждой персоны
+ * и запросы к кешированной колонке возрастов PersonAgeColumn. Колонка строится один раз
+ * при подготовке, поэтому измеряется только вычисление фильтра. Запросы к колонке выполняются
+ * с подключённым модулем jdk.incubator.vector (Vector API), а методы с суффиксом Scalar - в JVM
+ * без модуля, то есть со скалярным вычислением по той же колонке
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules=jdk.incubator.vector"})
+public class PersonQueryBenchmark {
+
+    /**
+     * Количество персон
+     */
+    private static final int SIZE = 10_000_000;
+
+    private MyArrayList<Person> persons;
+
+    private PersonAgeColumn ageColumn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        persons = new MyArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++)
+            persons.add(new Person(random.nextInt(100), "Иван", "Иванов", Sex.MALE));
+        ageColumn = new PersonAgeColumn(persons);
+        ageColumn.size();
+    }
+
+    @Benchmark
+    public int scanCountRange() {
+        int count = 0;
+        for (int i = 0; i < SIZE; i++) {
+            int age = persons.get(i).getAge();
+            if (age >= 18 && age <= 30)
+                count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int columnCountRange() {
+        return ageColumn.countRange(18, 30);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+    public int columnCountRangeScalar() {
+        return ageColumn.countRange(18, 30);
+    }
+
+    @Benchmark
+    public long[] columnRangeBitmap() {
+        return ageColumn.rangeBitmap(18, 30);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+    public long[] columnRangeBitmapScalar() {
+        return ageColumn.rangeBitmap(18, 30);
+    }
+
+    @Benchmark
+    public int[] columnRangeIndexes() {
+        return ageColumn.rangeIndexes(18, 30);
+    }
+
+    @Benchmark
+    public int[] columnEqualIndexes() {
+        return ageColumn.equalIndexes(42);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.benchmark;
+
+import org.example.MyArrayList;
+import org.example.person.Person;
+import org.example.person.comparators.PersonAgeComparator;
+import org.example.person.comparators.PersonSexComparator;
+import org.example.person.enums.Sex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение сортировки списков Person компараторами PersonAgeComparator и PersonSexComparator
+ * в MyArrayList и java.util.ArrayList. Каждый вызов сортирует свежую копию перемешанного списка,
+ * копирование входит в измерение для обеих реализаций
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SortBenchmark {
+
+    /**
+     * Размер списка
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private final PersonAgeComparator ageComparator = new PersonAgeComparator();
+
+    private final PersonSexComparator sexComparator = new PersonSexComparator();
+
+    /**
+     * Перемешанный список персон, копии которого сортируются
+     */
+    private ArrayList<Person> persons;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        persons = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            persons.add(new Person(random.nextInt(100), "Имя" + i, "Фамилия" + i,
+                    random.nextBoolean() ? Sex.MALE : Sex.FEMALE));
+        }
+    }
+
+    @Benchmark
+    public MyArrayList<Person> myArrayListSortByAge() {
+        MyArrayList<Person> list = new MyArrayList<>(persons);
+        list.sort(ageComparator);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Person> myArrayListParallelSortByAge() {
+        MyArrayList<Person> list = new MyArrayList<>(persons);
+        list.parallelSort(ageComparator);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Person> arrayListSortByAge() {
+        ArrayList<Person> list = new ArrayList<>(persons);
+        list.sort(ageComparator);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Person> myArrayListSortBySex() {
+        MyArrayList<Person> list = new MyArrayList<>(persons);
+        list.sort(sexComparator);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Person> arrayListSortBySex() {
+        ArrayList<Person> list = new ArrayList<>(persons);
+        list.sort(sexComparator);
+        return list;
+    }
+}
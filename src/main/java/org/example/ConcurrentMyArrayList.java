@@ -0,0 +1,589 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+/**
+ * Потокобезопасный динамический массив, реализующий интерфейс Collection и те же операции, что и MyArrayList.
+ * Рассчитан на сценарии, в которых список в основном читается и редко изменяется.
+ *
+ * <p>
+ * Доступ синхронизирован через StampedLock. Операции чтения сначала выполняются оптимистично, без блокировки:
+ * читается снимок массива и размера, после чего снимок проверяется методом validate. Если во время чтения
+ * список был изменён, чтение повторяется под блокировкой на чтение. Операции записи выполняются под блокировкой
+ * на запись. Кроме того, список содержит атомарные составные операции addIfAbsent и compareAndSet.
+ *
+ * <p>
+ * Итератор работает по снимку списка на момент своего создания и не поддерживает удаление
+ *
+ * @param <E> тип элементов списка
+ */
+public class ConcurrentMyArrayList<E> implements Collection<E> {
+
+    /**
+     * Стандартная начальная ёмкость
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Максимальный размер массива
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Блокировка, защищающая массив и размер списка
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Политика увеличения ёмкости списка
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Массив, в котором хранятся элементы списка
+     */
+    private Object[] elementData;
+
+    /**
+     * Размер списка (количество содержащихся элементов)
+     */
+    private int size;
+
+    /**
+     * Конструктор пустого списка
+     */
+    public ConcurrentMyArrayList() {
+        this(DEFAULT_CAPACITY, GrowthPolicy.oneAndHalf());
+    }
+
+    /**
+     * Конструктор пустого списка с указанной начальной емкостью и политикой увеличения ёмкости
+     *
+     * @param initialCapacity начальная емкость списка
+     * @param growthPolicy    политика увеличения ёмкости
+     * @throws IllegalArgumentException если начальная ёмкость отрицательная
+     * @throws NullPointerException     если политика не инициализирована
+     */
+    public ConcurrentMyArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.elementData = new Object[initialCapacity];
+    }
+
+    /**
+     * Конструктор списка, содержащий элементы передаваемой коллекции
+     *
+     * @param c передаваемая коллекция, элементы которой должны быть скопированы в список
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    public ConcurrentMyArrayList(Collection<? extends E> c) {
+        this.growthPolicy = GrowthPolicy.oneAndHalf();
+        Object[] a = c.toArray();
+        this.elementData = Arrays.copyOf(a, a.length, Object[].class);
+        this.size = a.length;
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     *
+     * @return количество элементов в списке
+     */
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int n = size;
+        if (lock.validate(stamp))
+            return n;
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Возвращает true если список пустой
+     *
+     * @return true если список пустой
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Возвращает элемент списка по указанной позиции
+     *
+     * @param index индекс (позиция) возвращаемого элемента
+     * @return элемент списка по указанной позиции
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] es = elementData;
+        int n = size;
+        Object e = (index >= 0 && index < n && index < es.length) ? es[index] : null;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+                e = (index >= 0 && index < n) ? elementData[index] : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        Objects.checkIndex(index, n);
+        return (E) e;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения передаваемого элемента в списке,
+     * если его нет в списке, возвращает -1
+     *
+     * @param o передаваемый элемент для получения индекса в списке
+     * @return индекс передаваемого элемента в списке, -1 если элемента нет
+     */
+    public int indexOf(Object o) {
+        long stamp = lock.tryOptimisticRead();
+        int index = indexOfRange(elementData, o, size);
+        if (lock.validate(stamp))
+            return index;
+        stamp = lock.readLock();
+        try {
+            return indexOfRange(elementData, o, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Возвращает true если передаваемый элемент содержится в списке
+     *
+     * @param o передаваемый элемент для проверки наличия в списке
+     * @return true если элемент содержится в списке
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Возвращает результат проверки того, содержится ли передаваемая коллекция в списке
+     *
+     * @param c передаваемая коллекция
+     * @return true, если все элементы передаваемой коллекции содержатся в списке, иначе false
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        long stamp = lock.readLock();
+        try {
+            for (Object e : c)
+                if (indexOfRange(elementData, e, size) < 0)
+                    return false;
+            return true;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Добавление элемента в конец списка
+     *
+     * @param e элемент, добавляемый в список
+     * @return true
+     */
+    @Override
+    public boolean add(E e) {
+        long stamp = lock.writeLock();
+        try {
+            addLast(e);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Добавление элемента в список по указанной позиции index. Сдвигает остальные элементы списка вправо
+     *
+     * @param index   индекс, по которому вставляется новый элемент (не замена)
+     * @param element элемент, добавляемый в список
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public void add(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            if (index > size || index < 0)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            if (size == elementData.length)
+                grow(size + 1);
+            System.arraycopy(elementData, index, elementData, index + 1, size - index);
+            elementData[index] = element;
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно добавляет элемент в конец списка, если его ещё нет в списке
+     *
+     * @param e элемент, добавляемый в список
+     * @return true, если элемент был добавлен, false если он уже содержится в списке
+     */
+    public boolean addIfAbsent(E e) {
+        long stamp = lock.tryOptimisticRead();
+        int index = indexOfRange(elementData, e, size);
+        if (index >= 0 && lock.validate(stamp))
+            return false;
+        stamp = lock.writeLock();
+        try {
+            if (indexOfRange(elementData, e, size) >= 0)
+                return false;
+            addLast(e);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Заменяет элемент по указанной позиции в списке на другой (заменяющий)
+     *
+     * @param index   индекс (позиция) элемента для замены
+     * @param element элемент, который должен быть вставлен по указанной позиции
+     * @return элемент, который был заменён
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            Objects.checkIndex(index, size);
+            E oldValue = (E) elementData[index];
+            elementData[index] = element;
+            return oldValue;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно заменяет элемент по указанной позиции, если текущий элемент является ожидаемым.
+     * Элементы сравниваются по ссылке, как в AtomicReference
+     *
+     * @param index    индекс (позиция) элемента для замены
+     * @param expected ожидаемый текущий элемент
+     * @param newValue новый элемент
+     * @return true, если элемент был заменён, false если текущий элемент отличается от ожидаемого
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public boolean compareAndSet(int index, E expected, E newValue) {
+        long stamp = lock.readLock();
+        try {
+            while (true) {
+                Objects.checkIndex(index, size);
+                if (elementData[index] != expected)
+                    return false;
+                long writeStamp = lock.tryConvertToWriteLock(stamp);
+                if (writeStamp != 0L) {
+                    stamp = writeStamp;
+                    elementData[index] = newValue;
+                    return true;
+                }
+                lock.unlockRead(stamp);
+                stamp = lock.writeLock();
+            }
+        } finally {
+            lock.unlock(stamp);
+        }
+    }
+
+    /**
+     * Удаляет элемент из списка по указанной позиции
+     *
+     * @param index индекс (позиция) удаляемого элемента
+     * @return элемент, удалённый из списка
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public E remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            Objects.checkIndex(index, size);
+            return fastRemove(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет первое вхождение передаваемого элемента
+     *
+     * @param o удаляемый объект
+     * @return true, если элемент удалён, иначе false
+     */
+    @Override
+    public boolean remove(Object o) {
+        long stamp = lock.writeLock();
+        try {
+            int index = indexOfRange(elementData, o, size);
+            if (index < 0)
+                return false;
+            fastRemove(index);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Вставляет все элементы из передаваемой коллекции в конец списка
+     *
+     * @param c передаваемая коллекция
+     * @return true, если список изменился
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] a = c.toArray();
+        int numNew = a.length;
+        if (numNew == 0)
+            return false;
+        long stamp = lock.writeLock();
+        try {
+            if (numNew > elementData.length - size)
+                grow(size + numNew);
+            System.arraycopy(a, 0, elementData, size, numNew);
+            size += numNew;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет из списка все элементы, содержащиеся в передаваемой коллекции
+     *
+     * @param c передаваемая коллекция, элементы которой должны быть удалены из списка
+     * @return true, если хотя бы один элемент был удалён, иначе false
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    /**
+     * Оставляет в списке только элементы, содержащиеся в передаваемой коллекции
+     *
+     * @param c передаваемая коллекция
+     * @return true, если хотя бы один элемент был удалён, иначе false
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    /**
+     * Удаляет из списка все элементы, удовлетворяющие передаваемому условию, за один проход по массиву
+     *
+     * @param filter условие, которому должны удовлетворять удаляемые элементы
+     * @return true, если хотя бы один элемент был удалён, иначе false
+     * @throws NullPointerException если передаваемое условие не инициализировано
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        long stamp = lock.writeLock();
+        try {
+            final Object[] es = elementData;
+            final int end = size;
+            int r = 0;
+            int w = 0;
+            try {
+                for (; r < end; r++) {
+                    Object e = es[r];
+                    if (!filter.test((E) e))
+                        es[w++] = e;
+                }
+            } finally {
+                if (r != end) {
+                    System.arraycopy(es, r, es, w, end - r);
+                    w += end - r;
+                }
+                Arrays.fill(es, w, end, null);
+                size = w;
+            }
+            return w != end;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Очищает список от содержащихся элементов
+     */
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(elementData, 0, size, null);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Сортировка элементов списка под блокировкой на запись
+     *
+     * @param c Comparator используемый для сравнения элементов
+     */
+    public void sort(Comparator<? super E> c) {
+        long stamp = lock.writeLock();
+        try {
+            MyArrayList.quickSort(elementData, 0, size - 1, c);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает все элементы списка в виде массива
+     *
+     * @return массив, содержащий все элементы списка
+     */
+    @Override
+    public Object[] toArray() {
+        long stamp = lock.tryOptimisticRead();
+        Object[] es = elementData;
+        int n = size;
+        Object[] copy = n <= es.length ? Arrays.copyOf(es, n) : null;
+        if (copy != null && lock.validate(stamp))
+            return copy;
+        stamp = lock.readLock();
+        try {
+            return Arrays.copyOf(elementData, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка. Тип возвращаемого массива является типом
+     * передаваемого массива. Если список помещается в массив, то он возвращается в нем,
+     * иначе для этой цели выделяется новый массив того же типа
+     *
+     * @param a   массив, в который должны быть сохранены элементы этого списка
+     * @param <T> тип элементов массива
+     * @return массив, содержащий все элементы списка
+     * @throws NullPointerException если передаваемый массив не инициализирован
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        long stamp = lock.readLock();
+        try {
+            if (a.length < size)
+                return (T[]) Arrays.copyOf(elementData, size, a.getClass());
+            System.arraycopy(elementData, 0, a, 0, size);
+            if (a.length > size)
+                a[size] = null;
+            return a;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Возвращает итератор по снимку списка на момент вызова. Изменения списка после создания итератора
+     * в нём не видны, удаление через итератор не поддерживается
+     *
+     * @return итератор по снимку списка
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableList(Arrays.asList((E[]) toArray())).iterator();
+    }
+
+    /**
+     * Добавляет элемент в конец списка. Вызывается под блокировкой на запись
+     *
+     * @param e добавляемый элемент
+     */
+    private void addLast(E e) {
+        if (size == elementData.length)
+            grow(size + 1);
+        elementData[size] = e;
+        size++;
+    }
+
+    /**
+     * Удаляет элемент по индексу без проверки границ. Вызывается под блокировкой на запись
+     *
+     * @param index индекс удаляемого элемента
+     * @return удалённый элемент
+     */
+    @SuppressWarnings("unchecked")
+    private E fastRemove(int index) {
+        E oldValue = (E) elementData[index];
+        int newSize = size - 1;
+        System.arraycopy(elementData, index + 1, elementData, index, newSize - index);
+        elementData[newSize] = null;
+        size = newSize;
+        return oldValue;
+    }
+
+    /**
+     * Увеличивает емкость списка, чтобы он мог хранить хотя бы minCapacity элементов.
+     * Вызывается под блокировкой на запись
+     *
+     * @param minCapacity минимальная емкость
+     * @throws OutOfMemoryError если minCapacity отрицательная
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0)
+            throw new OutOfMemoryError("Required array length too large");
+        int newCapacity = Math.max(growthPolicy.newCapacity(elementData.length, minCapacity), DEFAULT_CAPACITY);
+        if (newCapacity < minCapacity)
+            newCapacity = minCapacity;
+        else if (newCapacity > MAX_ARRAY_SIZE)
+            newCapacity = Math.max(minCapacity, MAX_ARRAY_SIZE);
+        elementData = Arrays.copyOf(elementData, newCapacity);
+    }
+
+    /**
+     * Ищет первое вхождение элемента в снимке массива. Снимок может быть несогласованным,
+     * если поиск выполняется оптимистично, поэтому границы проверяются по длине массива
+     *
+     * @param es массив элементов
+     * @param o  искомый элемент
+     * @param n  размер списка
+     * @return индекс элемента, -1 если элемента нет
+     */
+    private static int indexOfRange(Object[] es, Object o, int n) {
+        int end = Math.min(n, es.length);
+        if (o == null) {
+            for (int i = 0; i < end; i++)
+                if (es[i] == null)
+                    return i;
+        } else {
+            for (int i = 0; i < end; i++)
+                if (o.equals(es[i]))
+                    return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example;
+
+/**
+ * Политика увеличения ёмкости MyArrayList. Вычисляет новую ёмкость массива по текущей ёмкости
+ * и минимально необходимой. Если политика вернёт значение меньше минимально необходимого,
+ * список всё равно увеличится как минимум до minCapacity.
+ *
+ * <p>
+ * Содержит стандартные политики: увеличение в 1.5 раза, увеличение в 2 раза и увеличение на
+ * фиксированное количество элементов. Собственную политику можно передать в виде лямбда-выражения
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /**
+     * Вычисляет новую ёмкость списка
+     *
+     * @param oldCapacity текущая ёмкость списка
+     * @param minCapacity минимальная ёмкость, которую должен вместить список
+     * @return новая ёмкость списка
+     */
+    int newCapacity(int oldCapacity, int minCapacity);
+
+    /**
+     * Возвращает политику увеличения ёмкости в 1.5 раза (используется по умолчанию)
+     *
+     * @return политика увеличения ёмкости в 1.5 раза
+     */
+    static GrowthPolicy oneAndHalf() {
+        return (oldCapacity, minCapacity) -> clamp(oldCapacity + (long) (oldCapacity >> 1));
+    }
+
+    /**
+     * Возвращает политику увеличения ёмкости в 2 раза
+     *
+     * @return политика увеличения ёмкости в 2 раза
+     */
+    static GrowthPolicy doubling() {
+        return (oldCapacity, minCapacity) -> clamp(2L * oldCapacity);
+    }
+
+    /**
+     * Возвращает политику увеличения ёмкости на фиксированное количество элементов
+     *
+     * @param increment количество элементов, на которое увеличивается ёмкость
+     * @return политика увеличения ёмкости на фиксированное количество элементов
+     * @throws IllegalArgumentException если increment не положительный
+     */
+    static GrowthPolicy additive(int increment) {
+        if (increment <= 0)
+            throw new IllegalArgumentException("Illegal increment: " + increment);
+        return (oldCapacity, minCapacity) -> clamp((long) oldCapacity + increment);
+    }
+
+    /**
+     * Ограничивает вычисленную ёмкость максимальным значением int
+     *
+     * @param capacity вычисленная ёмкость
+     * @return ёмкость, не превышающая Integer.MAX_VALUE
+     */
+    private static int clamp(long capacity) {
+        return (int) Math.min(capacity, Integer.MAX_VALUE);
+    }
+}
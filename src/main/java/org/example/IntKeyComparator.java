@@ -0,0 +1,33 @@
+package org.example;
+
+import java.util.Comparator;
+
+/**
+ * Компаратор, сравнивающий объекты по целочисленному ключу. Порядок, задаваемый компаратором,
+ * должен совпадать с порядком ключей. MyArrayList распознаёт такие компараторы и вместо сортировки
+ * сравнениями выполняет устойчивую сортировку по ключам за линейное время
+ *
+ * @param <T> тип сравниваемых объектов
+ */
+public interface IntKeyComparator<T> extends Comparator<T> {
+
+    /**
+     * Возвращает ключ сортировки объекта
+     *
+     * @param o объект
+     * @return ключ сортировки
+     */
+    int key(T o);
+
+    /**
+     * Сравнивает два объекта по их ключам
+     *
+     * @param o1 первый объект для сравнения
+     * @param o2 второй объект для сравнения
+     * @return результат сравнения ключей
+     */
+    @Override
+    default int compare(T o1, T o2) {
+        return Integer.compare(key(o1), key(o2));
+    }
+}
@@ -0,0 +1,119 @@
+package org.example;
+
+/**
+ * Устойчивая сортировка массива по целочисленным ключам за линейное время.
+ * Если размер диапазона ключей k сопоставим с количеством элементов n, используется сортировка подсчётом
+ * за O(n + k), иначе поразрядная сортировка (LSD) по байтам ключа, каждый проход которой
+ * также является сортировкой подсчётом. Поэтому несколько элементов с далёкими ключами не приводят
+ * к выделению и просмотру массива размером с весь диапазон
+ */
+final class IntKeySort {
+
+    /**
+     * Наибольший размер диапазона ключей, при котором используется сортировка подсчётом
+     */
+    static final int MAX_COUNTING_RANGE = 1 << 16;
+
+    /**
+     * Размер диапазона ключей, при котором сортировка подсчётом используется при любом количестве элементов
+     */
+    static final int MIN_COUNTING_RANGE = 256;
+
+    /**
+     * Количество значений одного разряда поразрядной сортировки
+     */
+    private static final int RADIX = 256;
+
+    private IntKeySort() {
+    }
+
+    /**
+     * Сортирует первые n элементов массива по возрастанию ключей, сохраняя взаимный порядок элементов
+     * с равными ключами
+     *
+     * @param es   сортируемый массив
+     * @param keys ключи элементов, keys[i] - ключ элемента es[i]; массив может быть изменён
+     * @param n    количество сортируемых элементов
+     */
+    static void sort(Object[] es, int[] keys, int n) {
+        if (n < 2)
+            return;
+        int min = keys[0];
+        int max = keys[0];
+        for (int i = 1; i < n; i++) {
+            int k = keys[i];
+            if (k < min)
+                min = k;
+            else if (k > max)
+                max = k;
+        }
+        long range = (long) max - min + 1;
+        if (range == 1)
+            return;
+        if (range <= Math.min(MAX_COUNTING_RANGE, Math.max(n, MIN_COUNTING_RANGE)))
+            countingSort(es, keys, n, min, (int) range);
+        else
+            radixSort(es, keys, n, min, range - 1);
+    }
+
+    /**
+     * Сортировка подсчётом: считает количество элементов с каждым ключом, вычисляет начальные позиции
+     * ключей и раскладывает элементы по позициям за один проход
+     *
+     * @param es    сортируемый массив
+     * @param keys  ключи элементов
+     * @param n     количество сортируемых элементов
+     * @param min   наименьший ключ
+     * @param range размер диапазона ключей
+     */
+    private static void countingSort(Object[] es, int[] keys, int n, int min, int range) {
+        int[] starts = new int[range + 1];
+        for (int i = 0; i < n; i++)
+            starts[keys[i] - min + 1]++;
+        for (int k = 0; k < range; k++)
+            starts[k + 1] += starts[k];
+        Object[] sorted = new Object[n];
+        for (int i = 0; i < n; i++)
+            sorted[starts[keys[i] - min]++] = es[i];
+        System.arraycopy(sorted, 0, es, 0, n);
+    }
+
+    /**
+     * Поразрядная сортировка по байтам смещённого ключа (key - min), начиная с младшего.
+     * Проходы выполняются только для байтов, которые могут быть ненулевыми
+     *
+     * @param es   сортируемый массив
+     * @param keys ключи элементов
+     * @param n    количество сортируемых элементов
+     * @param min  наименьший ключ
+     * @param span разность наибольшего и наименьшего ключей
+     */
+    private static void radixSort(Object[] es, int[] keys, int n, int min, long span) {
+        for (int i = 0; i < n; i++)
+            keys[i] -= min;
+        Object[] src = es;
+        Object[] dst = new Object[n];
+        int[] srcKeys = keys;
+        int[] dstKeys = new int[n];
+        for (int shift = 0; shift < Integer.SIZE && (span >>> shift) != 0; shift += 8) {
+            int[] starts = new int[RADIX + 1];
+            for (int i = 0; i < n; i++)
+                starts[((srcKeys[i] >>> shift) & (RADIX - 1)) + 1]++;
+            for (int b = 0; b < RADIX; b++)
+                starts[b + 1] += starts[b];
+            for (int i = 0; i < n; i++) {
+                int p = starts[(srcKeys[i] >>> shift) & (RADIX - 1)]++;
+                dst[p] = src[i];
+                dstKeys[p] = srcKeys[i];
+            }
+            Object[] swap = src;
+            src = dst;
+            dst = swap;
+            int[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+        }
+        if (src != es)
+            System.arraycopy(src, 0, es, 0, n);
+    }
+}
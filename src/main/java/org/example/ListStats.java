@@ -0,0 +1,468 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Статистика внутренней работы всех списков MyArrayList: количество увеличений ёмкости (grow),
+ * количество элементов и байт, скопированных при сдвигах и увеличении массива (add, remove, addAll,
+ * перемещение разрыва), количество сравнений при сортировке sort и длины линейного поиска indexOf.
+ *
+ * <p>
+ * Сбор статистики выключен по умолчанию и включается методом enable или системным свойством
+ * org.example.listStats=true. В выключенном состоянии каждая операция списка выполняет только
+ * чтение одного поля, поэтому статистику можно оставить в коде и включать при расследовании проблем.
+ * Метод snapshot возвращает неизменяемый снимок счётчиков.
+ *
+ * <p>
+ * Пока статистика включена, она также записывается в Java Flight Recorder: событие
+ * org.example.MyArrayList.Grow на каждое увеличение ёмкости, org.example.MyArrayList.Sort на каждую
+ * сортировку sort и периодическое событие org.example.ListStats с текущими значениями счётчиков.
+ * События записываются, только если они включены в настройках записи JFR
+ */
+public final class ListStats {
+
+    /**
+     * Оценка размера ссылки в массиве в байтах (сжатые указатели)
+     */
+    static final int REFERENCE_BYTES = 4;
+
+    /**
+     * true, если статистика собирается. Читается списками перед каждым обновлением счётчиков
+     */
+    static volatile boolean enabled;
+
+    /**
+     * true, если периодическое событие JFR зарегистрировано
+     */
+    private static boolean periodicEventRegistered;
+
+    /**
+     * Количество увеличений ёмкости всех списков
+     */
+    private static final LongAdder GROW_CALLS = new LongAdder();
+
+    /**
+     * Количество элементов, скопированных при сдвигах и увеличении массива
+     */
+    private static final LongAdder COPIED_ELEMENTS = new LongAdder();
+
+    /**
+     * Количество сортировок sort компаратором
+     */
+    private static final LongAdder SORTS = new LongAdder();
+
+    /**
+     * Количество сравнений, выполненных сортировками sort
+     */
+    private static final LongAdder SORT_COMPARISONS = new LongAdder();
+
+    /**
+     * Количество линейных поисков элемента
+     */
+    private static final LongAdder SCANS = new LongAdder();
+
+    /**
+     * Количество элементов, просмотренных линейным поиском
+     */
+    private static final LongAdder SCANNED_ELEMENTS = new LongAdder();
+
+    static {
+        if (Boolean.getBoolean("org.example.listStats"))
+            enable();
+    }
+
+    /**
+     * Количество увеличений ёмкости на момент снимка
+     */
+    private final long growCalls;
+
+    /**
+     * Количество скопированных элементов на момент снимка
+     */
+    private final long copiedElements;
+
+    /**
+     * Количество сортировок на момент снимка
+     */
+    private final long sorts;
+
+    /**
+     * Количество сравнений при сортировке на момент снимка
+     */
+    private final long sortComparisons;
+
+    /**
+     * Количество линейных поисков на момент снимка
+     */
+    private final long indexScans;
+
+    /**
+     * Количество просмотренных линейным поиском элементов на момент снимка
+     */
+    private final long scannedElements;
+
+    /**
+     * Конструктор снимка счётчиков
+     *
+     * @param growCalls       количество увеличений ёмкости
+     * @param copiedElements  количество скопированных элементов
+     * @param sorts           количество сортировок
+     * @param sortComparisons количество сравнений при сортировке
+     * @param indexScans      количество линейных поисков
+     * @param scannedElements количество просмотренных линейным поиском элементов
+     */
+    private ListStats(long growCalls, long copiedElements, long sorts, long sortComparisons,
+                      long indexScans, long scannedElements) {
+        this.growCalls = growCalls;
+        this.copiedElements = copiedElements;
+        this.sorts = sorts;
+        this.sortComparisons = sortComparisons;
+        this.indexScans = indexScans;
+        this.scannedElements = scannedElements;
+    }
+
+    /**
+     * Включает сбор статистики
+     */
+    public static void enable() {
+        registerPeriodicEvent();
+        enabled = true;
+    }
+
+    /**
+     * Выключает сбор статистики, накопленные значения сохраняются
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Возвращает результат проверки, собирается ли статистика
+     *
+     * @return true, если статистика собирается
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Обнуляет все счётчики
+     */
+    public static void reset() {
+        GROW_CALLS.reset();
+        COPIED_ELEMENTS.reset();
+        SORTS.reset();
+        SORT_COMPARISONS.reset();
+        SCANS.reset();
+        SCANNED_ELEMENTS.reset();
+    }
+
+    /**
+     * Возвращает снимок счётчиков. Счётчики читаются по очереди без блокировки, поэтому при
+     * одновременной работе списков снимок может не соответствовать одному моменту времени
+     *
+     * @return снимок статистики
+     */
+    public static ListStats snapshot() {
+        return new ListStats(GROW_CALLS.sum(), COPIED_ELEMENTS.sum(), SORTS.sum(), SORT_COMPARISONS.sum(),
+                SCANS.sum(), SCANNED_ELEMENTS.sum());
+    }
+
+    /**
+     * Возвращает количество увеличений ёмкости
+     *
+     * @return количество вызовов grow
+     */
+    public long growCalls() {
+        return growCalls;
+    }
+
+    /**
+     * Возвращает количество элементов, скопированных при сдвигах и увеличении массива
+     *
+     * @return количество скопированных элементов
+     */
+    public long copiedElements() {
+        return copiedElements;
+    }
+
+    /**
+     * Возвращает оценку количества байт, скопированных при сдвигах и увеличении массива
+     *
+     * @return скопированные байты
+     */
+    public long arraycopyBytes() {
+        return copiedElements * REFERENCE_BYTES;
+    }
+
+    /**
+     * Возвращает количество сортировок sort компаратором
+     *
+     * @return количество сортировок
+     */
+    public long sorts() {
+        return sorts;
+    }
+
+    /**
+     * Возвращает количество сравнений, выполненных сортировками sort
+     *
+     * @return количество сравнений
+     */
+    public long sortComparisons() {
+        return sortComparisons;
+    }
+
+    /**
+     * Возвращает количество линейных поисков элемента
+     *
+     * @return количество поисков
+     */
+    public long indexScans() {
+        return indexScans;
+    }
+
+    /**
+     * Возвращает суммарное количество элементов, просмотренных линейным поиском
+     *
+     * @return просмотренные элементы
+     */
+    public long scannedElements() {
+        return scannedElements;
+    }
+
+    /**
+     * Возвращает среднюю длину линейного поиска
+     *
+     * @return среднее количество просмотренных элементов, 0 если поисков не было
+     */
+    public double averageScanLength() {
+        return indexScans == 0 ? 0 : (double) scannedElements / indexScans;
+    }
+
+    @Override
+    public String toString() {
+        return "ListStats{growCalls=" + growCalls + ", arraycopyBytes=" + arraycopyBytes()
+                + ", sorts=" + sorts + ", sortComparisons=" + sortComparisons
+                + ", indexScans=" + indexScans + ", scannedElements=" + scannedElements + '}';
+    }
+
+    /**
+     * Регистрирует периодическое событие JFR со значениями счётчиков. Регистрация выполняется
+     * при первом включении статистики, чтобы списки без статистики не загружали классы JFR
+     */
+    private static synchronized void registerPeriodicEvent() {
+        if (periodicEventRegistered)
+            return;
+        FlightRecorder.addPeriodicEvent(StatsEvent.class, () -> {
+            StatsEvent event = new StatsEvent();
+            if (event.shouldCommit()) {
+                ListStats stats = snapshot();
+                event.growCalls = stats.growCalls;
+                event.arraycopyBytes = stats.arraycopyBytes();
+                event.sorts = stats.sorts;
+                event.sortComparisons = stats.sortComparisons;
+                event.indexScans = stats.indexScans;
+                event.scannedElements = stats.scannedElements;
+                event.commit();
+            }
+        });
+        periodicEventRegistered = true;
+    }
+
+    /**
+     * Учитывает увеличение ёмкости с копированием элементов
+     *
+     * @param oldCapacity ёмкость до увеличения
+     * @param newCapacity ёмкость после увеличения
+     * @param copied      количество скопированных элементов
+     */
+    static void recordGrow(int oldCapacity, int newCapacity, int copied) {
+        GROW_CALLS.increment();
+        COPIED_ELEMENTS.add(copied);
+        GrowEvent event = new GrowEvent();
+        if (event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.commit();
+        }
+    }
+
+    /**
+     * Учитывает копирование элементов при сдвиге
+     *
+     * @param copied количество скопированных элементов
+     */
+    static void recordCopy(int copied) {
+        COPIED_ELEMENTS.add(copied);
+    }
+
+    /**
+     * Учитывает линейный поиск
+     *
+     * @param scanned количество просмотренных элементов
+     */
+    static void recordScan(int scanned) {
+        SCANS.increment();
+        SCANNED_ELEMENTS.add(scanned);
+    }
+
+    /**
+     * Компаратор, считающий сравнения одной сортировки и записывающий её в статистику
+     *
+     * @param <T> тип сравниваемых элементов
+     */
+    static final class SortProbe<T> implements Comparator<T> {
+
+        /**
+         * Компаратор сортировки
+         */
+        private final Comparator<? super T> comparator;
+
+        /**
+         * Событие JFR сортировки, начатое при создании компаратора
+         */
+        private final SortEvent event = new SortEvent();
+
+        /**
+         * Количество выполненных сравнений
+         */
+        private long comparisons;
+
+        /**
+         * Конструктор компаратора, начинающий отсчёт времени сортировки для события JFR
+         *
+         * @param comparator компаратор сортировки
+         */
+        SortProbe(Comparator<? super T> comparator) {
+            this.comparator = comparator;
+            event.begin();
+        }
+
+        @Override
+        public int compare(T o1, T o2) {
+            comparisons++;
+            return comparator.compare(o1, o2);
+        }
+
+        /**
+         * Записывает сортировку в статистику
+         *
+         * @param size количество отсортированных элементов
+         */
+        void finish(int size) {
+            SORTS.increment();
+            SORT_COMPARISONS.add(comparisons);
+            event.end();
+            if (event.shouldCommit()) {
+                event.size = size;
+                event.comparisons = comparisons;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Событие JFR увеличения ёмкости списка
+     */
+    @Name("org.example.MyArrayList.Grow")
+    @Label("MyArrayList Grow")
+    @Category("MyArrayList")
+    @Description("Увеличение ёмкости списка")
+    private static final class GrowEvent extends Event {
+
+        /**
+         * Ёмкость до увеличения
+         */
+        @Label("Old Capacity")
+        int oldCapacity;
+
+        /**
+         * Ёмкость после увеличения
+         */
+        @Label("New Capacity")
+        int newCapacity;
+    }
+
+    /**
+     * Событие JFR сортировки списка компаратором
+     */
+    @Name("org.example.MyArrayList.Sort")
+    @Label("MyArrayList Sort")
+    @Category("MyArrayList")
+    @Description("Сортировка списка компаратором")
+    private static final class SortEvent extends Event {
+
+        /**
+         * Количество отсортированных элементов
+         */
+        @Label("Size")
+        int size;
+
+        /**
+         * Количество сравнений
+         */
+        @Label("Comparisons")
+        long comparisons;
+    }
+
+    /**
+     * Периодическое событие JFR с текущими значениями счётчиков
+     */
+    @Name("org.example.ListStats")
+    @Label("MyArrayList Statistics")
+    @Category("MyArrayList")
+    @Description("Накопленная статистика списков MyArrayList")
+    @StackTrace(false)
+    @Period("10 s")
+    private static final class StatsEvent extends Event {
+
+        /**
+         * Количество увеличений ёмкости
+         */
+        @Label("Grow Calls")
+        long growCalls;
+
+        /**
+         * Оценка скопированных байт
+         */
+        @Label("Arraycopy Bytes")
+        @DataAmount
+        long arraycopyBytes;
+
+        /**
+         * Количество сортировок
+         */
+        @Label("Sorts")
+        long sorts;
+
+        /**
+         * Количество сравнений при сортировке
+         */
+        @Label("Sort Comparisons")
+        long sortComparisons;
+
+        /**
+         * Количество линейных поисков
+         */
+        @Label("Index Scans")
+        long indexScans;
+
+        /**
+         * Количество просмотренных линейным поиском элементов
+         */
+        @Label("Scanned Elements")
+        long scannedElements;
+    }
+}
@@ -0,0 +1,230 @@
+package org.example;
+
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Ленивое представление списка MyArrayList с цепочкой преобразований map, filter, limit и skip.
+ * Преобразования только запоминаются и ничего не вычисляют. Терминальная операция (toMyArrayList,
+ * forEach, count, first) объединяет все преобразования в одну функцию и выполняет их за один проход
+ * по массиву элементов списка без промежуточных списков.
+ *
+ * <p>
+ * Проход прекращается, как только результат известен: после limit элементов или первого найденного
+ * элемента first, поэтому оставшаяся часть массива не читается. Каждая терминальная операция выполняет
+ * новый проход по текущему содержимому списка, представление можно использовать повторно.
+ * Структурное изменение списка во время прохода приводит к ConcurrentModificationException
+ *
+ * @param <T> тип элементов представления
+ */
+public final class ListView<T> {
+
+    /**
+     * Список, по которому построено представление
+     */
+    private final MyArrayList<?> source;
+
+    /**
+     * Объединяет преобразования представления с приёмником результата в функцию над элементами списка
+     */
+    private final Function<Sink<? super T>, Sink<Object>> pipeline;
+
+    /**
+     * true, если представление заведомо пустое (в цепочке есть limit(0)), и проход по списку не нужен
+     */
+    private final boolean empty;
+
+    /**
+     * Конструктор представления без преобразований
+     *
+     * @param source список
+     */
+    @SuppressWarnings("unchecked")
+    ListView(MyArrayList<? extends T> source) {
+        this(source, sink -> (Sink<Object>) sink, false);
+    }
+
+    /**
+     * Конструктор представления с цепочкой преобразований
+     *
+     * @param source   список
+     * @param pipeline функция, объединяющая преобразования с приёмником результата
+     * @param empty    true, если представление заведомо пустое
+     */
+    private ListView(MyArrayList<?> source, Function<Sink<? super T>, Sink<Object>> pipeline, boolean empty) {
+        this.source = source;
+        this.pipeline = pipeline;
+        this.empty = empty;
+    }
+
+    /**
+     * Возвращает представление, элементы которого - результаты применения функции к элементам
+     * этого представления
+     *
+     * @param mapper функция преобразования элемента
+     * @param <R>    тип элементов нового представления
+     * @return новое представление
+     * @throws NullPointerException если функция не инициализирована
+     */
+    public <R> ListView<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        return new ListView<>(source, sink -> pipeline.apply(t -> sink.accept(mapper.apply(t))), empty);
+    }
+
+    /**
+     * Возвращает представление из элементов этого представления, удовлетворяющих условию
+     *
+     * @param predicate условие
+     * @return новое представление
+     * @throws NullPointerException если условие не инициализировано
+     */
+    public ListView<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate);
+        return new ListView<>(source, sink -> pipeline.apply(t -> !predicate.test(t) || sink.accept(t)), empty);
+    }
+
+    /**
+     * Возвращает представление из первых maxSize элементов этого представления. После maxSize
+     * элементов проход по списку прекращается, а при maxSize, равном 0, проход не выполняется
+     *
+     * @param maxSize наибольшее количество элементов
+     * @return новое представление
+     * @throws IllegalArgumentException если maxSize отрицательный
+     */
+    public ListView<T> limit(long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("Illegal max size: " + maxSize);
+        return new ListView<>(source, sink -> pipeline.apply(new Sink<T>() {
+
+            private long remaining = maxSize;
+
+            @Override
+            public boolean accept(T t) {
+                if (remaining == 0)
+                    return false;
+                remaining--;
+                return sink.accept(t) && remaining > 0;
+            }
+        }), empty || maxSize == 0);
+    }
+
+    /**
+     * Возвращает представление без первых n элементов этого представления
+     *
+     * @param n количество пропускаемых элементов
+     * @return новое представление
+     * @throws IllegalArgumentException если n отрицательный
+     */
+    public ListView<T> skip(long n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Illegal skip: " + n);
+        return new ListView<>(source, sink -> pipeline.apply(new Sink<T>() {
+
+            private long skipped;
+
+            @Override
+            public boolean accept(T t) {
+                if (skipped < n) {
+                    skipped++;
+                    return true;
+                }
+                return sink.accept(t);
+            }
+        }), empty);
+    }
+
+    /**
+     * Собирает элементы представления в новый список
+     *
+     * @return новый список с элементами представления
+     * @throws ConcurrentModificationException если список был структурно изменён во время прохода
+     */
+    public MyArrayList<T> toMyArrayList() {
+        MyArrayList<T> result = new MyArrayList<>();
+        run(result::add);
+        return result;
+    }
+
+    /**
+     * Выполняет действие для каждого элемента представления
+     *
+     * @param action действие над элементом
+     * @throws NullPointerException            если действие не инициализировано
+     * @throws ConcurrentModificationException если список был структурно изменён во время прохода
+     */
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        run(t -> {
+            action.accept(t);
+            return true;
+        });
+    }
+
+    /**
+     * Возвращает количество элементов представления
+     *
+     * @return количество элементов
+     * @throws ConcurrentModificationException если список был структурно изменён во время прохода
+     */
+    public long count() {
+        long[] count = new long[1];
+        run(t -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Возвращает первый элемент представления. Проход прекращается на первом найденном элементе
+     *
+     * @return первый элемент, пустой Optional если представление пустое
+     * @throws NullPointerException            если первый элемент равен null
+     * @throws ConcurrentModificationException если список был структурно изменён во время прохода
+     */
+    public Optional<T> first() {
+        Object[] first = new Object[1];
+        boolean[] found = new boolean[1];
+        run(t -> {
+            first[0] = t;
+            found[0] = true;
+            return false;
+        });
+        @SuppressWarnings("unchecked")
+        T t = (T) first[0];
+        return found[0] ? Optional.of(t) : Optional.empty();
+    }
+
+    /**
+     * Выполняет проход по списку, передавая элементы представления приёмнику.
+     * Для заведомо пустого представления проход не выполняется
+     *
+     * @param sink приёмник элементов
+     */
+    private void run(Sink<? super T> sink) {
+        if (empty)
+            return;
+        source.forEachWhile(pipeline.apply(sink)::accept);
+    }
+
+    /**
+     * Приёмник элементов прохода
+     *
+     * @param <T> тип принимаемых элементов
+     */
+    @FunctionalInterface
+    private interface Sink<T> {
+
+        /**
+         * Принимает элемент
+         *
+         * @param t элемент
+         * @return true, если проход нужно продолжить, false если результат известен и проход можно прекратить
+         */
+        boolean accept(T t);
+    }
+}
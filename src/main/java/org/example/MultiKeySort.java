@@ -0,0 +1,170 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Устойчивая сортировка по нескольким ключам, заранее вычисленным в массивы int.
+ * Сортируется перестановка индексов элементов, после чего она применяется к массиву элементов на месте.
+ *
+ * <p>
+ * Если все ключи вместе с индексом элемента помещаются в 63 бита, они упаковываются в одно число long
+ * (ключи смещаются к нулю и занимают столько бит, сколько нужно для их диапазона), и сортируется массив
+ * long. Индекс в младших битах делает сортировку устойчивой. Иначе индексы сортируются слиянием
+ * с лексикографическим сравнением ключей
+ */
+final class MultiKeySort {
+
+    private MultiKeySort() {
+    }
+
+    /**
+     * Сортирует первые n элементов массива по ключам, сохраняя взаимный порядок элементов с равными ключами
+     *
+     * @param es   сортируемый массив
+     * @param keys массивы ключей в порядке убывания приоритета, keys[c][i] - c-й ключ элемента es[i]
+     * @param n    количество сортируемых элементов
+     */
+    static void sort(Object[] es, int[][] keys, int n) {
+        if (n < 2 || keys.length == 0)
+            return;
+        permute(es, order(keys, n));
+    }
+
+    /**
+     * Вычисляет перестановку, упорядочивающую элементы по ключам
+     *
+     * @param keys массивы ключей
+     * @param n    количество элементов
+     * @return перестановка: на место i должен встать элемент с индексом order[i]
+     */
+    static int[] order(int[][] keys, int n) {
+        int[] mins = new int[keys.length];
+        int[] bits = new int[keys.length];
+        int totalBits = 32 - Integer.numberOfLeadingZeros(n - 1);
+        for (int c = 0; c < keys.length; c++) {
+            int[] k = keys[c];
+            int min = k[0];
+            int max = k[0];
+            for (int i = 1; i < n; i++) {
+                if (k[i] < min)
+                    min = k[i];
+                else if (k[i] > max)
+                    max = k[i];
+            }
+            mins[c] = min;
+            bits[c] = 64 - Long.numberOfLeadingZeros((long) max - min);
+            totalBits += bits[c];
+        }
+        if (totalBits <= 63)
+            return packedOrder(keys, n, mins, bits);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+            order[i] = i;
+        mergeSort(order, new int[n], 0, n, keys);
+        return order;
+    }
+
+    /**
+     * Вычисляет перестановку сортировкой упакованных ключей
+     *
+     * @param keys массивы ключей
+     * @param n    количество элементов
+     * @param mins наименьшие значения ключей
+     * @param bits количество бит, занимаемых каждым ключом
+     * @return перестановка, упорядочивающая элементы
+     */
+    private static int[] packedOrder(int[][] keys, int n, int[] mins, int[] bits) {
+        int indexBits = 32 - Integer.numberOfLeadingZeros(n - 1);
+        long indexMask = (1L << indexBits) - 1;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            long p = 0;
+            for (int c = 0; c < keys.length; c++)
+                p = (p << bits[c]) | ((keys[c][i] - mins[c]) & 0xFFFFFFFFL);
+            packed[i] = (p << indexBits) | i;
+        }
+        Arrays.sort(packed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+            order[i] = (int) (packed[i] & indexMask);
+        return order;
+    }
+
+    /**
+     * Устойчивая сортировка слиянием индексов элементов по ключам
+     *
+     * @param a    сортируемый массив индексов
+     * @param tmp  вспомогательный массив того же размера
+     * @param from начальная позиция (включительно)
+     * @param to   конечная позиция (не включительно)
+     * @param keys массивы ключей
+     */
+    private static void mergeSort(int[] a, int[] tmp, int from, int to, int[][] keys) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int x = a[i];
+                int j = i - 1;
+                while (j >= from && compare(keys, a[j], x) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = x;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, tmp, from, mid, keys);
+        mergeSort(a, tmp, mid, to, keys);
+        if (compare(keys, a[mid - 1], a[mid]) <= 0)
+            return;
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compare(keys, tmp[j], tmp[i]) >= 0)) a[k] = tmp[i++];
+            else a[k] = tmp[j++];
+        }
+    }
+
+    /**
+     * Лексикографически сравнивает ключи двух элементов
+     *
+     * @param keys массивы ключей
+     * @param a    индекс первого элемента
+     * @param b    индекс второго элемента
+     * @return результат сравнения ключей
+     */
+    private static int compare(int[][] keys, int a, int b) {
+        for (int[] k : keys) {
+            int r = Integer.compare(k[a], k[b]);
+            if (r != 0)
+                return r;
+        }
+        return 0;
+    }
+
+    /**
+     * Применяет перестановку к массиву на месте, переставляя элементы по циклам перестановки.
+     * Массив перестановки при этом портится
+     *
+     * @param es    массив элементов
+     * @param order перестановка: на место i должен встать элемент с индексом order[i]
+     */
+    static void permute(Object[] es, int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] == i)
+                continue;
+            Object first = es[i];
+            int j = i;
+            int src = order[j];
+            while (src != i) {
+                es[j] = es[src];
+                order[j] = j;
+                j = src;
+                src = order[j];
+            }
+            es[j] = first;
+            order[j] = j;
+        }
+    }
+}
@@ -1,6 +1,16 @@
 package org.example;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * Динамический массив, реализующий интерфейс Collection. Реализует следующие операции над списком:
@@ -10,11 +20,36 @@ import java.util.*;
  * добавление всех элементов другой коллекции; проверка на наличие элемента в списке; поиск наличия элемента в списке;
  * поиск индекса элемента в списке; итератор; проверка наличия всех элементов другой коллекции в списке; удаление всех
  * элементов списка, которые содержаться в передаваемой коллекции; замена всех элементов списка на те, которые
- * содержатся в другой коллекции.
+ * содержатся в другой коллекции; удаление всех элементов, удовлетворяющих условию.
  *
  * <p>
  * Класс содержит методы автоматического изменения размера массива для хранения внутри списка.
- * Для сортировки имеется метод, реализующий быструю сортировку
+ * Способ увеличения ёмкости задаётся политикой GrowthPolicy при создании списка, ёмкость можно
+ * заранее увеличить методом ensureCapacity и уменьшить до размера списка методом trimToSize.
+ * Политика ShrinkPolicy (setShrinkPolicy) автоматически уменьшает ёмкость после удаления элементов,
+ * удалённые элементы сразу обнуляются в массиве и не удерживаются списком.
+ * Для сортировки имеется метод, реализующий быструю сортировку, и параллельная сортировка слиянием
+ * в пуле ForkJoinPool (в том числе устойчивая). Сортировка по целочисленному ключу или по значению
+ * перечисления (sortByIntKey, sortByEnumKey, а также sort с компаратором IntKeyComparator) устойчивая
+ * и выполняется за линейное время. Сортировка по нескольким ключам (sortBy) вычисляет ключи один раз
+ * для каждого элемента и сравнивает только числа.
+ * Массовое удаление элементов (removeAll, retainAll, removeIf) выполняется за один проход по массиву,
+ * удаление диапазона (removeRange) - одним копированием. Метод subList возвращает представление части
+ * списка без копирования элементов.
+ * Элементы другого MyArrayList добавляются (конструктор, addAll) копированием напрямую из его массива,
+ * а addAll с итератором и ожидаемым размером или с потоком увеличивает ёмкость один раз.
+ * Вставка нескольких элементов в разные позиции (insertAll) выполняется одним проходом за O(n + k).
+ * Потоки stream и parallelStream построены на Spliterator, который делит массив по индексам.
+ * Итератор и Spliterator отказоустойчивые (fail-fast) и отслеживают структурные изменения списка по modCount,
+ * методы forEach, forEachIndexed и replaceAll обходят массив напрямую без создания итератора.
+ * Их параллельные версии (parallelForEach, parallelReplaceAll, parallelRemoveIf, parallelCount,
+ * parallelReduce) делят массив на диапазоны индексов и обрабатывают их в пуле ForkJoinPool.
+ * В индексированном режиме (enableHashIndex) поиск элементов выполняется по хеш-индексу позиций.
+ * В режиме буфера с разрывом (enableGapBuffer) свободная ёмкость массива находится в месте последней
+ * вставки или удаления, поэтому серия вставок и удалений рядом с одной позицией выполняется за O(1).
+ * Метод dedupStrings заменяет одинаковые строки в полях элементов одним экземпляром из пула StringPool.
+ * Статистику внутренней работы списков (увеличения ёмкости, копирования, сравнения при сортировке,
+ * длины линейного поиска) можно включить и получить через ListStats, в том числе в виде событий JFR
  *
  * @param <E> тип элементов списка
  */
@@ -36,6 +71,11 @@ public class MyArrayList<E> implements Collection<E> {
      */
     private static final Object[] DEFAULT_CAPACITY_EMPTY_ELEMENT_DATA = {};
 
+    /**
+     * Максимальный размер массива. Некоторые виртуальные машины резервируют часть массива под заголовок
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
     /**
      * Массив, в котором хранятся элементы MyArrayList. Емкость MyArrayList это длина массива.
      */
@@ -46,6 +86,45 @@ public class MyArrayList<E> implements Collection<E> {
      */
     private int size;
 
+    /**
+     * Количество структурных изменений списка (изменений размера или порядка элементов).
+     * Используется итераторами для обнаружения изменения списка во время обхода
+     */
+    private int modCount;
+
+    /**
+     * Количество замен элементов (set, replaceAll), которые не являются структурными изменениями.
+     * Вместе с modCount образует отметку изменения списка modificationStamp
+     */
+    private int writeCount;
+
+    /**
+     * Хеш-индекс позиций элементов, null если индексированный режим выключен
+     */
+    private PositionIndex positionIndex;
+
+    /**
+     * true, если включён режим буфера с разрывом
+     */
+    private boolean gapBuffer;
+
+    /**
+     * Начало разрыва в режиме буфера с разрывом: элементы с индексами [0, gapStart) лежат в начале массива,
+     * остальные элементы - в конце массива, а между ними находится свободная ёмкость.
+     * -1, если элементы лежат подряд с начала массива
+     */
+    private int gapStart = -1;
+
+    /**
+     * Политика увеличения ёмкости списка
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Политика уменьшения ёмкости после удаления элементов, null если ёмкость не уменьшается
+     */
+    private ShrinkPolicy shrinkPolicy;
+
     /**
      * Конструктор пустого списка с указанной начальной емкостью
      *
@@ -53,6 +132,19 @@ public class MyArrayList<E> implements Collection<E> {
      * @throws IllegalArgumentException если начальная ёмкость отрицательная
      */
     public MyArrayList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.oneAndHalf());
+    }
+
+    /**
+     * Конструктор пустого списка с указанной начальной емкостью и политикой увеличения ёмкости
+     *
+     * @param initialCapacity начальная емкость списка
+     * @param growthPolicy    политика увеличения ёмкости
+     * @throws IllegalArgumentException если начальная ёмкость отрицательная
+     * @throws NullPointerException     если политика не инициализирована
+     */
+    public MyArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
         if (initialCapacity > 0) {
             elementData = new Object[initialCapacity];
         } else if (initialCapacity == 0) {
@@ -64,12 +156,20 @@ public class MyArrayList<E> implements Collection<E> {
     }
 
     /**
-     * Конструктор списка, содержащий элементы передаваемой коллекции
+     * Конструктор списка, содержащий элементы передаваемой коллекции. Элементы MyArrayList
+     * копируются напрямую из его массива одним копированием
      *
      * @param c передаваемая коллекция, элементы которой должны быть скопированы в список
      * @throws NullPointerException если передаваемая коллекция пустая
      */
     public MyArrayList(Collection<? extends E> c) {
+        growthPolicy = GrowthPolicy.oneAndHalf();
+        if (c instanceof MyArrayList<? extends E> source) {
+            source.closeGap();
+            size = source.size;
+            elementData = size == 0 ? EMPTY_ELEMENT_DATA : Arrays.copyOf(source.elementData, size);
+            return;
+        }
         Object[] a = c.toArray();
         if ((size = a.length) != 0) {
             if (c.getClass() == ArrayList.class) {
@@ -88,6 +188,17 @@ public class MyArrayList<E> implements Collection<E> {
      * @throws IllegalArgumentException если начальная ёмкость отрицательная
      */
     public MyArrayList() {
+        this(GrowthPolicy.oneAndHalf());
+    }
+
+    /**
+     * Конструктор пустого списка с указанной политикой увеличения ёмкости
+     *
+     * @param growthPolicy политика увеличения ёмкости
+     * @throws NullPointerException если политика не инициализирована
+     */
+    public MyArrayList(GrowthPolicy growthPolicy) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
         this.elementData = DEFAULT_CAPACITY_EMPTY_ELEMENT_DATA;
     }
 
@@ -130,9 +241,173 @@ public class MyArrayList<E> implements Collection<E> {
      * @return индекс передаваемого элемента в списке, -1 если элемента нет
      */
     public int indexOf(Object o) {
+        if (positionIndex != null)
+            return freshPositionIndex().firstIndex(o);
+        closeGap();
         return indexOfRange(o, 0, size);
     }
 
+    /**
+     * Возвращает индекс последнего вхождения передаваемого элемента в списке,
+     * если его нет в списке, возвращает -1
+     *
+     * @param o передаваемый элемент для получения индекса в списке
+     * @return индекс последнего вхождения элемента в списке, -1 если элемента нет
+     */
+    public int lastIndexOf(Object o) {
+        if (positionIndex != null)
+            return freshPositionIndex().lastIndex(o);
+        closeGap();
+        if (o == null) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (elementData[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = size - 1; i >= 0; i--) {
+                if (o.equals(elementData[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Включает индексированный режим: строит хеш-индекс позиций элементов, после чего contains, indexOf,
+     * lastIndexOf и containsAll выполняются за ожидаемое O(1) на каждый искомый элемент.
+     * Индекс поддерживается при добавлении, замене, вставке, удалении и сортировке. Элементы должны
+     * корректно реализовывать equals и hashCode и не изменять hashCode, пока находятся в списке
+     */
+    public void enableHashIndex() {
+        if (positionIndex == null) {
+            closeGap();
+            positionIndex = new PositionIndex();
+            positionIndex.rebuild(elementData, size);
+        }
+    }
+
+    /**
+     * Выключает индексированный режим и освобождает память индекса
+     */
+    public void disableHashIndex() {
+        positionIndex = null;
+    }
+
+    /**
+     * Возвращает true, если включён индексированный режим
+     *
+     * @return true, если включён индексированный режим
+     */
+    public boolean isHashIndexEnabled() {
+        return positionIndex != null;
+    }
+
+    /**
+     * Возвращает примерный объём дополнительной памяти, занимаемой хеш-индексом
+     *
+     * @return размер индекса в байтах, 0 если индексированный режим выключен
+     */
+    public long hashIndexMemoryBytes() {
+        return positionIndex == null ? 0 : freshPositionIndex().memoryBytes();
+    }
+
+    /**
+     * Возвращает хеш-индекс, предварительно перестроив его, если он устарел
+     *
+     * @return актуальный хеш-индекс
+     */
+    private PositionIndex freshPositionIndex() {
+        PositionIndex index = positionIndex;
+        if (index.isStale()) {
+            closeGap();
+            index.rebuild(elementData, size);
+        }
+        return index;
+    }
+
+    /**
+     * Помечает хеш-индекс устаревшим, если индексированный режим включён
+     */
+    private void invalidatePositionIndex() {
+        if (positionIndex != null)
+            positionIndex.invalidate();
+    }
+
+    /**
+     * Включает режим буфера с разрывом: свободная ёмкость массива перемещается в место вставки или удаления
+     * и остаётся там до следующего изменения. Вставка и удаление по индексу стоят O(d), где d - расстояние
+     * от предыдущей вставки или удаления, поэтому серия изменений рядом с одной позицией выполняется за O(1)
+     * на операцию. get и set по-прежнему выполняются за O(1). Операции, обходящие весь массив (поиск,
+     * сортировка, forEach, toArray, потоки и т.д.), предварительно переносят разрыв в конец массива
+     */
+    public void enableGapBuffer() {
+        gapBuffer = true;
+    }
+
+    /**
+     * Выключает режим буфера с разрывом, перенося разрыв в конец массива
+     */
+    public void disableGapBuffer() {
+        closeGap();
+        gapBuffer = false;
+    }
+
+    /**
+     * Возвращает true, если включён режим буфера с разрывом
+     *
+     * @return true, если включён режим буфера с разрывом
+     */
+    public boolean isGapBufferEnabled() {
+        return gapBuffer;
+    }
+
+    /**
+     * Возвращает позицию элемента в массиве с учётом разрыва
+     *
+     * @param index индекс элемента в списке
+     * @return индекс ячейки массива, в которой хранится элемент
+     */
+    private int physicalIndex(int index) {
+        int gs = gapStart;
+        return gs < 0 || index < gs ? index : index + elementData.length - size;
+    }
+
+    /**
+     * Перемещает разрыв в конец массива, после чего элементы лежат подряд с начала массива
+     */
+    private void closeGap() {
+        if (gapStart >= 0) {
+            moveGap(size);
+            gapStart = -1;
+        }
+    }
+
+    /**
+     * Перемещает разрыв так, чтобы он начинался с указанного индекса, сдвигая только элементы между
+     * старым и новым положением разрыва. Освободившиеся ячейки обнуляются
+     *
+     * @param index новое начало разрыва
+     */
+    private void moveGap(int index) {
+        final Object[] es = elementData;
+        final int gs = gapStart < 0 ? size : gapStart;
+        final int gapLength = es.length - size;
+        if (gapLength > 0) {
+            if (ListStats.enabled)
+                ListStats.recordCopy(Math.abs(index - gs));
+            if (index < gs) {
+                System.arraycopy(es, index, es, index + gapLength, gs - index);
+                Arrays.fill(es, index, Math.min(index + gapLength, gs), null);
+            } else if (index > gs) {
+                System.arraycopy(es, gs + gapLength, es, gs, index - gs);
+                Arrays.fill(es, Math.max(index, gs + gapLength), index + gapLength, null);
+            }
+        }
+        gapStart = index;
+    }
+
     /**
      * Возвращает индекс первого вхождения передаваемого элемента в списке,
      * если его нет в списке, возвращает -1
@@ -143,20 +418,25 @@ public class MyArrayList<E> implements Collection<E> {
      * @return индекс передаваемого элемента в списке, -1 если элемента нет
      */
     private int indexOfRange(Object o, int start, int end) {
+        int index = -1;
         if (o == null) {
             for (int i = start; i < end; i++) {
-                if (elementData == null) {
-                    return i;
+                if (elementData[i] == null) {
+                    index = i;
+                    break;
                 }
             }
         } else {
             for (int i = start; i < end; i++) {
                 if (o.equals(elementData[i])) {
-                    return i;
+                    index = i;
+                    break;
                 }
             }
         }
-        return -1;
+        if (ListStats.enabled)
+            ListStats.recordScan((index < 0 ? end : index + 1) - start);
+        return index;
     }
 
 
@@ -170,26 +450,490 @@ public class MyArrayList<E> implements Collection<E> {
         return new MyArrayListIterator(0);
     }
 
+    /**
+     * Возвращает Spliterator списка, который читает элементы напрямую из массива и делит диапазон
+     * индексов ровно пополам. Используется методами stream и parallelStream
+     *
+     * @return Spliterator списка с характеристиками ORDERED, SIZED и SUBSIZED
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new MyArrayListSpliterator(0, -1, 0);
+    }
+
+    /**
+     * Выполняет действие для каждого элемента списка, читая элементы напрямую из массива без создания итератора.
+     * Изменение списка во время обхода проверяется один раз, после обработки всех элементов
+     *
+     * @param action действие над элементом
+     * @throws NullPointerException            если действие не инициализировано
+     * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int end = size;
+        for (int i = 0; i < end; i++)
+            action.accept((E) es[i]);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Выполняет действие для каждого элемента списка, передавая вместе с элементом его индекс.
+     * Изменение списка во время обхода проверяется один раз, после обработки всех элементов
+     *
+     * @param action действие над элементом и его индексом
+     * @throws NullPointerException            если действие не инициализировано
+     * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachIndexed(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int end = size;
+        for (int i = 0; i < end; i++)
+            action.accept((E) es[i], i);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Выполняет действие для элементов списка по порядку, пока действие возвращает true.
+     * Изменение списка во время обхода проверяется один раз, после окончания обхода
+     *
+     * @param action действие над элементом, возвращающее false, если обход нужно прекратить
+     * @return true, если обработаны все элементы
+     * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+     */
+    @SuppressWarnings("unchecked")
+    boolean forEachWhile(Predicate<? super E> action) {
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int end = size;
+        int i = 0;
+        while (i < end && action.test((E) es[i]))
+            i++;
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        return i == end;
+    }
+
+    /**
+     * Возвращает ленивое представление списка, к которому можно применить цепочку преобразований
+     * map, filter, limit и skip. Преобразования выполняются только терминальной операцией представления
+     * за один проход по элементам списка, без промежуточных списков
+     *
+     * @return представление списка
+     */
+    public ListView<E> view() {
+        return new ListView<>(this);
+    }
+
+    /**
+     * Заменяет каждый элемент списка результатом применения к нему операции.
+     * Изменение списка во время обхода проверяется один раз, после обработки всех элементов
+     *
+     * @param operator операция, применяемая к каждому элементу
+     * @throws NullPointerException            если операция не инициализирована
+     * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+     */
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int end = size;
+        for (int i = 0; i < end; i++)
+            es[i] = operator.apply((E) es[i]);
+        writeCount++;
+        invalidatePositionIndex();
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Параллельно выполняет действие для каждого элемента списка в общем пуле ForkJoinPool
+     * (см. parallelForEach с пулом)
+     *
+     * @param action действие над элементом
+     * @throws NullPointerException            если действие не инициализировано
+     * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+     */
+    public void parallelForEach(Consumer<? super E> action) {
+        parallelForEach(action, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно выполняет действие для каждого элемента списка в передаваемом пуле ForkJoinPool.
+     * Массив делится на диапазоны индексов, размер которых зависит от размера списка, диапазоны
+     * обрабатываются параллельно. Порядок вызова действия для разных элементов не определён,
+     * действие должно быть потокобезопасным
+     *
+     * @param action действие над элементом
+     * @param pool   пул потоков
+     * @throws NullPointerException            если действие или пул не инициализированы
+     * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelForEach(Consumer<? super E> action, ForkJoinPool pool) {
+        Objects.requireNonNull(action);
+        Objects.requireNonNull(pool);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        ParallelBulk.invoke(size, pool, (from, to) -> {
+            for (int i = from; i < to; i++)
+                action.accept((E) es[i]);
+            return null;
+        }, ParallelBulk::none);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Параллельно заменяет каждый элемент списка результатом операции в общем пуле ForkJoinPool
+     * (см. parallelReplaceAll с пулом)
+     *
+     * @param operator операция, применяемая к каждому элементу
+     * @throws NullPointerException            если операция не инициализирована
+     * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+     */
+    public void parallelReplaceAll(UnaryOperator<E> operator) {
+        parallelReplaceAll(operator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно заменяет каждый элемент списка результатом применения к нему операции в передаваемом
+     * пуле ForkJoinPool. Каждый диапазон индексов записывается одной задачей, поэтому результат не зависит
+     * от порядка выполнения задач. Если операция выбросит исключение, часть элементов может быть заменена
+     *
+     * @param operator операция, применяемая к каждому элементу
+     * @param pool     пул потоков
+     * @throws NullPointerException            если операция или пул не инициализированы
+     * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelReplaceAll(UnaryOperator<E> operator, ForkJoinPool pool) {
+        Objects.requireNonNull(operator);
+        Objects.requireNonNull(pool);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        try {
+            ParallelBulk.invoke(size, pool, (from, to) -> {
+                for (int i = from; i < to; i++)
+                    es[i] = operator.apply((E) es[i]);
+                return null;
+            }, ParallelBulk::none);
+        } finally {
+            writeCount++;
+            invalidatePositionIndex();
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Параллельно удаляет элементы, удовлетворяющие условию, в общем пуле ForkJoinPool
+     * (см. parallelRemoveIf с пулом)
+     *
+     * @param filter условие, которому должны удовлетворять удаляемые элементы
+     * @return true, если хотя бы один элемент был удалён, иначе false
+     * @throws NullPointerException            если условие не инициализировано
+     * @throws ConcurrentModificationException если список был структурно изменён во время проверки
+     */
+    public boolean parallelRemoveIf(Predicate<? super E> filter) {
+        return parallelRemoveIf(filter, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно удаляет элементы, удовлетворяющие условию, в передаваемом пуле ForkJoinPool.
+     * Сначала условие параллельно проверяется для всех элементов, и удаляемые элементы отмечаются
+     * в битовой карте, затем оставшиеся элементы сдвигаются к началу массива за один проход.
+     * Список изменяется только после проверки всех элементов, поэтому если условие выбросит
+     * исключение, список не изменится. Условие должно быть потокобезопасным
+     *
+     * @param filter условие, которому должны удовлетворять удаляемые элементы
+     * @param pool   пул потоков
+     * @return true, если хотя бы один элемент был удалён, иначе false
+     * @throws NullPointerException            если условие или пул не инициализированы
+     * @throws ConcurrentModificationException если список был структурно изменён во время проверки
+     */
+    @SuppressWarnings("unchecked")
+    public boolean parallelRemoveIf(Predicate<? super E> filter, ForkJoinPool pool) {
+        Objects.requireNonNull(filter);
+        Objects.requireNonNull(pool);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int end = size;
+        final long[] marks = new long[(end + 63) >>> 6];
+        long removed = ParallelBulk.invoke(end, pool, (from, to) -> {
+            long count = 0;
+            for (int i = from; i < to; i++) {
+                if (filter.test((E) es[i])) {
+                    marks[i >>> 6] |= 1L << i;
+                    count++;
+                }
+            }
+            return count;
+        }, Long::sum);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        if (removed == 0)
+            return false;
+        int w = 0;
+        for (int r = 0; r < end; r++) {
+            if ((marks[r >>> 6] & (1L << r)) == 0)
+                es[w++] = es[r];
+        }
+        Arrays.fill(es, w, end, null);
+        size = w;
+        modCount++;
+        invalidatePositionIndex();
+        shrinkIfNeeded();
+        return true;
+    }
+
+    /**
+     * Параллельно подсчитывает элементы, удовлетворяющие условию, в общем пуле ForkJoinPool
+     *
+     * @param predicate условие
+     * @return количество элементов, удовлетворяющих условию
+     * @throws NullPointerException            если условие не инициализировано
+     * @throws ConcurrentModificationException если список был структурно изменён во время проверки
+     */
+    public long parallelCount(Predicate<? super E> predicate) {
+        return parallelCount(predicate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно подсчитывает элементы, удовлетворяющие условию, в передаваемом пуле ForkJoinPool.
+     * Условие должно быть потокобезопасным
+     *
+     * @param predicate условие
+     * @param pool      пул потоков
+     * @return количество элементов, удовлетворяющих условию
+     * @throws NullPointerException            если условие или пул не инициализированы
+     * @throws ConcurrentModificationException если список был структурно изменён во время проверки
+     */
+    @SuppressWarnings("unchecked")
+    public long parallelCount(Predicate<? super E> predicate, ForkJoinPool pool) {
+        Objects.requireNonNull(predicate);
+        Objects.requireNonNull(pool);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        long count = ParallelBulk.invoke(size, pool, (from, to) -> {
+            long c = 0;
+            for (int i = from; i < to; i++) {
+                if (predicate.test((E) es[i]))
+                    c++;
+            }
+            return c;
+        }, Long::sum);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        return count;
+    }
+
+    /**
+     * Параллельно сворачивает элементы списка ассоциативной операцией в общем пуле ForkJoinPool
+     * (см. parallelReduce с пулом)
+     *
+     * @param identity нейтральный элемент операции
+     * @param operator ассоциативная операция
+     * @return результат свёртки, identity если список пустой
+     * @throws NullPointerException            если операция не инициализирована
+     * @throws ConcurrentModificationException если список был структурно изменён во время свёртки
+     */
+    public E parallelReduce(E identity, BinaryOperator<E> operator) {
+        return parallelReduce(identity, operator, operator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно сворачивает элементы списка в общем пуле ForkJoinPool (см. parallelReduce с пулом)
+     *
+     * @param identity    нейтральный элемент
+     * @param accumulator добавление элемента к частичному результату
+     * @param combiner    объединение двух частичных результатов
+     * @param <R>         тип результата
+     * @return результат свёртки, identity если список пустой
+     * @throws NullPointerException            если функции не инициализированы
+     * @throws ConcurrentModificationException если список был структурно изменён во время свёртки
+     */
+    public <R> R parallelReduce(R identity, BiFunction<R, ? super E, R> accumulator, BinaryOperator<R> combiner) {
+        return parallelReduce(identity, accumulator, combiner, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно сворачивает элементы списка в передаваемом пуле ForkJoinPool. Каждый диапазон индексов
+     * сворачивается слева направо, начиная с identity, затем результаты соседних диапазонов объединяются
+     * combiner в порядке следования диапазонов. Разбиение на диапазоны зависит только от размера списка,
+     * поэтому результат детерминирован даже для неассоциативных операций (например, сложения double)
+     * и не зависит от пула и количества потоков
+     *
+     * @param identity    нейтральный элемент
+     * @param accumulator добавление элемента к частичному результату
+     * @param combiner    объединение двух частичных результатов
+     * @param pool        пул потоков
+     * @param <R>         тип результата
+     * @return результат свёртки, identity если список пустой
+     * @throws NullPointerException            если функции или пул не инициализированы
+     * @throws ConcurrentModificationException если список был структурно изменён во время свёртки
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R parallelReduce(R identity, BiFunction<R, ? super E, R> accumulator, BinaryOperator<R> combiner,
+                                ForkJoinPool pool) {
+        Objects.requireNonNull(accumulator);
+        Objects.requireNonNull(combiner);
+        Objects.requireNonNull(pool);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        R result = ParallelBulk.invoke(size, pool, (from, to) -> {
+            R partial = identity;
+            for (int i = from; i < to; i++)
+                partial = accumulator.apply(partial, (E) es[i]);
+            return partial;
+        }, combiner);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        return result;
+    }
+
+    /**
+     * Возвращает отметку изменения списка, которая меняется при каждом структурном изменении и каждой замене
+     * элементов (set, replaceAll). По совпадению отметок можно проверить, что содержимое списка не изменилось
+     * и вычисленные по нему данные (например, колонки значений полей) актуальны. Изменения полей самих
+     * элементов отметка не отражает
+     *
+     * @return отметка изменения списка
+     */
+    public long modificationStamp() {
+        return ((long) modCount << 32) | (writeCount & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Возвращает текущую ёмкость списка (длину массива, в котором хранятся элементы)
+     *
+     * @return ёмкость списка
+     */
+    public int capacity() {
+        return elementData.length;
+    }
+
+    /**
+     * Увеличивает емкость списка, если это необходимо, чтобы он мог хранить хотя бы количество элементов,
+     * указанное в minCapacity. Позволяет выделить память один раз перед добавлением большого количества элементов
+     *
+     * @param minCapacity минимальная емкость
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length
+                && !(elementData == DEFAULT_CAPACITY_EMPTY_ELEMENT_DATA && minCapacity <= DEFAULT_CAPACITY)) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Уменьшает емкость списка до его текущего размера, освобождая неиспользуемую память
+     */
+    public void trimToSize() {
+        closeGap();
+        if (size < elementData.length) {
+            elementData = (size == 0) ? EMPTY_ELEMENT_DATA : Arrays.copyOf(elementData, size);
+        }
+    }
+
+    /**
+     * Устанавливает политику уменьшения ёмкости, которая применяется после удаления элементов
+     * (remove, removeRange, removeAll, retainAll, removeIf, clear). По умолчанию ёмкость не уменьшается
+     *
+     * @param shrinkPolicy политика уменьшения ёмкости, null чтобы не уменьшать ёмкость
+     */
+    public void setShrinkPolicy(ShrinkPolicy shrinkPolicy) {
+        this.shrinkPolicy = shrinkPolicy;
+    }
+
+    /**
+     * Возвращает политику уменьшения ёмкости
+     *
+     * @return политика уменьшения ёмкости, null если ёмкость не уменьшается
+     */
+    public ShrinkPolicy getShrinkPolicy() {
+        return shrinkPolicy;
+    }
+
+    /**
+     * Уменьшает ёмкость списка по политике уменьшения ёмкости, если она задана. Массив копируется
+     * один раз сразу до итоговой ёмкости
+     */
+    private void shrinkIfNeeded() {
+        final ShrinkPolicy policy = shrinkPolicy;
+        if (policy == null)
+            return;
+        int newCapacity = Math.max(size, policy.newCapacity(elementData.length, size));
+        if (newCapacity < elementData.length) {
+            closeGap();
+            if (ListStats.enabled)
+                ListStats.recordCopy(size);
+            elementData = (newCapacity == 0) ? EMPTY_ELEMENT_DATA : Arrays.copyOf(elementData, newCapacity);
+        }
+    }
+
     /**
      * Увеличивает емкость списка, чтобы он мог хранить хотя бы количество элементов,
-     * указанное в minCapacity
+     * указанное в minCapacity. Новая ёмкость вычисляется политикой увеличения ёмкости
      *
      * @param minCapacity минимальная емкость
      * @return массив нового размера
      * @throws OutOfMemoryError если minCapacity отрицательная
      */
     private Object[] grow(int minCapacity) {
+        closeGap();
         int oldCapacity = elementData.length;
         if (oldCapacity > 0 || elementData != DEFAULT_CAPACITY_EMPTY_ELEMENT_DATA) {
-            int newCapacity = oldCapacity + oldCapacity / 2;
+            int newCapacity = newCapacity(oldCapacity, minCapacity);
             elementData = Arrays.copyOf(elementData, newCapacity);
+            if (ListStats.enabled)
+                ListStats.recordGrow(oldCapacity, newCapacity, oldCapacity);
             return elementData;
         } else {
             elementData = new Object[Math.max(DEFAULT_CAPACITY, minCapacity)];
+            if (ListStats.enabled)
+                ListStats.recordGrow(0, elementData.length, 0);
             return elementData;
         }
     }
 
+    /**
+     * Вычисляет новую ёмкость списка с помощью политики увеличения ёмкости.
+     * Новая ёмкость всегда не меньше minCapacity и по возможности не больше MAX_ARRAY_SIZE
+     *
+     * @param oldCapacity текущая ёмкость
+     * @param minCapacity минимальная емкость
+     * @return новая ёмкость списка
+     * @throws OutOfMemoryError если minCapacity отрицательная
+     */
+    private int newCapacity(int oldCapacity, int minCapacity) {
+        if (minCapacity < 0)
+            throw new OutOfMemoryError("Required array length too large");
+        int newCapacity = growthPolicy.newCapacity(oldCapacity, minCapacity);
+        if (newCapacity < minCapacity)
+            return minCapacity;
+        return newCapacity <= MAX_ARRAY_SIZE ? newCapacity : Math.max(minCapacity, MAX_ARRAY_SIZE);
+    }
+
     /**
      * Вспомогательный метод, вызывающий метод увеличения емкости
      *
@@ -207,10 +951,14 @@ public class MyArrayList<E> implements Collection<E> {
      */
     @Override
     public boolean add(E e) {
+        closeGap();
+        modCount++;
         if (size == elementData.length) {
             elementData = grow();
         }
         elementData[size] = e;
+        if (positionIndex != null)
+            positionIndex.onAppend(e, size);
         size++;
         return true;
     }
@@ -243,15 +991,7 @@ public class MyArrayList<E> implements Collection<E> {
     @Override
     public boolean removeAll(Collection<?> c) {
         Objects.requireNonNull(c);
-        boolean modified = false;
-        Iterator<?> it = iterator();
-        while (it.hasNext()) {
-            if (c.contains(it.next())) {
-                it.remove();
-                modified = true;
-            }
-        }
-        return modified;
+        return batchRemove(c::contains);
     }
 
     /**
@@ -262,15 +1002,59 @@ public class MyArrayList<E> implements Collection<E> {
     @Override
     public boolean retainAll(Collection<?> c) {
         Objects.requireNonNull(c);
-        boolean modified = false;
-        Iterator<E> it = iterator();
-        while (it.hasNext()) {
-            if (!c.contains(it.next())) {
-                it.remove();
-                modified = true;
+        return batchRemove(e -> !c.contains(e));
+    }
+
+    /**
+     * Удаляет из списка все элементы, удовлетворяющие передаваемому условию
+     *
+     * @param filter условие, которому должны удовлетворять удаляемые элементы
+     * @return true, если хотя бы один элемент был удалён, иначе false
+     * @throws NullPointerException если передаваемое условие не инициализировано
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        return batchRemove(filter);
+    }
+
+    /**
+     * Удаляет из списка все элементы, удовлетворяющие условию, за один проход по массиву.
+     * Каждый элемент проверяется один раз, оставшиеся элементы сдвигаются к началу массива,
+     * освободившиеся ячейки в конце обнуляются. Если условие выбросит исключение, непроверенные
+     * элементы сохраняются в списке
+     *
+     * @param filter условие, которому должны удовлетворять удаляемые элементы
+     * @return true, если хотя бы один элемент был удалён, иначе false
+     */
+    @SuppressWarnings("unchecked")
+    private boolean batchRemove(Predicate<? super E> filter) {
+        closeGap();
+        final Object[] es = elementData;
+        final int end = size;
+        int r = 0;
+        int w = 0;
+        try {
+            for (; r < end; r++) {
+                Object e = es[r];
+                if (!filter.test((E) e))
+                    es[w++] = e;
+            }
+        } finally {
+            if (r != end) {
+                System.arraycopy(es, r, es, w, end - r);
+                w += end - r;
             }
+            for (int i = w; i < end; i++)
+                es[i] = null;
+            if (w != end) {
+                modCount++;
+                invalidatePositionIndex();
+            }
+            size = w;
         }
-        return modified;
+        shrinkIfNeeded();
+        return w != end;
     }
 
     /**
@@ -283,11 +1067,26 @@ public class MyArrayList<E> implements Collection<E> {
     public void add(int index, E element) {
         if (index > size || index < 0)
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        modCount++;
         if (size == elementData.length) {
             elementData = grow();
         }
-        System.arraycopy(elementData, index, elementData, index + 1, size - index);
-        elementData[index] = element;
+        if (gapBuffer) {
+            moveGap(index);
+            elementData[index] = element;
+            gapStart = index + 1;
+        } else {
+            if (ListStats.enabled)
+                ListStats.recordCopy(size - index);
+            System.arraycopy(elementData, index, elementData, index + 1, size - index);
+            elementData[index] = element;
+        }
+        if (positionIndex != null) {
+            if (index == size)
+                positionIndex.onAppend(element, index);
+            else
+                positionIndex.invalidate();
+        }
         size++;
     }
 
@@ -301,7 +1100,7 @@ public class MyArrayList<E> implements Collection<E> {
     @SuppressWarnings("unchecked")
     public E get(int index) {
         Objects.checkIndex(index, size);
-        return (E) elementData[index];
+        return (E) elementData[physicalIndex(index)];
     }
 
     /**
@@ -311,103 +1110,350 @@ public class MyArrayList<E> implements Collection<E> {
      * @return элемент, удалённый из списка
      * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
      */
-    public E remove(int index) {
-        Objects.checkIndex(index, size);
-        @SuppressWarnings("unchecked") E oldValue = (E) elementData[index];
-        System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
-        size--;
-        return oldValue;
+    public E remove(int index) {
+        Objects.checkIndex(index, size);
+        @SuppressWarnings("unchecked") E oldValue = (E) elementData[physicalIndex(index)];
+        modCount++;
+        if (positionIndex != null) {
+            if (index == size - 1)
+                positionIndex.onRemoveLast(oldValue, index);
+            else
+                positionIndex.invalidate();
+        }
+        if (gapBuffer) {
+            moveGap(index + 1);
+            elementData[index] = null;
+            gapStart = index;
+        } else {
+            if (ListStats.enabled)
+                ListStats.recordCopy(size - index - 1);
+            System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+            elementData[size - 1] = null;
+        }
+        size--;
+        shrinkIfNeeded();
+        return oldValue;
+    }
+
+    /**
+     * Удаляет первое вхождение передаваемого элемента
+     *
+     * @param o удаляемый объект
+     * @return true, если элемент удалён, иначе false
+     * @throws NullPointerException если передаваемый объект не инициализирован
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) throw new NullPointerException();
+
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Очищает список от содержащихся элементов
+     */
+    @Override
+    public void clear() {
+        closeGap();
+        modCount++;
+        if (positionIndex != null)
+            positionIndex.clear();
+        for (int i = 0; i < size; i++)
+            elementData[i] = null;
+        size = 0;
+        shrinkIfNeeded();
+    }
+
+    /**
+     * Удаляет элементы списка с индексами от fromIndex (включительно) до toIndex (не включительно).
+     * Элементы после диапазона сдвигаются одним копированием, поэтому удаление стоит O(n - toIndex)
+     * независимо от размера диапазона. В режиме буфера с разрывом удалённый диапазон становится частью разрыва
+     *
+     * @param fromIndex индекс первого удаляемого элемента
+     * @param toIndex   индекс, следующий за последним удаляемым элементом
+     * @throws IndexOutOfBoundsException если диапазон выходит за пределы списка или fromIndex больше toIndex
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        if (fromIndex == toIndex)
+            return;
+        modCount++;
+        final Object[] es = elementData;
+        final int newSize = size - (toIndex - fromIndex);
+        if (gapBuffer) {
+            moveGap(toIndex);
+            Arrays.fill(es, fromIndex, toIndex, null);
+            gapStart = fromIndex;
+        } else {
+            if (ListStats.enabled)
+                ListStats.recordCopy(size - toIndex);
+            System.arraycopy(es, toIndex, es, fromIndex, size - toIndex);
+            Arrays.fill(es, newSize, size, null);
+        }
+        size = newSize;
+        invalidatePositionIndex();
+        shrinkIfNeeded();
+    }
+
+    /**
+     * Возвращает представление части списка с индексами от fromIndex (включительно) до toIndex
+     * (не включительно). Представление не копирует элементы: чтение и запись выполняются в массиве
+     * этого списка, а изменения размера представления (add, remove, clear) изменяют список.
+     * Если список структурно изменён не через представление, операции представления выбрасывают
+     * ConcurrentModificationException. Очистка представления выполняется одним вызовом removeRange
+     *
+     * @param fromIndex индекс первого элемента представления
+     * @param toIndex   индекс, следующий за последним элементом представления
+     * @return представление части списка
+     * @throws IndexOutOfBoundsException если диапазон выходит за пределы списка или fromIndex больше toIndex
+     */
+    public List<E> subList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        return new SubList(null, fromIndex, toIndex);
+    }
+
+    /**
+     * Заменяет элемент по указанной позиции в списке на другой (заменяющий)
+     *
+     * @param index   индекс (позиция) элемента для замены
+     * @param element элемент, который должен быть вставлен по указанной позиции
+     * @return элемент, который был заменён
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public E set(int index, E element) {
+        Objects.checkIndex(index, size);
+        int i = physicalIndex(index);
+        @SuppressWarnings("unchecked") E oldValue = (E) elementData[i];
+        elementData[i] = element;
+        writeCount++;
+        if (positionIndex != null)
+            positionIndex.onSet(oldValue, element, index);
+        return oldValue;
+    }
+
+    /**
+     * Сортировка элементов списка. Если компаратор реализует IntKeyComparator, выполняется
+     * устойчивая сортировка по его ключу за линейное время (см. sortByIntKey)
+     *
+     * @param c Comparator используемый для сравнения элементов
+     */
+    public void sort(Comparator<? super E> c) {
+        if (c instanceof IntKeyComparator<? super E> keyComparator) {
+            sortByIntKey(keyComparator::key);
+            return;
+        }
+        closeGap();
+        final int expectedModCount = modCount;
+        ListStats.SortProbe<E> probe = ListStats.enabled ? new ListStats.SortProbe<>(c) : null;
+        quickSort(elementData, 0, size - 1, probe != null ? probe : c);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        if (probe != null)
+            probe.finish(size);
+        modCount++;
+        invalidatePositionIndex();
+    }
+
+    /**
+     * Устойчивая сортировка элементов списка по возрастанию целочисленного ключа. Ключ вычисляется
+     * один раз для каждого элемента, после чего элементы раскладываются без сравнений: сортировкой
+     * подсчётом за O(n + k), если размер диапазона ключей k не больше max(n, 256) и не больше 65536,
+     * иначе поразрядной сортировкой за O(n)
+     *
+     * @param keyExtractor функция, вычисляющая ключ элемента
+     * @throws NullPointerException            если функция не инициализирована
+     * @throws ConcurrentModificationException если список был структурно изменён во время вычисления ключей
+     */
+    @SuppressWarnings("unchecked")
+    public void sortByIntKey(ToIntFunction<? super E> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int end = size;
+        int[] keys = new int[end];
+        for (int i = 0; i < end; i++)
+            keys[i] = keyExtractor.applyAsInt((E) es[i]);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        IntKeySort.sort(es, keys, end);
+        modCount++;
+        invalidatePositionIndex();
+    }
+
+    /**
+     * Устойчивая сортировка элементов списка по значению перечисления в порядке объявления его констант
+     * за O(n + k), где k - количество констант перечисления
+     *
+     * @param keyExtractor функция, возвращающая значение перечисления для элемента
+     * @throws NullPointerException            если функция не инициализирована или вернула null
+     * @throws ConcurrentModificationException если список был структурно изменён во время вычисления ключей
+     */
+    public void sortByEnumKey(Function<? super E, ? extends Enum<?>> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        sortByIntKey(e -> keyExtractor.apply(e).ordinal());
     }
 
     /**
-     * Удаляет первое вхождение передаваемого элемента
+     * Устойчивая сортировка элементов списка по нескольким ключам: элементы сравниваются по первому ключу,
+     * при равенстве - по второму и т.д. Ключи вычисляются один раз для каждого элемента в массивы int
+     * (строки и другие значения заменяются рангом), сортируется перестановка индексов по этим массивам,
+     * и затем элементы переставляются на месте. Геттеры и компараторы значений при сравнении не вызываются
      *
-     * @param o удаляемый объект
-     * @return true, если элемент удалён, иначе false
-     * @throws NullPointerException если передаваемый объект не инициализирован
+     * @param keys ключи сортировки в порядке убывания приоритета
+     * @throws NullPointerException            если ключи не инициализированы
+     * @throws ConcurrentModificationException если список был структурно изменён во время вычисления ключей
      */
-    @Override
-    public boolean remove(Object o) {
-        if (o == null) throw new NullPointerException();
+    @SafeVarargs
+    public final void sortBy(SortKey<? super E>... keys) {
+        for (SortKey<? super E> key : keys)
+            Objects.requireNonNull(key);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int end = size;
+        int[][] columns = new int[keys.length][];
+        for (int c = 0; c < keys.length; c++)
+            columns[c] = keys[c].extract(es, end);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        MultiKeySort.sort(es, columns, end);
+        modCount++;
+        invalidatePositionIndex();
+    }
 
-        for (int i = 0; i < elementData.length; i++) {
-            if (elementData[i].equals(o)) {
-                remove(i);
-                return true;
+    /**
+     * Заменяет строковые поля элементов экземплярами из пула строк, чтобы одинаковые строки разных
+     * элементов занимали память один раз. Поле заменяется, только если пул вернул другой экземпляр.
+     * Список структурно не изменяется
+     *
+     * @param pool   пул строк
+     * @param fields заменяемые строковые поля элементов
+     * @return количество заменённых значений полей
+     * @throws NullPointerException            если пул или поля не инициализированы
+     * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public final long dedupStrings(StringPool pool, StringField<? super E>... fields) {
+        Objects.requireNonNull(pool);
+        for (StringField<? super E> field : fields)
+            Objects.requireNonNull(field);
+        closeGap();
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        final int end = size;
+        long replaced = 0;
+        for (int i = 0; i < end; i++) {
+            E e = (E) es[i];
+            if (e == null)
+                continue;
+            for (StringField<? super E> field : fields) {
+                String s = field.get(e);
+                String pooled = pool.intern(s);
+                if (pooled != s) {
+                    field.set(e, pooled);
+                    replaced++;
+                }
             }
         }
-        return false;
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        return replaced;
     }
 
     /**
-     * Очищает список от содержащихся элементов
+     * Параллельная сортировка элементов списка в общем пуле ForkJoinPool. Порядок равных элементов
+     * не гарантируется
+     *
+     * @param c Comparator используемый для сравнения элементов
+     * @throws NullPointerException если Comparator не инициализирован
      */
-    @Override
-    public void clear() {
-        for (int i = 0; i < size; i++)
-            elementData[i] = null;
-        size = 0;
+    public void parallelSort(Comparator<? super E> c) {
+        parallelSort(c, false);
     }
 
     /**
-     * Заменяет элемент по указанной позиции в списке на другой (заменяющий)
+     * Параллельная сортировка элементов списка в общем пуле ForkJoinPool
      *
-     * @param index   индекс (позиция) элемента для замены
-     * @param element элемент, который должен быть вставлен по указанной позиции
-     * @return элемент, который был заменён
-     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     * @param c      Comparator используемый для сравнения элементов
+     * @param stable true, если равные элементы должны сохранить свой взаимный порядок
+     * @throws NullPointerException если Comparator не инициализирован
      */
-    public E set(int index, E element) {
-        Objects.checkIndex(index, size);
-        @SuppressWarnings("unchecked") E oldValue = (E) elementData[index];
-        elementData[index] = element;
-        return oldValue;
+    public void parallelSort(Comparator<? super E> c, boolean stable) {
+        parallelSort(c, stable, ForkJoinPool.commonPool(), ParallelMergeSort.DEFAULT_THRESHOLD);
     }
 
     /**
-     * Сортировка элементов списка
+     * Параллельная сортировка элементов списка в передаваемом пуле ForkJoinPool. Массив делится на части,
+     * которые сортируются параллельно и затем сливаются. Части размером не больше threshold сортируются
+     * последовательно, поэтому список размером не больше threshold сортируется в текущем потоке.
+     * Если Comparator выбросит исключение, список остаётся в исходном состоянии
      *
-     * @param c Comparator используемый для сравнения элементов
+     * @param c         Comparator используемый для сравнения элементов
+     * @param stable    true, если равные элементы должны сохранить свой взаимный порядок
+     * @param pool      пул потоков, в котором выполняется сортировка
+     * @param threshold размер части массива, начиная с которого сортировка выполняется последовательно
+     * @throws NullPointerException     если Comparator или пул не инициализированы
+     * @throws IllegalArgumentException если threshold не положительный
      */
-    public void sort(Comparator<? super E> c) {
-        quickSort(0, size - 1, c);
+    public void parallelSort(Comparator<? super E> c, boolean stable, ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(c);
+        Objects.requireNonNull(pool);
+        if (threshold <= 0)
+            throw new IllegalArgumentException("Illegal threshold: " + threshold);
+        closeGap();
+        final int expectedModCount = modCount;
+        Object[] sorted = Arrays.copyOf(elementData, size);
+        ParallelMergeSort.sort(sorted, c, stable, pool, threshold);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        System.arraycopy(sorted, 0, elementData, 0, size);
+        modCount++;
+        invalidatePositionIndex();
     }
 
     /**
      * Реализация метода быстрой сортировки
      *
+     * @param es   сортируемый массив
      * @param low  начальная позиция массива
      * @param high конечная позиция массива
      * @param c    Comparator используемый для сравнения элементов
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
-    private void quickSort(int low, int high, Comparator c) {
-        if (elementData.length == 0 || low >= high) return;
+    static void quickSort(Object[] es, int low, int high, Comparator c) {
+        if (es.length == 0 || low >= high) return;
 
         int middle = low + (high - low) / 2;
-        Object border = elementData[middle];
+        Object border = es[middle];
 
         int i = low;
         int j = high;
         while (i <= j) {
-            while (c.compare(elementData[i], border) < 0) i++;
-            while (c.compare(elementData[j], border) > 0) j--;
+            while (c.compare(es[i], border) < 0) i++;
+            while (c.compare(es[j], border) > 0) j--;
             if (i <= j) {
-                Object swap = elementData[i];
-                elementData[i] = elementData[j];
-                elementData[j] = swap;
+                Object swap = es[i];
+                es[i] = es[j];
+                es[j] = swap;
                 i++;
                 j--;
             }
         }
 
-        if (low < j) quickSort(low, j, c);
-        if (high > i) quickSort(i, high, c);
+        if (low < j) quickSort(es, low, j, c);
+        if (high > i) quickSort(es, i, high, c);
     }
 
     /**
      * Вставляет все элементы из передаваемой коллекции в список.
-     * Новые элементы добавляются в конец списка согласно порядку, в передаваемой коллекции
+     * Новые элементы добавляются в конец списка согласно порядку, в передаваемой коллекции.
+     * Элементы MyArrayList копируются напрямую из его массива без промежуточного массива toArray
      *
      * @param c передаваемая коллекция
      * @return true
@@ -416,17 +1462,138 @@ public class MyArrayList<E> implements Collection<E> {
      */
     @Override
     public boolean addAll(Collection<? extends E> c) {
+        if (c instanceof MyArrayList<? extends E> source)
+            return addAllFrom(source);
         Object[] arr = c.toArray();
         int numNew = arr.length;
+        closeGap();
+        modCount++;
         if (numNew == 0)
             return false;
         if (numNew > elementData.length - size)
             elementData = grow(size + numNew);
+        if (ListStats.enabled)
+            ListStats.recordCopy(numNew);
         System.arraycopy(arr, 0, elementData, size, numNew);
+        if (positionIndex != null) {
+            for (int i = 0; i < numNew; i++)
+                positionIndex.onAppend(arr[i], size + i);
+        }
+        size += numNew;
+        return true;
+    }
+
+    /**
+     * Добавляет в конец списка все элементы другого MyArrayList, копируя их из его массива
+     * одним копированием. Список можно добавить сам к себе
+     *
+     * @param source добавляемый список
+     * @return true, если список изменился
+     */
+    private boolean addAllFrom(MyArrayList<? extends E> source) {
+        source.closeGap();
+        closeGap();
+        modCount++;
+        int numNew = source.size;
+        if (numNew == 0)
+            return false;
+        if (numNew > elementData.length - size)
+            elementData = grow(size + numNew);
+        if (ListStats.enabled)
+            ListStats.recordCopy(numNew);
+        System.arraycopy(source.elementData, 0, elementData, size, numNew);
+        if (positionIndex != null) {
+            for (int i = size; i < size + numNew; i++)
+                positionIndex.onAppend(elementData[i], i);
+        }
         size += numNew;
         return true;
     }
 
+    /**
+     * Добавляет в конец списка все элементы итератора. Ёмкость увеличивается один раз до размера списка
+     * и ожидаемого количества элементов, после чего элементы записываются прямо в массив. Если элементов
+     * окажется больше ожидаемого, ёмкость увеличивается как обычно. Если итератор выбросит исключение,
+     * уже полученные элементы остаются в списке
+     *
+     * @param iterator     итератор добавляемых элементов
+     * @param expectedSize ожидаемое количество элементов
+     * @return true, если список изменился
+     * @throws NullPointerException     если итератор не инициализирован
+     * @throws IllegalArgumentException если ожидаемое количество отрицательное
+     */
+    public boolean addAll(Iterator<? extends E> iterator, int expectedSize) {
+        Objects.requireNonNull(iterator);
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        closeGap();
+        modCount++;
+        reserve(expectedSize);
+        final int start = size;
+        try {
+            while (iterator.hasNext()) {
+                E e = iterator.next();
+                if (size == elementData.length)
+                    elementData = grow();
+                elementData[size++] = e;
+            }
+        } finally {
+            onBulkAppend(start);
+        }
+        return size != start;
+    }
+
+    /**
+     * Добавляет в конец списка все элементы потока в порядке их следования. Если размер потока известен
+     * заранее, ёмкость увеличивается один раз, и элементы записываются прямо в массив. Поток не закрывается
+     *
+     * @param stream поток добавляемых элементов
+     * @return true, если список изменился
+     * @throws NullPointerException если поток не инициализирован
+     */
+    public boolean addAll(Stream<? extends E> stream) {
+        Spliterator<? extends E> spliterator = stream.spliterator();
+        closeGap();
+        modCount++;
+        long exactSize = spliterator.getExactSizeIfKnown();
+        if (exactSize > 0)
+            reserve((int) Math.min(exactSize, MAX_ARRAY_SIZE));
+        final int start = size;
+        try {
+            spliterator.forEachRemaining(e -> {
+                if (size == elementData.length)
+                    elementData = grow();
+                elementData[size++] = e;
+            });
+        } finally {
+            onBulkAppend(start);
+        }
+        return size != start;
+    }
+
+    /**
+     * Увеличивает ёмкость списка для добавления указанного количества элементов одним выделением памяти.
+     * Ёмкость не превышает MAX_ARRAY_SIZE, поэтому слишком большое количество не приводит к ошибке
+     *
+     * @param numNew количество добавляемых элементов
+     */
+    private void reserve(int numNew) {
+        if (numNew > elementData.length - size)
+            elementData = grow((int) Math.min((long) size + numNew, MAX_ARRAY_SIZE));
+    }
+
+    /**
+     * Обновляет индекс позиций после добавления элементов в конец списка
+     *
+     * @param start позиция первого добавленного элемента
+     */
+    private void onBulkAppend(int start) {
+        if (positionIndex != null) {
+            for (int i = start; i < size; i++)
+                positionIndex.onAppend(elementData[i], i);
+        }
+    }
+
     /**
      * Вставляет все элементы из передаваемой коллекции по указанной позиции в список.
      * Сдвигает все элементы после указанной вправо, новые элементы добавляются согласно порядку,
@@ -441,16 +1608,118 @@ public class MyArrayList<E> implements Collection<E> {
     public boolean addAll(int index, Collection<? extends E> c) {
         Objects.checkIndex(index, size);
 
-        Object[] arr = c.toArray();
-        int numNew = arr.length;
+        Object[] arr;
+        int numNew;
+        if (c instanceof MyArrayList<? extends E> source && source != this) {
+            source.closeGap();
+            arr = source.elementData;
+            numNew = source.size;
+        } else {
+            arr = c.toArray();
+            numNew = arr.length;
+        }
+        closeGap();
+        modCount++;
         if (numNew == 0)
             return false;
         if (numNew > elementData.length - size)
             elementData = grow(size + numNew);
         int numMoved = size - index;
+        if (ListStats.enabled)
+            ListStats.recordCopy(numMoved + numNew);
         if (numMoved > 0)
             System.arraycopy(elementData, index, elementData, index + numNew, numMoved);
         System.arraycopy(arr, 0, elementData, index, numNew);
+        invalidatePositionIndex();
+        size += numNew;
+        return true;
+    }
+
+    /**
+     * Вставляет несколько элементов в разные позиции списка за один проход. Элемент values[j] вставляется
+     * перед элементом, который до вставки находился по индексу sortedIndexes[j] (индекс size означает
+     * конец списка), элементы с одинаковым индексом вставляются в порядке следования в values.
+     * Ёмкость увеличивается один раз, затем массив обходится от конца к началу, и каждый элемент
+     * сдвигается сразу на своё окончательное место, поэтому вставка k элементов стоит O(n + k)
+     * вместо O(n * k) при вызовах add(int, E)
+     *
+     * @param sortedIndexes неубывающие индексы вставки в списке до вставки
+     * @param values        вставляемые элементы
+     * @return true, если список изменился
+     * @throws NullPointerException      если индексы или элементы не инициализированы
+     * @throws IllegalArgumentException  если количество индексов и элементов различается
+     *                                   или индексы не упорядочены по неубыванию
+     * @throws IndexOutOfBoundsException если индекс выходит за пределы размера списка, или он отрицательный
+     */
+    public boolean insertAll(int[] sortedIndexes, E[] values) {
+        return insertAllFrom(sortedIndexes, values);
+    }
+
+    /**
+     * Вставляет несколько элементов в разные позиции списка за один проход (см. insertAll с массивом).
+     * Элементы вставляются в порядке итерации коллекции
+     *
+     * @param sortedIndexes неубывающие индексы вставки в списке до вставки
+     * @param values        вставляемые элементы
+     * @return true, если список изменился
+     * @throws NullPointerException      если индексы или элементы не инициализированы
+     * @throws IllegalArgumentException  если количество индексов и элементов различается
+     *                                   или индексы не упорядочены по неубыванию
+     * @throws IndexOutOfBoundsException если индекс выходит за пределы размера списка, или он отрицательный
+     */
+    public boolean insertAll(int[] sortedIndexes, Collection<? extends E> values) {
+        return insertAllFrom(sortedIndexes, values.toArray());
+    }
+
+    /**
+     * Вставляет элементы массива в позиции списка одним обратным проходом. Все аргументы проверяются
+     * до изменения списка
+     *
+     * @param sortedIndexes неубывающие индексы вставки
+     * @param values        вставляемые элементы
+     * @return true, если список изменился
+     */
+    private boolean insertAllFrom(int[] sortedIndexes, Object[] values) {
+        final int numNew = values.length;
+        if (sortedIndexes.length != numNew)
+            throw new IllegalArgumentException("Indexes and values have different lengths: "
+                    + sortedIndexes.length + " and " + numNew);
+        for (int j = 0; j < numNew; j++) {
+            int index = sortedIndexes[j];
+            if (index > size || index < 0)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            if (j > 0 && index < sortedIndexes[j - 1])
+                throw new IllegalArgumentException("Indexes are not sorted at position " + j);
+        }
+        closeGap();
+        modCount++;
+        if (numNew == 0)
+            return false;
+        if (numNew > elementData.length - size)
+            elementData = grow(size + numNew);
+        final Object[] es = elementData;
+        if (ListStats.enabled)
+            ListStats.recordCopy(size - sortedIndexes[0] + numNew);
+        int r = size;
+        int w = size + numNew;
+        for (int j = numNew - 1; j >= 0; j--) {
+            int index = sortedIndexes[j];
+            int moved = r - index;
+            if (moved > 0) {
+                w -= moved;
+                System.arraycopy(es, index, es, w, moved);
+                r = index;
+            }
+            es[--w] = values[j];
+        }
+        if (positionIndex != null) {
+            if (sortedIndexes[0] == size) {
+                for (int i = size; i < size + numNew; i++)
+                    positionIndex.onAppend(es[i], i);
+            } else {
+                positionIndex.invalidate();
+            }
+        }
         size += numNew;
         return true;
     }
@@ -461,6 +1730,7 @@ public class MyArrayList<E> implements Collection<E> {
      * @return массив, содержащий все элементы списка
      */
     public Object[] toArray() {
+        closeGap();
         return Arrays.copyOf(elementData, size);
     }
 
@@ -479,6 +1749,7 @@ public class MyArrayList<E> implements Collection<E> {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T[] toArray(T[] a) {
+        closeGap();
         if (a.length < size)
             return (T[]) Arrays.copyOf(elementData, size, a.getClass());
         System.arraycopy(elementData, 0, a, 0, size);
@@ -493,6 +1764,10 @@ public class MyArrayList<E> implements Collection<E> {
      * наличие предыдущего элемента; предыдущий элемент; индекс следующего элемента;
      * индекс предыдущего элемента; удаление элемента; вставка (замена) элемента;
      * добавление элемента.
+     *
+     * <p>
+     * Итератор отказоустойчивый (fail-fast): если список был структурно изменён не через этот итератор,
+     * следующее обращение к итератору выбросит ConcurrentModificationException
      */
     private class MyArrayListIterator implements ListIterator<E> {
 
@@ -507,6 +1782,11 @@ public class MyArrayList<E> implements Collection<E> {
          */
         int lastRet = -1;
 
+        /**
+         * Значение modCount, которое итератор ожидает увидеть у списка
+         */
+        int expectedModCount = modCount;
+
         /**
          * Конструктор итератора
          *
@@ -523,26 +1803,30 @@ public class MyArrayList<E> implements Collection<E> {
          */
         @Override
         public boolean hasNext() {
-            return cursor != size();
+            return cursor != size;
         }
 
         /**
-         * Возвращает следующий элемент списка
+         * Возвращает следующий элемент списка, читая его напрямую из массива
          *
          * @return следующий элемент списка
-         * @throws NoSuchElementException если курсор дошел до конца списка
+         * @throws NoSuchElementException          если курсор дошел до конца списка
+         * @throws ConcurrentModificationException если список был структурно изменён не через итератор
          */
         @Override
+        @SuppressWarnings("unchecked")
         public E next() {
-            try {
-                int i = cursor;
-                E next = get(i);
-                lastRet = i;
-                cursor = i + 1;
-                return next;
-            } catch (IndexOutOfBoundsException e) {
-                throw new NoSuchElementException(e);
-            }
+            checkForComodification();
+            int i = cursor;
+            if (i >= size)
+                throw new NoSuchElementException();
+            Object[] es = elementData;
+            int p = physicalIndex(i);
+            if (p >= es.length)
+                throw new ConcurrentModificationException();
+            cursor = i + 1;
+            lastRet = i;
+            return (E) es[p];
         }
 
         /**
@@ -556,21 +1840,26 @@ public class MyArrayList<E> implements Collection<E> {
         }
 
         /**
-         * Возвращает предыдущий элемент списка
+         * Возвращает предыдущий элемент списка, читая его напрямую из массива
          *
          * @return предыдущий элемент списка
-         * @throws NoSuchElementException если курсор указывает на первый элемент списка
+         * @throws NoSuchElementException          если курсор указывает на первый элемент списка
+         * @throws ConcurrentModificationException если список был структурно изменён не через итератор
          */
         @Override
+        @SuppressWarnings("unchecked")
         public E previous() {
-            try {
-                int i = cursor - 1;
-                E previous = get(i);
-                lastRet = cursor = i;
-                return previous;
-            } catch (IndexOutOfBoundsException e) {
-                throw new NoSuchElementException(e);
-            }
+            checkForComodification();
+            int i = cursor - 1;
+            if (i < 0)
+                throw new NoSuchElementException();
+            Object[] es = elementData;
+            int p = physicalIndex(i);
+            if (p >= es.length)
+                throw new ConcurrentModificationException();
+            cursor = i;
+            lastRet = i;
+            return (E) es[p];
         }
 
         /**
@@ -598,18 +1887,19 @@ public class MyArrayList<E> implements Collection<E> {
          *
          * @throws IllegalStateException           если курсор не вернул элемент через next или previous,
          *                                         или он уже был удалён remove
-         * @throws ConcurrentModificationException если последний возвращённый элемент выходит за границы списка,
-         *                                         т.е. размер списка был изменён
+         * @throws ConcurrentModificationException если список был структурно изменён не через итератор
          */
         @Override
         public void remove() {
             if (lastRet < 0)
                 throw new IllegalStateException();
+            checkForComodification();
             try {
                 MyArrayList.this.remove(lastRet);
                 if (lastRet < cursor)
                     cursor--;
                 lastRet = -1;
+                expectedModCount = modCount;
             } catch (IndexOutOfBoundsException e) {
                 throw new ConcurrentModificationException();
             }
@@ -621,13 +1911,13 @@ public class MyArrayList<E> implements Collection<E> {
          * @param e передаваемый элемент который нужно вставить в список
          * @throws IllegalStateException           если курсор не вернул элемент через next или previous,
          *                                         или он уже был удалён remove
-         * @throws ConcurrentModificationException если последний возвращённый элемент выходит за границы списка,
-         *                                         т.е. размер списка был изменён
+         * @throws ConcurrentModificationException если список был структурно изменён не через итератор
          */
         @Override
         public void set(E e) {
             if (lastRet < 0)
                 throw new IllegalStateException();
+            checkForComodification();
             try {
                 MyArrayList.this.set(lastRet, e);
             } catch (IndexOutOfBoundsException ex) {
@@ -639,20 +1929,331 @@ public class MyArrayList<E> implements Collection<E> {
          * Добавляет элемент в список по индексу, на который указывает курсор
          *
          * @param e передаваемый элемент для добавления в список
-         * @throws ConcurrentModificationException если курсор выходит за границы списка,
-         *                                         т.е. размер списка был изменён
+         * @throws ConcurrentModificationException если список был структурно изменён не через итератор
          */
         @Override
         public void add(E e) {
+            checkForComodification();
             try {
                 int i = cursor;
                 MyArrayList.this.add(i, e);
                 lastRet = -1;
                 cursor = i + 1;
+                expectedModCount = modCount;
             } catch (IndexOutOfBoundsException ex) {
                 throw new ConcurrentModificationException();
             }
         }
+
+        /**
+         * Проверяет, что список не был структурно изменён не через итератор
+         *
+         * @throws ConcurrentModificationException если список был структурно изменён не через итератор
+         */
+        final void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Spliterator списка, работающий с диапазоном индексов массива elementData.
+     * Граница диапазона определяется при первом использовании, поэтому элементы, добавленные
+     * в список до начала обхода, тоже будут пройдены. Структурное изменение списка во время обхода
+     * обнаруживается по modCount после обработки элементов
+     */
+    private class MyArrayListSpliterator implements Spliterator<E> {
+
+        /**
+         * Индекс элемента, который будет обработан следующим
+         */
+        private int index;
+
+        /**
+         * Индекс, следующий за последним элементом диапазона, -1 до первого использования
+         */
+        private int fence;
+
+        /**
+         * Значение modCount, которое Spliterator ожидает увидеть у списка, задаётся вместе с границей диапазона
+         */
+        private int expectedModCount;
+
+        /**
+         * Конструктор Spliterator для диапазона индексов
+         *
+         * @param origin           начальный индекс (включительно)
+         * @param fence            конечный индекс (не включительно), -1 если диапазон заканчивается концом списка
+         * @param expectedModCount ожидаемое значение modCount
+         */
+        MyArrayListSpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        /**
+         * Возвращает конечный индекс диапазона, при первом вызове устанавливает его равным размеру списка
+         *
+         * @return конечный индекс диапазона (не включительно)
+         */
+        private int getFence() {
+            int hi;
+            if ((hi = fence) < 0) {
+                closeGap();
+                expectedModCount = modCount;
+                hi = fence = size;
+            }
+            return hi;
+        }
+
+        /**
+         * Делит диапазон пополам, возвращая Spliterator для первой половины
+         *
+         * @return Spliterator для первой половины диапазона, null если диапазон слишком мал для деления
+         */
+        @Override
+        public Spliterator<E> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null : new MyArrayListSpliterator(lo, index = mid, expectedModCount);
+        }
+
+        /**
+         * Обрабатывает следующий элемент диапазона
+         *
+         * @param action действие над элементом
+         * @return true, если элемент был обработан, false если диапазон закончился
+         * @throws NullPointerException если действие не инициализировано
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            int hi = getFence();
+            int i = index;
+            if (i < hi) {
+                index = i + 1;
+                action.accept((E) elementData[i]);
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Обрабатывает все оставшиеся элементы диапазона, читая их напрямую из массива
+         *
+         * @param action действие над элементами
+         * @throws NullPointerException            если действие не инициализировано
+         * @throws ConcurrentModificationException если список был структурно изменён во время обхода
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            int hi = getFence();
+            int i = index;
+            Object[] es = elementData;
+            if (hi > es.length)
+                throw new ConcurrentModificationException();
+            index = hi;
+            for (; i < hi; i++)
+                action.accept((E) es[i]);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        /**
+         * Возвращает количество оставшихся элементов диапазона
+         *
+         * @return количество оставшихся элементов
+         */
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        /**
+         * Возвращает характеристики Spliterator
+         *
+         * @return ORDERED, SIZED и SUBSIZED
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * Представление части списка. Хранит смещение и размер части, элементы читаются и записываются
+     * в массиве списка. Структурные изменения выполняются методами списка, после чего размер
+     * и modCount обновляются у представления и у всех представлений, из которых оно получено
+     */
+    private class SubList extends AbstractList<E> implements RandomAccess {
+
+        /**
+         * Представление, из которого получено это представление, null если оно получено из списка
+         */
+        private final SubList parent;
+
+        /**
+         * Индекс первого элемента представления в списке
+         */
+        private final int offset;
+
+        /**
+         * Количество элементов представления
+         */
+        private int size;
+
+        /**
+         * Конструктор представления
+         *
+         * @param parent    представление, из которого получено это представление, или null
+         * @param fromIndex индекс первого элемента в списке
+         * @param toIndex   индекс, следующий за последним элементом в списке
+         */
+        SubList(SubList parent, int fromIndex, int toIndex) {
+            this.parent = parent;
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.modCount = MyArrayList.this.modCount;
+        }
+
+        /**
+         * Возвращает элемент представления по индексу
+         *
+         * @param index индекс элемента в представлении
+         * @return элемент представления
+         * @throws IndexOutOfBoundsException       если index выходит за пределы представления
+         * @throws ConcurrentModificationException если список был структурно изменён не через представление
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            return (E) elementData[physicalIndex(offset + index)];
+        }
+
+        /**
+         * Заменяет элемент представления по индексу
+         *
+         * @param index   индекс элемента в представлении
+         * @param element новый элемент
+         * @return заменённый элемент
+         * @throws IndexOutOfBoundsException       если index выходит за пределы представления
+         * @throws ConcurrentModificationException если список был структурно изменён не через представление
+         */
+        @Override
+        public E set(int index, E element) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            return MyArrayList.this.set(offset + index, element);
+        }
+
+        /**
+         * Возвращает количество элементов представления
+         *
+         * @return количество элементов
+         * @throws ConcurrentModificationException если список был структурно изменён не через представление
+         */
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        /**
+         * Вставляет элемент в представление по индексу
+         *
+         * @param index   индекс в представлении
+         * @param element вставляемый элемент
+         * @throws IndexOutOfBoundsException       если index выходит за пределы представления
+         * @throws ConcurrentModificationException если список был структурно изменён не через представление
+         */
+        @Override
+        public void add(int index, E element) {
+            if (index < 0 || index > size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            checkForComodification();
+            MyArrayList.this.add(offset + index, element);
+            updateSizeAndModCount(1);
+        }
+
+        /**
+         * Удаляет элемент представления по индексу
+         *
+         * @param index индекс элемента в представлении
+         * @return удалённый элемент
+         * @throws IndexOutOfBoundsException       если index выходит за пределы представления
+         * @throws ConcurrentModificationException если список был структурно изменён не через представление
+         */
+        @Override
+        public E remove(int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            E oldValue = MyArrayList.this.remove(offset + index);
+            updateSizeAndModCount(-1);
+            return oldValue;
+        }
+
+        /**
+         * Удаляет элементы представления с индексами от fromIndex до toIndex одним вызовом removeRange списка
+         *
+         * @param fromIndex индекс первого удаляемого элемента в представлении
+         * @param toIndex   индекс, следующий за последним удаляемым элементом в представлении
+         * @throws ConcurrentModificationException если список был структурно изменён не через представление
+         */
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            Objects.checkFromToIndex(fromIndex, toIndex, size);
+            checkForComodification();
+            MyArrayList.this.removeRange(offset + fromIndex, offset + toIndex);
+            updateSizeAndModCount(fromIndex - toIndex);
+        }
+
+        /**
+         * Возвращает представление части этого представления
+         *
+         * @param fromIndex индекс первого элемента в этом представлении
+         * @param toIndex   индекс, следующий за последним элементом в этом представлении
+         * @return представление части представления
+         * @throws IndexOutOfBoundsException если диапазон выходит за пределы представления
+         */
+        @Override
+        public List<E> subList(int fromIndex, int toIndex) {
+            Objects.checkFromToIndex(fromIndex, toIndex, size);
+            checkForComodification();
+            return new SubList(this, offset + fromIndex, offset + toIndex);
+        }
+
+        /**
+         * Проверяет, что список не был структурно изменён не через представление
+         *
+         * @throws ConcurrentModificationException если список был структурно изменён
+         */
+        private void checkForComodification() {
+            if (MyArrayList.this.modCount != modCount)
+                throw new ConcurrentModificationException();
+        }
+
+        /**
+         * Обновляет размер и modCount этого представления и всех представлений, из которых оно получено
+         *
+         * @param sizeChange изменение размера
+         */
+        private void updateSizeAndModCount(int sizeChange) {
+            SubList view = this;
+            do {
+                view.size += sizeChange;
+                view.modCount = MyArrayList.this.modCount;
+                view = view.parent;
+            } while (view != null);
+        }
     }
 
 }
@@ -0,0 +1,120 @@
+package org.example;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Параллельная обработка диапазона индексов массива в пуле ForkJoinPool. Диапазон [0, n) рекурсивно
+ * делится пополам, пока размер части больше зерна, части обрабатываются функцией leaf, а результаты
+ * соседних частей объединяются слева направо.
+ *
+ * <p>
+ * Зерно зависит только от размера диапазона: не меньше MIN_GRAIN и такое, чтобы частей было не больше
+ * MAX_LEAVES. Поэтому разбиение на части и порядок объединения результатов не зависят от пула
+ * и распределения задач по потокам, и результат детерминирован. Границы частей кратны 64, поэтому
+ * части могут без синхронизации записывать в разные слова общей битовой карты long[]
+ */
+final class ParallelBulk {
+
+    /**
+     * Наименьший размер части
+     */
+    static final int MIN_GRAIN = 1 << 8;
+
+    /**
+     * Наибольшее количество частей
+     */
+    static final int MAX_LEAVES = 1 << 8;
+
+    private ParallelBulk() {
+    }
+
+    /**
+     * Обработка части диапазона
+     *
+     * @param <R> тип результата
+     */
+    @FunctionalInterface
+    interface Leaf<R> {
+
+        /**
+         * Обрабатывает часть диапазона
+         *
+         * @param from начало части (включительно)
+         * @param to   конец части (не включительно)
+         * @return результат обработки части
+         */
+        R apply(int from, int to);
+    }
+
+    /**
+     * Возвращает зерно для диапазона указанного размера
+     *
+     * @param n размер диапазона
+     * @return размер части, начиная с которого часть обрабатывается последовательно
+     */
+    static int grain(int n) {
+        return Math.max(MIN_GRAIN, (n + MAX_LEAVES - 1) / MAX_LEAVES);
+    }
+
+    /**
+     * Обрабатывает диапазон [0, n). Диапазон не больше зерна обрабатывается в текущем потоке
+     *
+     * @param n        размер диапазона
+     * @param pool     пул потоков
+     * @param leaf     обработка части
+     * @param combiner объединение результатов левой и правой частей
+     * @param <R>      тип результата
+     * @return объединённый результат
+     */
+    static <R> R invoke(int n, ForkJoinPool pool, Leaf<R> leaf, BinaryOperator<R> combiner) {
+        int grain = grain(n);
+        if (n <= grain)
+            return leaf.apply(0, n);
+        return pool.invoke(new RangeTask<>(0, n, grain, leaf, combiner));
+    }
+
+    /**
+     * Объединение результатов обработки без результата
+     *
+     * @param left  результат левой части
+     * @param right результат правой части
+     * @return null
+     */
+    static Void none(Void left, Void right) {
+        return null;
+    }
+
+    /**
+     * Задача обработки части диапазона [from, to)
+     */
+    @SuppressWarnings("serial")
+    private static final class RangeTask<R> extends RecursiveTask<R> {
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final Leaf<R> leaf;
+        private final BinaryOperator<R> combiner;
+
+        RangeTask(int from, int to, int grain, Leaf<R> leaf, BinaryOperator<R> combiner) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= grain)
+                return leaf.apply(from, to);
+            int mid = (from + ((to - from) >>> 1)) & ~63;
+            RangeTask<R> left = new RangeTask<>(from, mid, grain, leaf, combiner);
+            left.fork();
+            R right = new RangeTask<>(mid, to, grain, leaf, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+}
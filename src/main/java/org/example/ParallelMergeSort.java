@@ -0,0 +1,196 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Параллельная сортировка слиянием массива в пуле ForkJoinPool.
+ * Массив рекурсивно делится пополам, пока размер части не станет меньше порога, части сортируются
+ * последовательно, а затем попарно сливаются. Слияние больших частей также выполняется параллельно.
+ *
+ * <p>
+ * Слияние устойчиво, поэтому устойчивость всей сортировки определяется последовательной сортировкой частей:
+ * устойчивая сортировка использует сортировку слиянием, неустойчивая - быструю сортировку MyArrayList
+ */
+final class ParallelMergeSort {
+
+    /**
+     * Стандартный размер части массива, начиная с которого сортировка выполняется последовательно
+     */
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private ParallelMergeSort() {
+    }
+
+    /**
+     * Сортирует весь массив
+     *
+     * @param a         сортируемый массив
+     * @param c         Comparator используемый для сравнения элементов
+     * @param stable    true, если равные элементы должны сохранить свой взаимный порядок
+     * @param pool      пул потоков, в котором выполняется сортировка
+     * @param threshold размер части массива, начиная с которого сортировка выполняется последовательно
+     */
+    static void sort(Object[] a, Comparator<?> c, boolean stable, ForkJoinPool pool, int threshold) {
+        int n = a.length;
+        if (n <= threshold || pool.getParallelism() == 1) {
+            sequentialSort(a, 0, n, c, stable);
+            return;
+        }
+        pool.invoke(new SortTask(a, new Object[n], 0, n, c, stable, threshold));
+    }
+
+    /**
+     * Последовательно сортирует часть массива
+     *
+     * @param a      сортируемый массив
+     * @param from   начальная позиция (включительно)
+     * @param to     конечная позиция (не включительно)
+     * @param c      Comparator используемый для сравнения элементов
+     * @param stable true, если равные элементы должны сохранить свой взаимный порядок
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void sequentialSort(Object[] a, int from, int to, Comparator c, boolean stable) {
+        if (stable) {
+            Arrays.sort(a, from, to, c);
+        } else {
+            MyArrayList.quickSort(a, from, to - 1, c);
+        }
+    }
+
+    /**
+     * Задача сортировки части массива [from, to). Результат сортировки находится в массиве a,
+     * массив buffer используется для слияния
+     */
+    @SuppressWarnings("serial")
+    private static final class SortTask extends RecursiveAction {
+
+        private final Object[] a;
+        private final Object[] buffer;
+        private final int from;
+        private final int to;
+        private final Comparator<?> c;
+        private final boolean stable;
+        private final int threshold;
+
+        SortTask(Object[] a, Object[] buffer, int from, int to, Comparator<?> c, boolean stable, int threshold) {
+            this.a = a;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.c = c;
+            this.stable = stable;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                sequentialSort(a, from, to, c, stable);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(a, buffer, from, mid, c, stable, threshold),
+                    new SortTask(a, buffer, mid, to, c, stable, threshold));
+            System.arraycopy(a, from, buffer, from, to - from);
+            new MergeTask(buffer, from, mid, mid, to, a, from, c, threshold).invoke();
+        }
+    }
+
+    /**
+     * Задача устойчивого слияния двух отсортированных частей [leftFrom, leftTo) и [rightFrom, rightTo)
+     * массива src в массив dst, начиная с позиции dstFrom. Левая часть должна предшествовать правой в исходном
+     * порядке, тогда при равенстве элементов первым берётся элемент левой части.
+     *
+     * <p>
+     * Большие слияния делятся на два независимых: большая часть делится пополам, а граница в меньшей части
+     * находится двоичным поиском. Части из одного элемента пополам не делятся, поэтому их слияние
+     * всегда выполняется последовательно, даже если порог меньше двух
+     */
+    @SuppressWarnings("serial")
+    private static final class MergeTask extends RecursiveAction {
+
+        private final Object[] src;
+        private final int leftFrom;
+        private final int leftTo;
+        private final int rightFrom;
+        private final int rightTo;
+        private final Object[] dst;
+        private final int dstFrom;
+        private final Comparator<?> c;
+        private final int threshold;
+
+        MergeTask(Object[] src, int leftFrom, int leftTo, int rightFrom, int rightTo,
+                  Object[] dst, int dstFrom, Comparator<?> c, int threshold) {
+            this.src = src;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.dst = dst;
+            this.dstFrom = dstFrom;
+            this.c = c;
+            this.threshold = threshold;
+        }
+
+        @Override
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        protected void compute() {
+            int leftSize = leftTo - leftFrom;
+            int rightSize = rightTo - rightFrom;
+            Comparator cmp = c;
+            if (leftSize + rightSize <= threshold || Math.max(leftSize, rightSize) <= 1) {
+                merge(cmp);
+                return;
+            }
+            int leftSplit;
+            int rightSplit;
+            if (leftSize >= rightSize) {
+                leftSplit = (leftFrom + leftTo) >>> 1;
+                Object pivot = src[leftSplit];
+                int lo = rightFrom;
+                int hi = rightTo;
+                while (lo < hi) {
+                    int m = (lo + hi) >>> 1;
+                    if (cmp.compare(src[m], pivot) < 0) lo = m + 1;
+                    else hi = m;
+                }
+                rightSplit = lo;
+            } else {
+                rightSplit = (rightFrom + rightTo) >>> 1;
+                Object pivot = src[rightSplit];
+                int lo = leftFrom;
+                int hi = leftTo;
+                while (lo < hi) {
+                    int m = (lo + hi) >>> 1;
+                    if (cmp.compare(src[m], pivot) <= 0) lo = m + 1;
+                    else hi = m;
+                }
+                leftSplit = lo;
+            }
+            int secondDstFrom = dstFrom + (leftSplit - leftFrom) + (rightSplit - rightFrom);
+            invokeAll(new MergeTask(src, leftFrom, leftSplit, rightFrom, rightSplit, dst, dstFrom, c, threshold),
+                    new MergeTask(src, leftSplit, leftTo, rightSplit, rightTo, dst, secondDstFrom, c, threshold));
+        }
+
+        /**
+         * Последовательное устойчивое слияние
+         *
+         * @param cmp Comparator используемый для сравнения элементов
+         */
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private void merge(Comparator cmp) {
+            int i = leftFrom;
+            int j = rightFrom;
+            int k = dstFrom;
+            while (i < leftTo && j < rightTo) {
+                if (cmp.compare(src[j], src[i]) < 0) dst[k++] = src[j++];
+                else dst[k++] = src[i++];
+            }
+            if (i < leftTo) System.arraycopy(src, i, dst, k, leftTo - i);
+            if (j < rightTo) System.arraycopy(src, j, dst, k, rightTo - j);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.example;
+
+import java.util.HashMap;
+
+/**
+ * Хеш-индекс позиций элементов MyArrayList. Для каждого различного элемента хранит индекс его первого
+ * и последнего вхождения в список, что позволяет находить элемент за ожидаемое O(1) вместо линейного поиска.
+ *
+ * <p>
+ * Добавление в конец списка и замена элемента обновляют индекс сразу. Операции, сдвигающие позиции многих
+ * элементов (вставка и удаление в середине, сортировка, массовое удаление), помечают индекс устаревшим,
+ * и он перестраивается за один проход при следующем поиске. Элементы должны корректно реализовывать
+ * equals и hashCode и не изменять свой hashCode, пока находятся в списке
+ */
+final class PositionIndex {
+
+    /**
+     * Примерный размер узла HashMap в байтах
+     */
+    private static final long NODE_BYTES = 32;
+
+    /**
+     * Примерный размер массива int[2] с позициями в байтах
+     */
+    private static final long POSITIONS_BYTES = 24;
+
+    /**
+     * Примерный размер ссылки в таблице HashMap в байтах
+     */
+    private static final long REFERENCE_BYTES = 4;
+
+    /**
+     * Позиции элементов: элемент - массив из индекса первого и индекса последнего вхождения
+     */
+    private HashMap<Object, int[]> positions = new HashMap<>();
+
+    /**
+     * true, если индекс устарел и должен быть перестроен перед поиском
+     */
+    private boolean stale;
+
+    /**
+     * Возвращает true, если индекс устарел
+     *
+     * @return true, если индекс устарел
+     */
+    boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Помечает индекс устаревшим
+     */
+    void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Очищает индекс, что соответствует пустому списку
+     */
+    void clear() {
+        positions = new HashMap<>();
+        stale = false;
+    }
+
+    /**
+     * Перестраивает индекс по элементам списка
+     *
+     * @param es   массив элементов списка
+     * @param size размер списка
+     */
+    void rebuild(Object[] es, int size) {
+        HashMap<Object, int[]> rebuilt = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+        for (int i = 0; i < size; i++) {
+            int[] p = rebuilt.get(es[i]);
+            if (p == null)
+                rebuilt.put(es[i], new int[]{i, i});
+            else
+                p[1] = i;
+        }
+        positions = rebuilt;
+        stale = false;
+    }
+
+    /**
+     * Учитывает элемент, добавленный по индексу, который больше индексов всех остальных элементов
+     *
+     * @param e     добавленный элемент
+     * @param index индекс добавленного элемента
+     */
+    void onAppend(Object e, int index) {
+        if (stale)
+            return;
+        int[] p = positions.get(e);
+        if (p == null)
+            positions.put(e, new int[]{index, index});
+        else
+            p[1] = index;
+    }
+
+    /**
+     * Учитывает удаление последнего элемента списка
+     *
+     * @param e     удалённый элемент
+     * @param index индекс удалённого элемента (последний индекс списка)
+     */
+    void onRemoveLast(Object e, int index) {
+        if (stale)
+            return;
+        int[] p = positions.get(e);
+        if (p[0] == index)
+            positions.remove(e);
+        else
+            stale = true;
+    }
+
+    /**
+     * Учитывает замену элемента по индексу
+     *
+     * @param oldValue заменённый элемент
+     * @param newValue новый элемент
+     * @param index    индекс замены
+     */
+    void onSet(Object oldValue, Object newValue, int index) {
+        if (stale)
+            return;
+        int[] p = positions.get(oldValue);
+        if (p[0] == index && p[1] == index) {
+            positions.remove(oldValue);
+        } else if (p[0] == index || p[1] == index) {
+            stale = true;
+            return;
+        }
+        p = positions.get(newValue);
+        if (p == null) {
+            positions.put(newValue, new int[]{index, index});
+        } else {
+            p[0] = Math.min(p[0], index);
+            p[1] = Math.max(p[1], index);
+        }
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента. Индекс не должен быть устаревшим
+     *
+     * @param o искомый элемент
+     * @return индекс первого вхождения, -1 если элемента нет
+     */
+    int firstIndex(Object o) {
+        int[] p = positions.get(o);
+        return p == null ? -1 : p[0];
+    }
+
+    /**
+     * Возвращает индекс последнего вхождения элемента. Индекс не должен быть устаревшим
+     *
+     * @param o искомый элемент
+     * @return индекс последнего вхождения, -1 если элемента нет
+     */
+    int lastIndex(Object o) {
+        int[] p = positions.get(o);
+        return p == null ? -1 : p[1];
+    }
+
+    /**
+     * Оценивает объём памяти, занимаемый индексом: узлы HashMap, массивы позиций и таблицу HashMap
+     *
+     * @return примерный размер индекса в байтах
+     */
+    long memoryBytes() {
+        long entries = positions.size();
+        long table = Integer.highestOneBit((int) Math.max(16, entries * 4 / 3)) * 2L;
+        return entries * (NODE_BYTES + POSITIONS_BYTES) + table * REFERENCE_BYTES;
+    }
+}
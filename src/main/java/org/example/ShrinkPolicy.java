@@ -0,0 +1,63 @@
+package org.example;
+
+/**
+ * Политика уменьшения ёмкости MyArrayList после удаления элементов. Вычисляет новую ёмкость массива
+ * по текущей ёмкости и размеру списка. Если политика вернёт значение меньше размера списка,
+ * ёмкость уменьшится только до размера списка, если вернёт текущую ёмкость - массив не изменится.
+ *
+ * <p>
+ * Стандартная политика halving уменьшает ёмкость вдвое, пока заполнение массива ниже заданной доли.
+ * Доля меньше половины даёт гистерезис: после уменьшения массив заполнен не больше чем на 2 * fraction,
+ * поэтому чередование добавлений и удалений около границы не приводит к постоянному копированию массива
+ */
+@FunctionalInterface
+public interface ShrinkPolicy {
+
+    /**
+     * Стандартная ёмкость, меньше которой политика halving не уменьшает массив
+     */
+    int DEFAULT_MIN_CAPACITY = 10;
+
+    /**
+     * Вычисляет новую ёмкость списка после удаления элементов
+     *
+     * @param capacity текущая ёмкость списка
+     * @param size     размер списка после удаления
+     * @return новая ёмкость списка
+     */
+    int newCapacity(int capacity, int size);
+
+    /**
+     * Возвращает политику уменьшения ёмкости вдвое, пока размер списка меньше fraction от ёмкости.
+     * Ёмкость не уменьшается ниже DEFAULT_MIN_CAPACITY
+     *
+     * @param fraction доля заполнения массива, ниже которой ёмкость уменьшается
+     * @return политика уменьшения ёмкости вдвое
+     * @throws IllegalArgumentException если доля не больше 0 или не меньше 0.5
+     */
+    static ShrinkPolicy halving(double fraction) {
+        return halving(fraction, DEFAULT_MIN_CAPACITY);
+    }
+
+    /**
+     * Возвращает политику уменьшения ёмкости вдвое, пока размер списка меньше fraction от ёмкости
+     * и ёмкость не меньше minCapacity
+     *
+     * @param fraction    доля заполнения массива, ниже которой ёмкость уменьшается
+     * @param minCapacity ёмкость, меньше которой массив не уменьшается
+     * @return политика уменьшения ёмкости вдвое
+     * @throws IllegalArgumentException если доля не больше 0 или не меньше 0.5, или minCapacity отрицательная
+     */
+    static ShrinkPolicy halving(double fraction, int minCapacity) {
+        if (!(fraction > 0 && fraction < 0.5))
+            throw new IllegalArgumentException("Illegal fraction: " + fraction);
+        if (minCapacity < 0)
+            throw new IllegalArgumentException("Illegal min capacity: " + minCapacity);
+        return (capacity, size) -> {
+            int newCapacity = capacity;
+            while (size < newCapacity * fraction && newCapacity / 2 >= minCapacity && newCapacity > 1)
+                newCapacity /= 2;
+            return newCapacity;
+        };
+    }
+}
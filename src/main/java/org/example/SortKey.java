@@ -0,0 +1,158 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ключ сортировки для MyArrayList.sortBy. Ключ вычисляется один раз для каждого элемента и сохраняется
+ * в массиве int, после чего при сортировке сравниваются только числа. Целочисленные ключи и значения
+ * перечислений сохраняются как есть, а для остальных значений (например, строк) вычисляется ранг -
+ * номер значения среди различных значений ключа в порядке компаратора
+ *
+ * @param <E> тип элементов, для которых вычисляется ключ
+ */
+public final class SortKey<E> {
+
+    /**
+     * Вычисление ключей для элементов массива
+     */
+    private interface Extractor {
+
+        /**
+         * Вычисляет ключи первых n элементов массива
+         *
+         * @param es массив элементов
+         * @param n  количество элементов
+         * @return массив ключей, ключ i-го элемента находится по индексу i
+         */
+        int[] extract(Object[] es, int n);
+    }
+
+    /**
+     * Вычисление ключей
+     */
+    private final Extractor extractor;
+
+    /**
+     * Конструктор ключа сортировки
+     *
+     * @param extractor вычисление ключей
+     */
+    private SortKey(Extractor extractor) {
+        this.extractor = extractor;
+    }
+
+    /**
+     * Создаёт ключ сортировки по целочисленному значению
+     *
+     * @param keyExtractor функция, вычисляющая значение ключа
+     * @param <E>          тип элементов
+     * @return ключ сортировки
+     * @throws NullPointerException если функция не инициализирована
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> SortKey<E> ofInt(ToIntFunction<? super E> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        return new SortKey<>((es, n) -> {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++)
+                keys[i] = keyExtractor.applyAsInt((E) es[i]);
+            return keys;
+        });
+    }
+
+    /**
+     * Создаёт ключ сортировки по значению перечисления в порядке объявления его констант
+     *
+     * @param keyExtractor функция, возвращающая значение перечисления (не null)
+     * @param <E>          тип элементов
+     * @return ключ сортировки
+     * @throws NullPointerException если функция не инициализирована
+     */
+    public static <E> SortKey<E> ofEnum(Function<? super E, ? extends Enum<?>> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        return ofInt(e -> keyExtractor.apply(e).ordinal());
+    }
+
+    /**
+     * Создаёт ключ сортировки по значению, сравнимому естественным образом. Значения null
+     * располагаются перед остальными
+     *
+     * @param keyExtractor функция, возвращающая значение ключа
+     * @param <E>          тип элементов
+     * @param <U>          тип значения ключа
+     * @return ключ сортировки
+     * @throws NullPointerException если функция не инициализирована
+     */
+    public static <E, U extends Comparable<? super U>> SortKey<E> of(Function<? super E, ? extends U> keyExtractor) {
+        return of(keyExtractor, Comparator.nullsFirst(Comparator.<U>naturalOrder()));
+    }
+
+    /**
+     * Создаёт ключ сортировки по значению, сравниваемому компаратором. Значение ключа каждого элемента
+     * вычисляется один раз, различные значения сортируются, и ключом элемента становится ранг его значения
+     *
+     * @param keyExtractor функция, возвращающая значение ключа
+     * @param comparator   компаратор значений ключа
+     * @param <E>          тип элементов
+     * @param <U>          тип значения ключа
+     * @return ключ сортировки
+     * @throws NullPointerException если функция или компаратор не инициализированы
+     */
+    @SuppressWarnings("unchecked")
+    public static <E, U> SortKey<E> of(Function<? super E, ? extends U> keyExtractor,
+                                       Comparator<? super U> comparator) {
+        Objects.requireNonNull(keyExtractor);
+        Objects.requireNonNull(comparator);
+        return new SortKey<>((es, n) -> {
+            Object[] values = new Object[n];
+            HashMap<Object, Integer> ranks = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                values[i] = keyExtractor.apply((E) es[i]);
+                ranks.putIfAbsent(values[i], 0);
+            }
+            Object[] distinct = ranks.keySet().toArray();
+            Arrays.sort(distinct, (a, b) -> comparator.compare((U) a, (U) b));
+            int rank = 0;
+            for (int i = 0; i < distinct.length; i++) {
+                if (i > 0 && comparator.compare((U) distinct[i - 1], (U) distinct[i]) != 0)
+                    rank++;
+                ranks.put(distinct[i], rank);
+            }
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++)
+                keys[i] = ranks.get(values[i]);
+            return keys;
+        });
+    }
+
+    /**
+     * Возвращает ключ сортировки с обратным порядком
+     *
+     * @return ключ сортировки по убыванию
+     */
+    public SortKey<E> reversed() {
+        Extractor forward = extractor;
+        return new SortKey<>((es, n) -> {
+            int[] keys = forward.extract(es, n);
+            for (int i = 0; i < n; i++)
+                keys[i] = ~keys[i];
+            return keys;
+        });
+    }
+
+    /**
+     * Вычисляет ключи первых n элементов массива
+     *
+     * @param es массив элементов
+     * @param n  количество элементов
+     * @return массив ключей, ключ i-го элемента находится по индексу i
+     */
+    int[] extract(Object[] es, int n) {
+        return extractor.extract(es, n);
+    }
+}
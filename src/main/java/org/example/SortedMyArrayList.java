@@ -0,0 +1,554 @@
+package org.example;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Отсортированный динамический массив, реализующий интерфейс Collection. Элементы хранятся в MyArrayList
+ * и всегда упорядочены компаратором, поэтому сортировать список после добавления не нужно.
+ *
+ * <p>
+ * Позиция нового элемента находится бинарным поиском, после чего элемент вставляется одним сдвигом массива.
+ * Равные элементы располагаются в порядке добавления. Добавление коллекции сортирует её и сливает
+ * с элементами списка за O(n + m). Поиск элемента (binarySearch, contains, indexOf), floor, ceiling
+ * и rangeCount выполняются за O(log n), subRange возвращает представление диапазона без копирования.
+ *
+ * <p>
+ * Итератор поддерживает удаление элементов, изменение и вставка элементов по индексу не поддерживаются,
+ * так как нарушают порядок списка
+ *
+ * @param <E> тип элементов списка
+ */
+public class SortedMyArrayList<E> implements Collection<E> {
+
+    /**
+     * Элементы списка в порядке компаратора
+     */
+    private final MyArrayList<E> list;
+
+    /**
+     * Компаратор, задающий порядок элементов
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * Количество структурных изменений списка, используется представлениями subRange
+     */
+    private int modCount;
+
+    /**
+     * Конструктор пустого списка, упорядоченного по естественному порядку элементов
+     */
+    @SuppressWarnings("unchecked")
+    public SortedMyArrayList() {
+        this((Comparator<? super E>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Конструктор пустого списка, упорядоченного компаратором
+     *
+     * @param comparator компаратор, задающий порядок элементов
+     * @throws NullPointerException если компаратор не инициализирован
+     */
+    public SortedMyArrayList(Comparator<? super E> comparator) {
+        this.comparator = Objects.requireNonNull(comparator);
+        this.list = new MyArrayList<>();
+    }
+
+    /**
+     * Конструктор списка, содержащего элементы передаваемой коллекции, упорядоченного компаратором
+     *
+     * @param c          передаваемая коллекция
+     * @param comparator компаратор, задающий порядок элементов
+     * @throws NullPointerException если коллекция или компаратор не инициализированы
+     */
+    public SortedMyArrayList(Collection<? extends E> c, Comparator<? super E> comparator) {
+        this(comparator);
+        mergeAll(c);
+    }
+
+    /**
+     * Возвращает компаратор, задающий порядок элементов
+     *
+     * @return компаратор списка
+     */
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     *
+     * @return количество элементов в списке
+     */
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    /**
+     * Возвращает true если список пустой
+     *
+     * @return true если список пустой
+     */
+    @Override
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    /**
+     * Возвращает элемент списка по указанной позиции
+     *
+     * @param index индекс (позиция) возвращаемого элемента
+     * @return элемент списка по указанной позиции
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public E get(int index) {
+        return list.get(index);
+    }
+
+    /**
+     * Добавляет элемент в позицию, найденную бинарным поиском, после всех равных ему элементов
+     *
+     * @param e элемент, добавляемый в список
+     * @return true
+     */
+    @Override
+    public boolean add(E e) {
+        list.add(upperBound(e), e);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Добавляет все элементы передаваемой коллекции. Элементы коллекции сортируются (для уже
+     * отсортированной коллекции за линейное время) и сливаются с элементами списка с конца массива
+     * за O(n + m) без вставки элементов по одному
+     *
+     * @param c передаваемая коллекция
+     * @return true, если список изменился
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return mergeAll(c);
+    }
+
+    /**
+     * Сортирует элементы коллекции и сливает их с элементами списка. Вызывается из конструктора,
+     * поэтому не может быть переопределён
+     *
+     * @param c передаваемая коллекция
+     * @return true, если список изменился
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    @SuppressWarnings("unchecked")
+    private boolean mergeAll(Collection<? extends E> c) {
+        Object[] batch = c.toArray();
+        int m = batch.length;
+        if (m == 0)
+            return false;
+        Arrays.sort(batch, (a, b) -> comparator.compare((E) a, (E) b));
+        int n = list.size();
+        list.ensureCapacity(n + m);
+        for (int k = 0; k < m; k++)
+            list.add(null);
+        int i = n - 1;
+        int j = m - 1;
+        for (int k = n + m - 1; j >= 0; k--) {
+            if (i >= 0 && comparator.compare(list.get(i), (E) batch[j]) > 0)
+                list.set(k, list.get(i--));
+            else
+                list.set(k, (E) batch[j--]);
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Выполняет бинарный поиск элемента
+     *
+     * @param key искомый элемент
+     * @return индекс первого элемента, равного key по компаратору, если он есть в списке,
+     * иначе (-(точка вставки) - 1), где точка вставки - индекс первого элемента, большего key
+     */
+    public int binarySearch(E key) {
+        int index = lowerBound(key);
+        if (index < list.size() && comparator.compare(list.get(index), key) == 0)
+            return index;
+        return -index - 1;
+    }
+
+    /**
+     * Возвращает наибольший элемент, меньший или равный передаваемому
+     *
+     * @param key передаваемый элемент
+     * @return наибольший элемент, не больший key, null если такого элемента нет
+     */
+    public E floor(E key) {
+        int index = upperBound(key);
+        return index == 0 ? null : list.get(index - 1);
+    }
+
+    /**
+     * Возвращает наименьший элемент, больший или равный передаваемому
+     *
+     * @param key передаваемый элемент
+     * @return наименьший элемент, не меньший key, null если такого элемента нет
+     */
+    public E ceiling(E key) {
+        int index = lowerBound(key);
+        return index == list.size() ? null : list.get(index);
+    }
+
+    /**
+     * Возвращает количество элементов e, для которых lo <= e < hi
+     *
+     * @param lo нижняя граница диапазона (включительно)
+     * @param hi верхняя граница диапазона (не включительно)
+     * @return количество элементов в диапазоне
+     * @throws IllegalArgumentException если lo больше hi
+     */
+    public int rangeCount(E lo, E hi) {
+        checkRange(lo, hi);
+        return lowerBound(hi) - lowerBound(lo);
+    }
+
+    /**
+     * Возвращает представление элементов e, для которых lo <= e < hi. Представление не копирует элементы
+     * и доступно только для чтения. После структурного изменения списка обращение к представлению
+     * выбрасывает ConcurrentModificationException
+     *
+     * @param lo нижняя граница диапазона (включительно)
+     * @param hi верхняя граница диапазона (не включительно)
+     * @return представление диапазона
+     * @throws IllegalArgumentException если lo больше hi
+     */
+    public List<E> subRange(E lo, E hi) {
+        checkRange(lo, hi);
+        return new SubRange(lowerBound(lo), lowerBound(hi));
+    }
+
+    /**
+     * Проверяет, что нижняя граница диапазона не больше верхней
+     *
+     * @param lo нижняя граница диапазона
+     * @param hi верхняя граница диапазона
+     * @throws IllegalArgumentException если lo больше hi
+     */
+    private void checkRange(E lo, E hi) {
+        if (comparator.compare(lo, hi) > 0)
+            throw new IllegalArgumentException("lo > hi");
+    }
+
+    /**
+     * Возвращает индекс первого элемента, не меньшего передаваемого
+     *
+     * @param key передаваемый элемент
+     * @return индекс первого элемента, не меньшего key, size() если такого элемента нет
+     */
+    private int lowerBound(E key) {
+        int lo = 0;
+        int hi = list.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(list.get(mid), key) < 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Возвращает индекс первого элемента, большего передаваемого
+     *
+     * @param key передаваемый элемент
+     * @return индекс первого элемента, большего key, size() если такого элемента нет
+     */
+    private int upperBound(E key) {
+        int lo = 0;
+        int hi = list.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(list.get(mid), key) <= 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения передаваемого элемента. Элемент ищется бинарным поиском
+     * среди элементов, равных ему по компаратору
+     *
+     * @param o передаваемый элемент
+     * @return индекс передаваемого элемента в списке, -1 если элемента нет
+     * @throws ClassCastException если элемент нельзя сравнить с элементами списка
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOf(Object o) {
+        E key = (E) o;
+        int end = list.size();
+        for (int i = lowerBound(key); i < end && comparator.compare(list.get(i), key) == 0; i++) {
+            if (Objects.equals(o, list.get(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Возвращает true если передаваемый элемент содержится в списке
+     *
+     * @param o передаваемый элемент для проверки наличия в списке
+     * @return true если элемент содержится в списке
+     * @throws ClassCastException если элемент нельзя сравнить с элементами списка
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Возвращает результат проверки того, содержится ли передаваемая коллекция в списке
+     *
+     * @param c передаваемая коллекция
+     * @return true, если все элементы передаваемой коллекции содержатся в списке, иначе false
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object e : c)
+            if (!contains(e))
+                return false;
+        return true;
+    }
+
+    /**
+     * Удаляет элемент из списка по указанной позиции
+     *
+     * @param index индекс (позиция) удаляемого элемента
+     * @return элемент, удалённый из списка
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public E remove(int index) {
+        E oldValue = list.remove(index);
+        modCount++;
+        return oldValue;
+    }
+
+    /**
+     * Удаляет первое вхождение передаваемого элемента
+     *
+     * @param o удаляемый объект
+     * @return true, если элемент удалён, иначе false
+     * @throws ClassCastException если элемент нельзя сравнить с элементами списка
+     */
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Удаляет из списка все элементы, содержащиеся в передаваемой коллекции
+     *
+     * @param c передаваемая коллекция
+     * @return true, если список изменился
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return modified(list.removeAll(c));
+    }
+
+    /**
+     * Оставляет в списке только элементы, содержащиеся в передаваемой коллекции
+     *
+     * @param c передаваемая коллекция
+     * @return true, если список изменился
+     * @throws NullPointerException если передаваемая коллекция не инициализирована
+     */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return modified(list.retainAll(c));
+    }
+
+    /**
+     * Удаляет из списка все элементы, удовлетворяющие передаваемому условию
+     *
+     * @param filter условие, которому должны удовлетворять удаляемые элементы
+     * @return true, если хотя бы один элемент был удалён, иначе false
+     * @throws NullPointerException если передаваемое условие не инициализировано
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return modified(list.removeIf(filter));
+    }
+
+    /**
+     * Увеличивает счётчик изменений, если список изменился
+     *
+     * @param changed true, если список изменился
+     * @return changed
+     */
+    private boolean modified(boolean changed) {
+        if (changed)
+            modCount++;
+        return changed;
+    }
+
+    /**
+     * Очищает список от содержащихся элементов
+     */
+    @Override
+    public void clear() {
+        list.clear();
+        modCount++;
+    }
+
+    /**
+     * Возвращает итератор элементов в порядке компаратора, поддерживающий удаление
+     *
+     * @return итератор списка
+     */
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<E> it = list.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return it.next();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                modCount++;
+            }
+        };
+    }
+
+    /**
+     * Возвращает Spliterator элементов в порядке компаратора
+     *
+     * @return Spliterator списка
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return list.spliterator();
+    }
+
+    /**
+     * Выполняет действие для каждого элемента списка в порядке компаратора
+     *
+     * @param action действие над элементом
+     * @throws NullPointerException если действие не инициализировано
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        list.forEach(action);
+    }
+
+    /**
+     * Возвращает все элементы списка в виде массива
+     *
+     * @return массив, содержащий все элементы списка
+     */
+    @Override
+    public Object[] toArray() {
+        return list.toArray();
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка в порядке компаратора
+     *
+     * @param a   массив, в который должны быть сохранены элементы списка, если он достаточно большой
+     * @param <T> тип элементов массива
+     * @return массив, содержащий все элементы списка
+     */
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return list.toArray(a);
+    }
+
+    /**
+     * Представление диапазона индексов списка только для чтения. Не копирует элементы,
+     * а читает их из списка по индексу
+     */
+    private class SubRange extends AbstractList<E> {
+
+        /**
+         * Индекс первого элемента диапазона в списке
+         */
+        private final int from;
+
+        /**
+         * Индекс, следующий за последним элементом диапазона
+         */
+        private final int to;
+
+        /**
+         * Значение modCount списка на момент создания представления
+         */
+        private final int expectedModCount = SortedMyArrayList.this.modCount;
+
+        /**
+         * Конструктор представления
+         *
+         * @param from индекс первого элемента диапазона (включительно)
+         * @param to   индекс последнего элемента диапазона (не включительно)
+         */
+        SubRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Возвращает элемент диапазона по индексу
+         *
+         * @param index индекс элемента внутри диапазона
+         * @return элемент диапазона
+         * @throws IndexOutOfBoundsException       если index выходит за пределы диапазона
+         * @throws ConcurrentModificationException если список был структурно изменён
+         */
+        @Override
+        public E get(int index) {
+            checkForComodification();
+            Objects.checkIndex(index, to - from);
+            return list.get(from + index);
+        }
+
+        /**
+         * Возвращает количество элементов диапазона
+         *
+         * @return количество элементов диапазона
+         * @throws ConcurrentModificationException если список был структурно изменён
+         */
+        @Override
+        public int size() {
+            checkForComodification();
+            return to - from;
+        }
+
+        /**
+         * Проверяет, что список не был структурно изменён после создания представления
+         *
+         * @throws ConcurrentModificationException если список был структурно изменён
+         */
+        private void checkForComodification() {
+            if (SortedMyArrayList.this.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+}
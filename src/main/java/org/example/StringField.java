@@ -0,0 +1,54 @@
+package org.example;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Строковое поле элемента, которое можно прочитать и заменить. Используется MyArrayList.dedupStrings
+ *
+ * @param <T> тип элемента
+ */
+public interface StringField<T> {
+
+    /**
+     * Возвращает значение поля
+     *
+     * @param o элемент
+     * @return значение поля
+     */
+    String get(T o);
+
+    /**
+     * Устанавливает значение поля
+     *
+     * @param o     элемент
+     * @param value новое значение поля
+     */
+    void set(T o, String value);
+
+    /**
+     * Создаёт поле из геттера и сеттера
+     *
+     * @param getter функция, возвращающая значение поля
+     * @param setter функция, устанавливающая значение поля
+     * @param <T>    тип элемента
+     * @return строковое поле
+     * @throws NullPointerException если геттер или сеттер не инициализированы
+     */
+    static <T> StringField<T> of(Function<? super T, String> getter, BiConsumer<? super T, String> setter) {
+        Objects.requireNonNull(getter);
+        Objects.requireNonNull(setter);
+        return new StringField<>() {
+            @Override
+            public String get(T o) {
+                return getter.apply(o);
+            }
+
+            @Override
+            public void set(T o, String value) {
+                setter.accept(o, value);
+            }
+        };
+    }
+}
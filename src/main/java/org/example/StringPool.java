@@ -0,0 +1,223 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ограниченный пул строк для замены одинаковых строк одним экземпляром (канонизации). Пул - это таблица
+ * фиксированного размера, разбитая на пары ячеек, строка хранится в одной из ячеек пары, выбранной
+ * по её хешу. Если в паре уже лежит равная строка, возвращается она, иначе строка занимает свободную
+ * ячейку пары или вытесняет строку, которая использовалась в паре раньше другой (LRU внутри пары).
+ * Поэтому память пула не растёт, строка, запрашиваемая хотя бы через раз среди строк своей пары,
+ * остаётся в пуле, а две строки с одинаковой парой не вытесняют друг друга.
+ *
+ * <p>
+ * Пул потокобезопасный и не использует блокировок: ячейки читаются и записываются атомарно, а при
+ * одновременной записи в одну ячейку или одновременном обновлении признака последней использованной
+ * ячейки остаётся одно из значений, что влияет только на долю попаданий.
+ * Пул считает попадания, промахи и оценку сэкономленной памяти
+ */
+public final class StringPool {
+
+    /**
+     * Ячейки пула
+     */
+    private final AtomicReferenceArray<String> table;
+
+    /**
+     * Номер последней использованной ячейки каждой пары (0 или 1), вытесняется другая ячейка пары
+     */
+    private final byte[] recent;
+
+    /**
+     * Сдвиг перемешанного хеша, оставляющий номер ячейки
+     */
+    private final int shift;
+
+    /**
+     * Количество попаданий
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Количество промахов
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Оценка сэкономленной памяти в байтах
+     */
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /**
+     * Конструктор пула указанной ёмкости, ёмкость округляется вверх до степени двойки (не меньше двух)
+     *
+     * @param capacity наибольшее количество строк в пуле
+     * @throws IllegalArgumentException если ёмкость не положительная или больше 2^30
+     */
+    public StringPool(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30)
+            throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new AtomicReferenceArray<>(size);
+        this.recent = new byte[size >>> 1];
+        this.shift = Integer.numberOfLeadingZeros(size) + 1;
+    }
+
+    /**
+     * Возвращает экземпляр строки из пула, равный переданной строке. Если равной строки в пуле нет,
+     * строка добавляется в пул и возвращается сама
+     *
+     * @param s строка
+     * @return равная строка из пула, null если строка не инициализирована
+     */
+    public String intern(String s) {
+        if (s == null)
+            return null;
+        int h = s.hashCode();
+        int mixed = h * 0x9E3779B9;
+        int slot = (mixed >>> shift) & ~1;
+        int pair = slot >>> 1;
+        String first = table.get(slot);
+        if (first == null) {
+            table.set(slot, s);
+            touch(pair, 0);
+            misses.increment();
+            return s;
+        }
+        if (matches(first, s, h)) {
+            touch(pair, 0);
+            return hit(first, s);
+        }
+        String second = table.get(slot + 1);
+        if (second != null && matches(second, s, h)) {
+            touch(pair, 1);
+            return hit(second, s);
+        }
+        misses.increment();
+        int victim = second == null ? 1 : recent[pair] ^ 1;
+        table.set(slot + victim, s);
+        touch(pair, victim);
+        return s;
+    }
+
+    /**
+     * Возвращает ёмкость пула
+     *
+     * @return наибольшее количество строк в пуле
+     */
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Возвращает количество попаданий - вызовов intern, нашедших равную строку в пуле
+     *
+     * @return количество попаданий
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Возвращает количество промахов - вызовов intern, добавивших строку в пул
+     *
+     * @return количество промахов
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Возвращает долю попаданий среди всех вызовов intern со строкой
+     *
+     * @return доля попаданий от 0 до 1, 0 если intern не вызывался
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Возвращает оценку памяти, сэкономленной заменой строк экземплярами из пула: сумму размеров
+     * заменённых строк (объект String и массив байт) для 64-битной JVM со сжатыми указателями.
+     * Память освобождается, только если на заменённые строки не осталось других ссылок
+     *
+     * @return оценка сэкономленной памяти в байтах
+     */
+    public long bytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * Удаляет все строки из пула и обнуляет статистику
+     */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++)
+            table.set(i, null);
+        Arrays.fill(recent, (byte) 0);
+        hits.reset();
+        misses.reset();
+        bytesSaved.reset();
+    }
+
+    /**
+     * Отмечает ячейку пары как последнюю использованную. Признак записывается, только если он изменился,
+     * чтобы частые попадания в одну ячейку не записывали в общую память
+     *
+     * @param pair номер пары
+     * @param way  номер ячейки в паре (0 или 1)
+     */
+    private void touch(int pair, int way) {
+        if (recent[pair] != way)
+            recent[pair] = (byte) way;
+    }
+
+    /**
+     * Проверяет, равна ли строка из пула искомой строке
+     *
+     * @param pooled строка из пула
+     * @param s      искомая строка
+     * @param h      хеш искомой строки
+     * @return true, если строки равны
+     */
+    private static boolean matches(String pooled, String s, int h) {
+        return pooled == s || (pooled.hashCode() == h && pooled.equals(s));
+    }
+
+    /**
+     * Учитывает попадание
+     *
+     * @param pooled найденная строка из пула
+     * @param s      искомая строка
+     * @return строка из пула
+     */
+    private String hit(String pooled, String s) {
+        hits.increment();
+        if (pooled != s)
+            bytesSaved.add(estimateBytes(s));
+        return pooled;
+    }
+
+    /**
+     * Оценивает размер строки в памяти: заголовок и поля String (24 байта) и массив байт
+     * (заголовок 16 байт и содержимое с выравниванием по 8 байт). Строка из символов Latin-1
+     * хранится по байту на символ, иначе по два байта
+     *
+     * @param s строка
+     * @return размер строки в байтах
+     */
+    private static long estimateBytes(String s) {
+        int n = s.length();
+        int bytesPerChar = 1;
+        for (int i = 0; i < n; i++) {
+            if (s.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return 24 + ((16L + (long) n * bytesPerChar + 7) & ~7L);
+    }
+}
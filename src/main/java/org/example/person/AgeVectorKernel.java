@@ -0,0 +1,51 @@
+package org.example.person;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Вычисление условий по колонке возрастов с помощью Vector API (модуль jdk.incubator.vector).
+ * Сравнение выполняется сразу для всех элементов вектора, а маска результата переводится в биты
+ * методом VectorMask.toLong. Класс загружается, только если модуль подключён к JVM
+ * (--add-modules jdk.incubator.vector), иначе PersonAgeColumn использует скалярное вычисление
+ */
+final class AgeVectorKernel {
+
+    /**
+     * Предпочтительная для процессора длина вектора int. Количество элементов вектора - степень двойки
+     * не больше 16, поэтому слово битовой карты состоит из целого числа векторов
+     */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private AgeVectorKernel() {
+    }
+
+    /**
+     * Заполняет первые words слов битовой карты: бит i установлен, если ages[i] находится в диапазоне
+     * [minAge, maxAge]
+     *
+     * @param ages   колонка возрастов, не короче words * 64
+     * @param words  количество заполняемых слов
+     * @param minAge наименьший возраст (включительно)
+     * @param maxAge наибольший возраст (включительно)
+     * @param bits   битовая карта результата
+     */
+    static void rangeWords(int[] ages, int words, int minAge, int maxAge, long[] bits) {
+        int lanes = SPECIES.length();
+        IntVector min = IntVector.broadcast(SPECIES, minAge);
+        IntVector max = IntVector.broadcast(SPECIES, maxAge);
+        for (int w = 0; w < words; w++) {
+            int base = w << 6;
+            long word = 0;
+            for (int j = 0; j < 64; j += lanes) {
+                IntVector v = IntVector.fromArray(SPECIES, ages, base + j);
+                VectorMask<Integer> mask = v.compare(VectorOperators.GE, min)
+                        .and(v.compare(VectorOperators.LE, max));
+                word |= mask.toLong() << j;
+            }
+            bits[w] = word;
+        }
+    }
+}
@@ -0,0 +1,514 @@
+package org.example.person;
+
+import org.example.MyArrayList;
+import org.example.person.enums.Sex;
+import org.example.primitive.IntMyArrayList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+
+/**
+ * Список персон, хранящийся в файле и отображаемый в память через FileChannel.map. Записи читаются
+ * из отображения по требованию: get декодирует одну запись, а не весь файл, поэтому открытие файла
+ * стоит столько же, сколько подкачка его страниц и проверка контрольной суммы.
+ *
+ * <p>
+ * Формат файла: заголовок из 32 байт (сигнатура, версия формата, количество записей, конец
+ * области записей и контрольная сумма CRC32C области записей), за которым записи идут подряд.
+ * Запись: возраст (int), пол (byte, порядковый номер Sex или -1), имя и фамилия (длина в байтах или -1
+ * и байты строки в UTF-8). При открытии проверяются сигнатура, версия, контрольная сумма и то, что записи
+ * заканчиваются ровно на конце области записей, поэтому прерванная запись файла обнаруживается.
+ *
+ * <p>
+ * В режиме дозаписи (openForAppend) add дописывает запись в конец отображения, при необходимости увеличивая
+ * файл, и затем обновляет заголовок. Размер файла ограничен 2 ГБ. Список не потокобезопасный
+ */
+public final class MappedPersonList implements Iterable<Person>, Closeable {
+
+    /**
+     * Сигнатура файла
+     */
+    private static final int MAGIC = 0x5052534E;
+
+    /**
+     * Версия формата файла
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Размер заголовка файла в байтах
+     */
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Смещение сигнатуры в заголовке
+     */
+    private static final int MAGIC_OFFSET = 0;
+
+    /**
+     * Смещение версии формата в заголовке
+     */
+    private static final int VERSION_OFFSET = 4;
+
+    /**
+     * Смещение количества записей (long) в заголовке
+     */
+    private static final int COUNT_OFFSET = 8;
+
+    /**
+     * Смещение конца области записей (long) в заголовке
+     */
+    private static final int DATA_END_OFFSET = 16;
+
+    /**
+     * Смещение контрольной суммы CRC32C области записей в заголовке
+     */
+    private static final int CHECKSUM_OFFSET = 24;
+
+    /**
+     * Начальный размер файла, создаваемого в режиме дозаписи
+     */
+    private static final int INITIAL_FILE_SIZE = 4096;
+
+    /**
+     * Значение пола и длины строки для отсутствующего значения
+     */
+    private static final int NULL_VALUE = -1;
+
+    /**
+     * Все значения пола по порядковому номеру
+     */
+    private static final Sex[] SEXES = Sex.values();
+
+    /**
+     * Канал файла
+     */
+    private final FileChannel channel;
+
+    /**
+     * true, если список открыт в режиме дозаписи
+     */
+    private final boolean writable;
+
+    /**
+     * Отображение файла в память
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * Смещения записей от начала файла
+     */
+    private final IntMyArrayList offsets;
+
+    /**
+     * Конец области записей (смещение от начала файла)
+     */
+    private int dataEnd;
+
+    /**
+     * Контрольная сумма области записей, обновляемая при дозаписи
+     */
+    private final CRC32C checksum = new CRC32C();
+
+    /**
+     * true, если список закрыт
+     */
+    private boolean closed;
+
+    /**
+     * Конструктор списка по открытому каналу
+     *
+     * @param channel  канал файла
+     * @param writable true, если список открывается в режиме дозаписи
+     * @throws IOException если файл повреждён или не может быть прочитан
+     */
+    private MappedPersonList(FileChannel channel, boolean writable) throws IOException {
+        this.channel = channel;
+        this.writable = writable;
+        long fileSize = channel.size();
+        if (fileSize > Integer.MAX_VALUE)
+            throw new IOException("File too large: " + fileSize);
+        if (writable && fileSize == 0) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_FILE_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            dataEnd = HEADER_SIZE;
+            offsets = new IntMyArrayList();
+            writeHeader();
+            return;
+        }
+        if (fileSize < HEADER_SIZE)
+            throw new IOException("Truncated file: " + fileSize + " bytes");
+        buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC)
+            throw new IOException("Not a person list file");
+        int version = buffer.getInt(VERSION_OFFSET);
+        if (version != VERSION)
+            throw new IOException("Unsupported version: " + version);
+        long count = buffer.getLong(COUNT_OFFSET);
+        long end = buffer.getLong(DATA_END_OFFSET);
+        if (end < HEADER_SIZE || end > fileSize || count < 0 || count > end - HEADER_SIZE)
+            throw new IOException("Corrupted header");
+        dataEnd = (int) end;
+        checksum.update(buffer.slice(HEADER_SIZE, dataEnd - HEADER_SIZE));
+        if ((int) checksum.getValue() != buffer.getInt(CHECKSUM_OFFSET))
+            throw new IOException("Checksum mismatch");
+        offsets = new IntMyArrayList((int) count);
+        int position = HEADER_SIZE;
+        for (long i = 0; i < count; i++) {
+            offsets.add(position);
+            position = skipRecord(position);
+        }
+        if (position != dataEnd)
+            throw new IOException("Record count does not match data size");
+    }
+
+    /**
+     * Открывает файл только для чтения
+     *
+     * @param path путь к файлу
+     * @return список, читающий записи из файла
+     * @throws IOException если файл не может быть прочитан, повреждён или имеет другую версию формата
+     */
+    public static MappedPersonList open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedPersonList(channel, false);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Открывает файл в режиме дозаписи, создавая его, если он не существует
+     *
+     * @param path путь к файлу
+     * @return список, поддерживающий добавление записей в конец файла
+     * @throws IOException если файл не может быть открыт, повреждён или имеет другую версию формата
+     */
+    public static MappedPersonList openForAppend(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE);
+        try {
+            return new MappedPersonList(channel, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Сохраняет список персон в файл, заменяя его содержимое
+     *
+     * @param list сохраняемый список
+     * @param path путь к файлу
+     * @throws IOException если файл не может быть записан
+     */
+    public static void save(MyArrayList<? extends Person> list, Path path) throws IOException {
+        Objects.requireNonNull(list);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            channel.truncate(0);
+        }
+        try (MappedPersonList mapped = openForAppend(path)) {
+            for (Person person : list)
+                mapped.append(person);
+            mapped.writeHeader();
+        }
+    }
+
+    /**
+     * Возвращает количество записей
+     *
+     * @return количество записей
+     */
+    public int size() {
+        return offsets.size();
+    }
+
+    /**
+     * Возвращает true, если в файле нет записей
+     *
+     * @return true, если в файле нет записей
+     */
+    public boolean isEmpty() {
+        return offsets.size() == 0;
+    }
+
+    /**
+     * Декодирует запись по указанному номеру
+     *
+     * @param index номер записи
+     * @return новая персона с полями записи
+     * @throws IndexOutOfBoundsException если index выходит за пределы количества записей, или он отрицательный
+     * @throws IllegalStateException     если список закрыт
+     */
+    public Person get(int index) {
+        ensureOpen();
+        int position = offsets.get(index);
+        int age = buffer.getInt(position);
+        byte sex = buffer.get(position + Integer.BYTES);
+        position += Integer.BYTES + 1;
+        String name = readString(position);
+        position = skipString(position);
+        String surname = readString(position);
+        return new Person(age, name, surname, sex == NULL_VALUE ? null : SEXES[sex]);
+    }
+
+    /**
+     * Возвращает возраст по номеру записи без декодирования строк
+     *
+     * @param index номер записи
+     * @return возраст
+     * @throws IndexOutOfBoundsException если index выходит за пределы количества записей, или он отрицательный
+     * @throws IllegalStateException     если список закрыт
+     */
+    public int getAge(int index) {
+        ensureOpen();
+        return buffer.getInt(offsets.get(index));
+    }
+
+    /**
+     * Добавляет запись в конец файла и обновляет заголовок
+     *
+     * @param person добавляемая персона
+     * @throws NullPointerException          если персона не инициализирована
+     * @throws UnsupportedOperationException если список открыт только для чтения
+     * @throws IllegalStateException         если список закрыт
+     * @throws IOException                   если файл не может быть увеличен
+     */
+    public void add(Person person) throws IOException {
+        append(person);
+        writeHeader();
+    }
+
+    /**
+     * Декодирует все записи в новый список
+     *
+     * @return список персон
+     * @throws IllegalStateException если список закрыт
+     */
+    public MyArrayList<Person> toMyArrayList() {
+        MyArrayList<Person> list = new MyArrayList<>(size());
+        for (int i = 0; i < size(); i++)
+            list.add(get(i));
+        return list;
+    }
+
+    /**
+     * Возвращает итератор, декодирующий записи по одной
+     *
+     * @return итератор записей
+     */
+    @Override
+    public Iterator<Person> iterator() {
+        return new Iterator<>() {
+
+            /**
+             * Номер записи, которую вернёт следующий next
+             */
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size();
+            }
+
+            @Override
+            public Person next() {
+                if (cursor >= size())
+                    throw new NoSuchElementException();
+                return get(cursor++);
+            }
+        };
+    }
+
+    /**
+     * Записывает изменения отображения на диск
+     *
+     * @throws IllegalStateException если список закрыт
+     */
+    public void force() {
+        ensureOpen();
+        if (writable)
+            buffer.force();
+    }
+
+    /**
+     * Закрывает файл. В режиме дозаписи изменения записываются на диск, а файл обрезается
+     * до конца области записей
+     *
+     * @throws IOException если файл не может быть записан
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            if (writable) {
+                buffer.force();
+                channel.truncate(dataEnd);
+            }
+        } finally {
+            buffer = null;
+            channel.close();
+        }
+    }
+
+    /**
+     * Записывает запись в конец области записей и обновляет контрольную сумму, не изменяя заголовок
+     *
+     * @param person добавляемая персона
+     * @throws IOException если файл не может быть увеличен
+     */
+    private void append(Person person) throws IOException {
+        Objects.requireNonNull(person);
+        ensureOpen();
+        if (!writable)
+            throw new UnsupportedOperationException("Read-only list");
+        byte[] name = encode(person.getName());
+        byte[] surname = encode(person.getSurname());
+        long recordSize = Integer.BYTES + 1 + stringSize(name) + stringSize(surname);
+        ensureMapped(dataEnd + recordSize);
+        int position = dataEnd;
+        buffer.putInt(position, person.getAge());
+        buffer.put(position + Integer.BYTES, person.getSex() == null ? NULL_VALUE : (byte) person.getSex().ordinal());
+        position = writeString(position + Integer.BYTES + 1, name);
+        position = writeString(position, surname);
+        checksum.update(buffer.slice(dataEnd, position - dataEnd));
+        offsets.add(dataEnd);
+        dataEnd = position;
+    }
+
+    /**
+     * Записывает заголовок: сначала контрольную сумму, затем конец области записей и количество записей
+     */
+    private void writeHeader() {
+        buffer.putInt(CHECKSUM_OFFSET, (int) checksum.getValue());
+        buffer.putLong(DATA_END_OFFSET, dataEnd);
+        buffer.putLong(COUNT_OFFSET, offsets.size());
+    }
+
+    /**
+     * Увеличивает отображение файла, чтобы оно вмещало хотя бы required байт
+     *
+     * @param required требуемый размер отображения
+     * @throws IOException если файл не может быть увеличен или превысит 2 ГБ
+     */
+    private void ensureMapped(long required) throws IOException {
+        if (required <= buffer.capacity())
+            return;
+        if (required > Integer.MAX_VALUE)
+            throw new IOException("File too large: " + required);
+        long newSize = Math.min(Integer.MAX_VALUE, Math.max(required, 2L * buffer.capacity()));
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Возвращает позицию записи, следующей за записью в указанной позиции
+     *
+     * @param position позиция записи
+     * @return позиция следующей записи
+     * @throws IOException если запись выходит за конец области записей
+     */
+    private int skipRecord(int position) throws IOException {
+        if (position > dataEnd - Integer.BYTES - 1)
+            throw new IOException("Record count does not match data size");
+        position += Integer.BYTES + 1;
+        for (int field = 0; field < 2; field++) {
+            if (position > dataEnd - Integer.BYTES)
+                throw new IOException("Record count does not match data size");
+            int length = buffer.getInt(position);
+            if (length < NULL_VALUE || length > dataEnd - position - Integer.BYTES)
+                throw new IOException("Corrupted record at " + position);
+            position = skipString(position);
+        }
+        return position;
+    }
+
+    /**
+     * Возвращает позицию, следующую за строкой в указанной позиции
+     *
+     * @param position позиция строки
+     * @return позиция после строки
+     */
+    private int skipString(int position) {
+        return position + Integer.BYTES + Math.max(buffer.getInt(position), 0);
+    }
+
+    /**
+     * Читает строку в указанной позиции
+     *
+     * @param position позиция строки (длины)
+     * @return строка, null если строка отсутствует
+     */
+    private String readString(int position) {
+        int length = buffer.getInt(position);
+        if (length == NULL_VALUE)
+            return null;
+        byte[] bytes = new byte[length];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Записывает строку в указанную позицию
+     *
+     * @param position позиция строки
+     * @param bytes    байты строки, null если строка отсутствует
+     * @return позиция после строки
+     */
+    private int writeString(int position, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(position, NULL_VALUE);
+            return position + Integer.BYTES;
+        }
+        buffer.putInt(position, bytes.length);
+        buffer.put(position + Integer.BYTES, bytes);
+        return position + Integer.BYTES + bytes.length;
+    }
+
+    /**
+     * Кодирует строку в UTF-8
+     *
+     * @param s строка
+     * @return байты строки, null если строка не инициализирована
+     */
+    private static byte[] encode(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Возвращает размер строки в записи
+     *
+     * @param bytes байты строки, null если строка отсутствует
+     * @return размер строки вместе с длиной
+     */
+    private static int stringSize(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    /**
+     * Проверяет, что список не закрыт
+     *
+     * @throws IllegalStateException если список закрыт
+     */
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("Closed");
+    }
+}
@@ -1,12 +1,22 @@
 package org.example.person;
 
+import org.example.StringPool;
 import org.example.person.enums.Sex;
 
 /**
- * Класс персоны для проверки MyArrayList
+ * Класс персоны для проверки MyArrayList.
+ *
+ * <p>
+ * Если задан общий пул строк (setStringPool), имена и фамилии, переданные в конструктор и сеттеры,
+ * заменяются экземплярами из пула, и персоны с одинаковыми именами не хранят отдельные копии строк
  */
 public class Person {
 
+    /**
+     * Общий пул имён и фамилий, null если пул не используется
+     */
+    private static volatile StringPool stringPool;
+
     /**
      * Возраст
      */
@@ -37,8 +47,8 @@ public class Person {
      */
     public Person(int age, String name, String surname, Sex sex) {
         this.age = age;
-        this.name = name;
-        this.surname = surname;
+        this.name = canonical(name);
+        this.surname = canonical(surname);
         this.sex = sex;
     }
 
@@ -75,7 +85,7 @@ public class Person {
      * @param name имя
      */
     public void setName(String name) {
-        this.name = name;
+        this.name = canonical(name);
     }
 
     /**
@@ -93,7 +103,7 @@ public class Person {
      * @param surname фамилия
      */
     public void setSurname(String surname) {
-        this.surname = surname;
+        this.surname = canonical(surname);
     }
 
     /**
@@ -114,5 +124,33 @@ public class Person {
         this.sex = sex;
     }
 
+    /**
+     * Возвращает общий пул имён и фамилий
+     *
+     * @return пул строк, null если пул не используется
+     */
+    public static StringPool getStringPool() {
+        return stringPool;
+    }
+
+    /**
+     * Устанавливает общий пул имён и фамилий для всех создаваемых и изменяемых персон.
+     * Уже существующие персоны не изменяются, для них есть MyArrayList.dedupStrings
+     *
+     * @param pool пул строк, null чтобы не использовать пул
+     */
+    public static void setStringPool(StringPool pool) {
+        stringPool = pool;
+    }
 
+    /**
+     * Возвращает экземпляр строки из общего пула
+     *
+     * @param s строка
+     * @return строка из пула или сама строка, если пул не используется
+     */
+    private static String canonical(String s) {
+        StringPool pool = stringPool;
+        return pool == null ? s : pool.intern(s);
+    }
 }
@@ -0,0 +1,276 @@
+package org.example.person;
+
+import org.example.MyArrayList;
+
+import java.util.Objects;
+
+/**
+ * Кешированная колонка возрастов персон списка MyArrayList для быстрых запросов по возрасту.
+ * Возрасты хранятся в массиве int[], поэтому фильтр по возрасту читает последовательную память
+ * без обращения к объектам Person и без вызова getAge на каждую строку.
+ *
+ * <p>
+ * Колонка перестраивается лениво перед запросом, если список изменился (по отметке изменения
+ * MyArrayList.modificationStamp): после добавления, удаления, сортировки или замены элементов.
+ * Изменение возраста самих персон (setAge) списком не отслеживается, после него нужно вызвать refresh.
+ * Персоны, равные null, не подходят ни под одно условие.
+ *
+ * <p>
+ * Результат возвращается битовой картой (бит i - строка i) или массивом номеров строк. Если к JVM подключён
+ * модуль jdk.incubator.vector (--add-modules jdk.incubator.vector), условия вычисляются векторными
+ * сравнениями Vector API по 64 строки на слово битовой карты. Иначе используется скалярное вычисление
+ * без ветвлений: каждое сравнение даёт один бит, биты упаковываются по 64 в long.
+ * Колонка не потокобезопасная
+ */
+public final class PersonAgeColumn {
+
+    /**
+     * true, если модуль jdk.incubator.vector подключён и условия вычисляются с помощью Vector API
+     */
+    static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Список персон, по которому построена колонка
+     */
+    private final MyArrayList<? extends Person> list;
+
+    /**
+     * Возрасты персон, значения после size не используются
+     */
+    private int[] ages = new int[0];
+
+    /**
+     * Битовая карта строк с персоной null, null если таких строк нет
+     */
+    private long[] nulls;
+
+    /**
+     * Количество строк колонки
+     */
+    private int size;
+
+    /**
+     * Отметка изменения списка, по которой построена колонка
+     */
+    private long stamp;
+
+    /**
+     * true, если колонка построена
+     */
+    private boolean built;
+
+    /**
+     * Конструктор колонки по списку персон. Колонка строится при первом запросе
+     *
+     * @param list список персон
+     * @throws NullPointerException если список не инициализирован
+     */
+    public PersonAgeColumn(MyArrayList<? extends Person> list) {
+        this.list = Objects.requireNonNull(list);
+    }
+
+    /**
+     * Перестраивает колонку по текущему состоянию списка. Нужен после изменения возраста персон списка
+     */
+    public void refresh() {
+        int n = list.size();
+        if (ages.length < n)
+            ages = new int[n];
+        nulls = null;
+        list.forEachIndexed((person, i) -> {
+            if (person == null) {
+                if (nulls == null)
+                    nulls = new long[words(ages.length)];
+                nulls[i >>> 6] |= 1L << i;
+                ages[i] = 0;
+            } else {
+                ages[i] = person.getAge();
+            }
+        });
+        size = n;
+        stamp = list.modificationStamp();
+        built = true;
+    }
+
+    /**
+     * Возвращает количество строк колонки (размер списка)
+     *
+     * @return количество строк
+     */
+    public int size() {
+        ensureFresh();
+        return size;
+    }
+
+    /**
+     * Возвращает битовую карту строк, возраст в которых находится в диапазоне [minAge, maxAge]
+     *
+     * @param minAge наименьший возраст (включительно)
+     * @param maxAge наибольший возраст (включительно)
+     * @return битовая карта длиной (size + 63) / 64, бит i установлен, если строка i подходит
+     * @throws IllegalArgumentException если minAge больше maxAge
+     */
+    public long[] rangeBitmap(int minAge, int maxAge) {
+        checkRange(minAge, maxAge);
+        ensureFresh();
+        return bitmap(minAge, maxAge);
+    }
+
+    /**
+     * Возвращает битовую карту строк с указанным возрастом
+     *
+     * @param age возраст
+     * @return битовая карта длиной (size + 63) / 64, бит i установлен, если строка i подходит
+     */
+    public long[] equalBitmap(int age) {
+        ensureFresh();
+        return bitmap(age, age);
+    }
+
+    /**
+     * Возвращает номера строк, возраст в которых находится в диапазоне [minAge, maxAge], по возрастанию
+     *
+     * @param minAge наименьший возраст (включительно)
+     * @param maxAge наибольший возраст (включительно)
+     * @return номера подходящих строк
+     * @throws IllegalArgumentException если minAge больше maxAge
+     */
+    public int[] rangeIndexes(int minAge, int maxAge) {
+        return indexes(rangeBitmap(minAge, maxAge));
+    }
+
+    /**
+     * Возвращает номера строк с указанным возрастом по возрастанию
+     *
+     * @param age возраст
+     * @return номера подходящих строк
+     */
+    public int[] equalIndexes(int age) {
+        return indexes(equalBitmap(age));
+    }
+
+    /**
+     * Возвращает количество строк, возраст в которых находится в диапазоне [minAge, maxAge]
+     *
+     * @param minAge наименьший возраст (включительно)
+     * @param maxAge наибольший возраст (включительно)
+     * @return количество подходящих строк
+     * @throws IllegalArgumentException если minAge больше maxAge
+     */
+    public int countRange(int minAge, int maxAge) {
+        long[] bits = rangeBitmap(minAge, maxAge);
+        int count = 0;
+        for (long word : bits)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    /**
+     * Перестраивает колонку, если список изменился после последнего построения
+     */
+    private void ensureFresh() {
+        if (!built || stamp != list.modificationStamp())
+            refresh();
+    }
+
+    /**
+     * Вычисляет битовую карту диапазона. Полные слова по 64 строки вычисляются Vector API, если модуль
+     * подключён, иначе скалярно, последнее неполное слово всегда вычисляется скалярно
+     *
+     * @param minAge наименьший возраст (включительно)
+     * @param maxAge наибольший возраст (включительно)
+     * @return битовая карта подходящих строк
+     */
+    private long[] bitmap(int minAge, int maxAge) {
+        int[] ages = this.ages;
+        int n = size;
+        long[] bits = new long[words(n)];
+        int full = n & ~63;
+        if (VECTORIZED)
+            AgeVectorKernel.rangeWords(ages, full >>> 6, minAge, maxAge, bits);
+        else
+            scalarRangeWords(ages, full >>> 6, minAge, maxAge, bits);
+        if (full < n) {
+            long range = (maxAge - minAge) & 0xFFFFFFFFL;
+            long word = 0;
+            for (int j = 0; full + j < n; j++) {
+                long u = (ages[full + j] - minAge) & 0xFFFFFFFFL;
+                word |= (((range - u) >>> 63) ^ 1) << j;
+            }
+            bits[full >>> 6] = word;
+        }
+        if (nulls != null) {
+            for (int w = 0; w < bits.length; w++)
+                bits[w] &= ~nulls[w];
+        }
+        return bits;
+    }
+
+    /**
+     * Заполняет первые words слов битовой карты без Vector API. Возраст a подходит, если a - minAge
+     * как беззнаковое число не больше maxAge - minAge, поэтому диапазон проверяется одним сравнением,
+     * а бит получается из знака разности без ветвления
+     *
+     * @param ages   колонка возрастов, не короче words * 64
+     * @param words  количество заполняемых слов
+     * @param minAge наименьший возраст (включительно)
+     * @param maxAge наибольший возраст (включительно)
+     * @param bits   битовая карта результата
+     */
+    static void scalarRangeWords(int[] ages, int words, int minAge, int maxAge, long[] bits) {
+        long range = (maxAge - minAge) & 0xFFFFFFFFL;
+        for (int w = 0; w < words; w++) {
+            int base = w << 6;
+            long word = 0;
+            for (int j = 0; j < 64; j++) {
+                long u = (ages[base + j] - minAge) & 0xFFFFFFFFL;
+                word |= (((range - u) >>> 63) ^ 1) << j;
+            }
+            bits[w] = word;
+        }
+    }
+
+    /**
+     * Преобразует битовую карту в номера установленных битов
+     *
+     * @param bits битовая карта
+     * @return номера установленных битов по возрастанию
+     */
+    private static int[] indexes(long[] bits) {
+        int count = 0;
+        for (long word : bits)
+            count += Long.bitCount(word);
+        int[] result = new int[count];
+        int k = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                result[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает количество слов битовой карты
+     *
+     * @param n количество бит
+     * @return количество слов long
+     */
+    private static int words(int n) {
+        return (n + 63) >>> 6;
+    }
+
+    /**
+     * Проверяет корректность диапазона
+     *
+     * @param minAge наименьший возраст
+     * @param maxAge наибольший возраст
+     * @throws IllegalArgumentException если minAge больше maxAge
+     */
+    private static void checkRange(int minAge, int maxAge) {
+        if (minAge > maxAge)
+            throw new IllegalArgumentException("Illegal age range: " + minAge + " > " + maxAge);
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.person;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Общие константы и методы двоичного потокового формата персон, используемого PersonBatchWriter
+ * и PersonBatchReader.
+ *
+ * <p>
+ * Поток состоит из пакетов. Пакет: длина тела (int), затем тело - количество записей (varint, 0 означает
+ * конец потока), флаги (varint), словарь строк пакета (количество строк, затем для каждой строки длина
+ * в байтах и байты UTF-8), битовая карта пола (1 бит на запись), битовая карта отсутствующего пола
+ * (если установлен флаг FLAG_NULL_SEX) и записи. Запись: возраст (varint в кодировке zigzag), ссылки
+ * на имя и фамилию (varint, номер строки в словаре пакета + 1, 0 если строка отсутствует)
+ */
+final class PersonBatchFormat {
+
+    /**
+     * Флаг пакета: после битовой карты пола следует битовая карта отсутствующего пола
+     */
+    static final int FLAG_NULL_SEX = 1;
+
+    /**
+     * Ссылка на отсутствующую строку
+     */
+    static final int NULL_REF = 0;
+
+    /**
+     * Наибольший размер записи без строк словаря: три varint по 5 байт
+     */
+    static final int MAX_RECORD_BYTES = 15;
+
+    /**
+     * Наибольший размер заголовка пакета: длина тела и три varint
+     */
+    static final int MAX_HEADER_BYTES = Integer.BYTES + 15;
+
+    private PersonBatchFormat() {
+    }
+
+    /**
+     * Записывает число без знака в кодировке varint (по 7 бит в байте, начиная с младших)
+     *
+     * @param buffer буфер
+     * @param value  записываемое число
+     */
+    static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Читает число без знака в кодировке varint
+     *
+     * @param buffer буфер
+     * @return прочитанное число
+     * @throws IOException если число занимает больше 5 байт
+     */
+    static int getVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Возвращает размер числа в кодировке varint
+     *
+     * @param value число
+     * @return размер в байтах
+     */
+    static int varIntSize(int value) {
+        return (38 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    /**
+     * Кодирует число со знаком так, чтобы небольшие по модулю числа занимали мало байт в varint
+     *
+     * @param value число со знаком
+     * @return число в кодировке zigzag
+     */
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Декодирует число из кодировки zigzag
+     *
+     * @param value число в кодировке zigzag
+     * @return число со знаком
+     */
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Возвращает размер строки в кодировке UTF-8. Одиночные суррогатные символы кодируются символом '?',
+     * как в String.getBytes
+     *
+     * @param s строка
+     * @return размер строки в байтах
+     */
+    static int utf8Length(String s) {
+        int n = s.length();
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else {
+                    length++;
+                }
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Записывает строку в кодировке UTF-8 без создания промежуточного массива байт
+     *
+     * @param buffer буфер
+     * @param s      строка
+     */
+    static void putUtf8(ByteBuffer buffer, String s) {
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buffer.put((byte) (0xF0 | (cp >> 18)));
+                    buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                    buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (cp & 0x3F)));
+                } else {
+                    buffer.put((byte) '?');
+                }
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Возвращает размер битовой карты в байтах
+     *
+     * @param count количество бит
+     * @return размер битовой карты в байтах
+     */
+    static int bitmapBytes(int count) {
+        return (count + 7) >>> 3;
+    }
+}
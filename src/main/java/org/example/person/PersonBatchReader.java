@@ -0,0 +1,259 @@
+package org.example.person;
+
+import org.example.person.enums.Sex;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Objects;
+
+import static org.example.person.PersonBatchFormat.*;
+
+/**
+ * Потоковое чтение персон, записанных PersonBatchWriter, из канала ReadableByteChannel.
+ * Из канала читается по одному пакету, записи пакета декодируются по требованию. Строки словаря
+ * декодируются один раз на пакет, и персоны пакета с одинаковыми именами получают одни и те же строки.
+ *
+ * <p>
+ * Буфер пакета и словарь переиспользуются, поэтому кроме самих персон и их строк чтение не выделяет
+ * память. Размер пакета ограничен, что защищает от повреждённого потока. Чтение не потокобезопасное
+ */
+public class PersonBatchReader implements Closeable {
+
+    /**
+     * Стандартный наибольший размер читаемого пакета в байтах
+     */
+    public static final int DEFAULT_MAX_BATCH_BYTES = 1 << 26;
+
+    /**
+     * Все значения пола по порядковому номеру
+     */
+    private static final Sex[] SEXES = Sex.values();
+
+    /**
+     * Канал, из которого читаются пакеты
+     */
+    private final ReadableByteChannel channel;
+
+    /**
+     * Наибольший размер читаемого пакета в байтах
+     */
+    private final int maxBatchBytes;
+
+    /**
+     * Буфер длины пакета
+     */
+    private final ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+
+    /**
+     * Тело текущего пакета
+     */
+    private ByteBuffer body = ByteBuffer.allocate(1024);
+
+    /**
+     * Словарь строк текущего пакета, строка со ссылкой r находится по индексу r - 1
+     */
+    private String[] dictionary = new String[64];
+
+    /**
+     * Количество строк в словаре текущего пакета
+     */
+    private int dictionarySize;
+
+    /**
+     * Позиция битовой карты пола в теле пакета
+     */
+    private int sexOffset;
+
+    /**
+     * Позиция битовой карты отсутствующего пола в теле пакета, -1 если её нет
+     */
+    private int nullSexOffset;
+
+    /**
+     * Количество записей текущего пакета
+     */
+    private int count;
+
+    /**
+     * Номер следующей записи в текущем пакете
+     */
+    private int next;
+
+    /**
+     * true, если прочитан признак конца потока
+     */
+    private boolean ended;
+
+    /**
+     * Конструктор со стандартным ограничением размера пакета
+     *
+     * @param channel канал, из которого читаются персоны
+     * @throws NullPointerException если канал не инициализирован
+     */
+    public PersonBatchReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_MAX_BATCH_BYTES);
+    }
+
+    /**
+     * Конструктор с указанным ограничением размера пакета
+     *
+     * @param channel       канал, из которого читаются персоны
+     * @param maxBatchBytes наибольший размер читаемого пакета в байтах
+     * @throws NullPointerException     если канал не инициализирован
+     * @throws IllegalArgumentException если размер не положительный
+     */
+    public PersonBatchReader(ReadableByteChannel channel, int maxBatchBytes) {
+        if (maxBatchBytes <= 0)
+            throw new IllegalArgumentException("Illegal batch bytes: " + maxBatchBytes);
+        this.channel = Objects.requireNonNull(channel);
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+    /**
+     * Читает следующую персону
+     *
+     * @return прочитанная персона, null если поток закончился
+     * @throws EOFException если канал закончился до признака конца потока
+     * @throws IOException  если поток повреждён или чтение из канала завершилось ошибкой
+     */
+    public Person read() throws IOException {
+        if (next == count && !readBatch())
+            return null;
+        try {
+            int age = unZigZag(getVarInt(body));
+            String name = string(getVarInt(body));
+            String surname = string(getVarInt(body));
+            int i = next++;
+            Sex sex = nullSexOffset >= 0 && bit(nullSexOffset, i) ? null : SEXES[bit(sexOffset, i) ? 1 : 0];
+            return new Person(age, name, surname, sex);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupted batch", e);
+        }
+    }
+
+    /**
+     * Читает все оставшиеся персоны в коллекцию
+     *
+     * @param target коллекция, в которую добавляются персоны
+     * @return количество прочитанных персон
+     * @throws NullPointerException если коллекция не инициализирована
+     * @throws IOException          если поток повреждён или чтение из канала завершилось ошибкой
+     */
+    public int readAll(Collection<? super Person> target) throws IOException {
+        Objects.requireNonNull(target);
+        int read = 0;
+        for (Person person = read(); person != null; person = read()) {
+            target.add(person);
+            read++;
+        }
+        return read;
+    }
+
+    /**
+     * Закрывает канал
+     *
+     * @throws IOException если закрытие канала завершилось ошибкой
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Читает следующий пакет и декодирует его словарь
+     *
+     * @return true, если пакет прочитан, false если прочитан признак конца потока
+     * @throws IOException если поток повреждён или чтение из канала завершилось ошибкой
+     */
+    private boolean readBatch() throws IOException {
+        if (ended)
+            return false;
+        lengthBuffer.clear();
+        readFully(lengthBuffer);
+        int length = lengthBuffer.getInt(0);
+        if (length <= 0 || length > maxBatchBytes)
+            throw new IOException("Illegal batch length: " + length);
+        if (length > body.capacity())
+            body = ByteBuffer.allocate(Math.max(length, Math.min(maxBatchBytes, body.capacity() * 2)));
+        body.clear().limit(length);
+        readFully(body);
+        body.flip();
+        try {
+            int records = getVarInt(body);
+            if (records == 0) {
+                ended = true;
+                count = next = 0;
+                return false;
+            }
+            int flags = getVarInt(body);
+            int dictionarySize = getVarInt(body);
+            if (records < 0 || dictionarySize < 0 || dictionarySize > length)
+                throw new IOException("Corrupted batch");
+            if (dictionarySize > dictionary.length)
+                dictionary = new String[Math.max(dictionarySize, dictionary.length * 2)];
+            for (int i = 0; i < dictionarySize; i++) {
+                int bytes = getVarInt(body);
+                if (bytes < 0 || bytes > body.remaining())
+                    throw new IOException("Corrupted batch");
+                dictionary[i] = new String(body.array(), body.position(), bytes, StandardCharsets.UTF_8);
+                body.position(body.position() + bytes);
+            }
+            int bitmapBytes = bitmapBytes(records);
+            sexOffset = body.position();
+            nullSexOffset = (flags & FLAG_NULL_SEX) != 0 ? sexOffset + bitmapBytes : -1;
+            body.position(sexOffset + (nullSexOffset >= 0 ? 2 : 1) * bitmapBytes);
+            this.dictionarySize = dictionarySize;
+            count = records;
+            next = 0;
+            return true;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupted batch", e);
+        }
+    }
+
+    /**
+     * Возвращает строку словаря по ссылке
+     *
+     * @param ref ссылка на строку
+     * @return строка, null если ссылка равна NULL_REF
+     * @throws IOException если ссылка выходит за пределы словаря
+     */
+    private String string(int ref) throws IOException {
+        if (ref == NULL_REF)
+            return null;
+        if (ref < 0 || ref > dictionarySize)
+            throw new IOException("Corrupted batch");
+        return dictionary[ref - 1];
+    }
+
+    /**
+     * Возвращает бит битовой карты
+     *
+     * @param offset позиция битовой карты в теле пакета
+     * @param index  номер бита
+     * @return true, если бит установлен
+     */
+    private boolean bit(int offset, int index) {
+        return ((body.get(offset + (index >>> 3)) >>> (index & 7)) & 1) != 0;
+    }
+
+    /**
+     * Заполняет буфер из канала целиком
+     *
+     * @param buffer заполняемый буфер
+     * @throws EOFException если канал закончился раньше, чем буфер заполнен
+     * @throws IOException  если чтение из канала завершилось ошибкой
+     */
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0)
+                throw new EOFException("Unexpected end of stream");
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package org.example.person;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.example.person.PersonBatchFormat.*;
+
+/**
+ * Потоковая запись персон в канал WritableByteChannel в компактном двоичном формате (см. PersonBatchFormat).
+ * Персоны накапливаются в пакет, ограниченный количеством записей и размером в байтах, и пакет записывается
+ * в канал целиком. Возраст кодируется varint, пол - одним битом, имена и фамилии - ссылками на словарь
+ * строк пакета, поэтому повторяющиеся строки записываются один раз на пакет.
+ *
+ * <p>
+ * Буферы и словарь создаются один раз и переиспользуются для всех пакетов, строки кодируются в UTF-8
+ * напрямую в буфер, поэтому после создания запись не выделяет память, а используемая память не зависит
+ * от количества записанных персон. Запись не потокобезопасная
+ */
+public class PersonBatchWriter implements Closeable, Flushable {
+
+    /**
+     * Стандартное наибольшее количество записей в пакете
+     */
+    public static final int DEFAULT_MAX_BATCH_RECORDS = 4096;
+
+    /**
+     * Стандартный наибольший размер пакета в байтах
+     */
+    public static final int DEFAULT_MAX_BATCH_BYTES = 1 << 18;
+
+    /**
+     * Канал, в который записываются пакеты
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * Наибольшее количество записей в пакете
+     */
+    private final int maxBatchRecords;
+
+    /**
+     * Наибольший размер пакета в байтах
+     */
+    private final int maxBatchBytes;
+
+    /**
+     * Словарь строк текущего пакета в закодированном виде
+     */
+    private ByteBuffer dictionary;
+
+    /**
+     * Записи текущего пакета
+     */
+    private final ByteBuffer records;
+
+    /**
+     * Собранный пакет, записываемый в канал
+     */
+    private ByteBuffer out;
+
+    /**
+     * Битовая карта пола текущего пакета (бит - порядковый номер Sex)
+     */
+    private final long[] sexBits;
+
+    /**
+     * Битовая карта отсутствующего пола текущего пакета
+     */
+    private final long[] nullSexBits;
+
+    /**
+     * true, если в текущем пакете есть персона без пола
+     */
+    private boolean hasNullSex;
+
+    /**
+     * Количество записей в текущем пакете
+     */
+    private int count;
+
+    /**
+     * Хеш-таблица строк словаря с открытой адресацией: строка
+     */
+    private final String[] tableKeys;
+
+    /**
+     * Хеш-таблица строк словаря: ссылка на строку в словаре
+     */
+    private final int[] tableRefs;
+
+    /**
+     * Занятые ячейки хеш-таблицы, очищаемые после записи пакета
+     */
+    private final int[] usedSlots;
+
+    /**
+     * Количество строк в словаре текущего пакета
+     */
+    private int dictionarySize;
+
+    /**
+     * true, если запись завершена
+     */
+    private boolean finished;
+
+    /**
+     * Конструктор с пакетами стандартного размера
+     *
+     * @param channel канал, в который записываются персоны
+     * @throws NullPointerException если канал не инициализирован
+     */
+    public PersonBatchWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_MAX_BATCH_RECORDS, DEFAULT_MAX_BATCH_BYTES);
+    }
+
+    /**
+     * Конструктор с указанными ограничениями размера пакета. Пакет может превысить maxBatchBytes,
+     * только если одна запись со своими строками больше этого размера
+     *
+     * @param channel         канал, в который записываются персоны
+     * @param maxBatchRecords наибольшее количество записей в пакете
+     * @param maxBatchBytes   наибольший размер пакета в байтах
+     * @throws NullPointerException     если канал не инициализирован
+     * @throws IllegalArgumentException если количество записей не положительное или размер меньше 64 байт
+     */
+    public PersonBatchWriter(WritableByteChannel channel, int maxBatchRecords, int maxBatchBytes) {
+        if (maxBatchRecords <= 0)
+            throw new IllegalArgumentException("Illegal batch records: " + maxBatchRecords);
+        if (maxBatchBytes < 64)
+            throw new IllegalArgumentException("Illegal batch bytes: " + maxBatchBytes);
+        this.channel = Objects.requireNonNull(channel);
+        this.maxBatchRecords = maxBatchRecords;
+        this.maxBatchBytes = maxBatchBytes;
+        this.dictionary = ByteBuffer.allocate(maxBatchBytes);
+        this.records = ByteBuffer.allocate(maxBatchRecords * MAX_RECORD_BYTES);
+        this.out = ByteBuffer.allocate(maxBatchBytes + MAX_HEADER_BYTES);
+        this.sexBits = new long[(maxBatchRecords + 63) >>> 6];
+        this.nullSexBits = new long[sexBits.length];
+        int tableSize = Integer.highestOneBit(maxBatchRecords * 4 - 1) << 1;
+        this.tableKeys = new String[tableSize];
+        this.tableRefs = new int[tableSize];
+        this.usedSlots = new int[maxBatchRecords * 2];
+    }
+
+    /**
+     * Записывает персону. Если текущий пакет заполнен, он предварительно записывается в канал
+     *
+     * @param person записываемая персона
+     * @throws NullPointerException  если персона не инициализирована
+     * @throws IllegalStateException если запись завершена
+     * @throws IOException           если запись в канал завершилась ошибкой
+     */
+    public void write(Person person) throws IOException {
+        Objects.requireNonNull(person);
+        if (finished)
+            throw new IllegalStateException("Finished");
+        String name = person.getName();
+        String surname = person.getSurname();
+        int newBytes = newEntryBytes(name) + newEntryBytes(surname);
+        if (count == maxBatchRecords || (count > 0 && batchBytes() + newBytes + MAX_RECORD_BYTES > maxBatchBytes))
+            writeBatch();
+        int nameRef = ref(name);
+        int surnameRef = ref(surname);
+        putVarInt(records, zigZag(person.getAge()));
+        putVarInt(records, nameRef);
+        putVarInt(records, surnameRef);
+        if (person.getSex() == null) {
+            nullSexBits[count >>> 6] |= 1L << count;
+            hasNullSex = true;
+        } else if (person.getSex().ordinal() != 0) {
+            sexBits[count >>> 6] |= 1L << count;
+        }
+        count++;
+    }
+
+    /**
+     * Записывает все персоны
+     *
+     * @param persons записываемые персоны
+     * @throws NullPointerException  если персоны или одна из персон не инициализированы
+     * @throws IllegalStateException если запись завершена
+     * @throws IOException           если запись в канал завершилась ошибкой
+     */
+    public void writeAll(Iterable<? extends Person> persons) throws IOException {
+        for (Person person : persons)
+            write(person);
+    }
+
+    /**
+     * Записывает текущий неполный пакет в канал
+     *
+     * @throws IOException если запись в канал завершилась ошибкой
+     */
+    @Override
+    public void flush() throws IOException {
+        writeBatch();
+    }
+
+    /**
+     * Записывает текущий пакет и признак конца потока, не закрывая канал
+     *
+     * @throws IOException если запись в канал завершилась ошибкой
+     */
+    public void finish() throws IOException {
+        if (finished)
+            return;
+        writeBatch();
+        out.clear();
+        out.putInt(1);
+        putVarInt(out, 0);
+        out.flip();
+        writeFully(out);
+        finished = true;
+    }
+
+    /**
+     * Завершает запись и закрывает канал
+     *
+     * @throws IOException если запись в канал или его закрытие завершились ошибкой
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Возвращает размер, который займёт строка в словаре, если её ещё нет в словаре текущего пакета
+     *
+     * @param s строка
+     * @return размер новой строки словаря, 0 если строка отсутствует или уже есть в словаре
+     */
+    private int newEntryBytes(String s) {
+        if (s == null || tableKeys[find(s)] != null)
+            return 0;
+        int length = utf8Length(s);
+        return varIntSize(length) + length;
+    }
+
+    /**
+     * Возвращает размер текущего пакета вместе с заголовком
+     *
+     * @return размер пакета в байтах
+     */
+    private int batchBytes() {
+        return MAX_HEADER_BYTES + dictionary.position() + records.position() + 2 * bitmapBytes(count + 1);
+    }
+
+    /**
+     * Возвращает ссылку на строку в словаре текущего пакета, добавляя строку в словарь, если её там нет
+     *
+     * @param s строка
+     * @return ссылка на строку, NULL_REF если строка отсутствует
+     */
+    private int ref(String s) {
+        if (s == null)
+            return NULL_REF;
+        int slot = find(s);
+        if (tableKeys[slot] == null) {
+            int length = utf8Length(s);
+            ensureDictionaryCapacity(varIntSize(length) + length);
+            putVarInt(dictionary, length);
+            putUtf8(dictionary, s);
+            tableKeys[slot] = s;
+            tableRefs[slot] = ++dictionarySize;
+            usedSlots[dictionarySize - 1] = slot;
+        }
+        return tableRefs[slot];
+    }
+
+    /**
+     * Находит ячейку хеш-таблицы со строкой или пустую ячейку, в которую строка должна быть добавлена
+     *
+     * @param s строка
+     * @return номер ячейки
+     */
+    private int find(String s) {
+        int mask = tableKeys.length - 1;
+        int h = s.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (tableKeys[slot] != null && !tableKeys[slot].equals(s))
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /**
+     * Увеличивает буфер словаря, если в нём нет места для ещё одной строки. Буфер увеличивается,
+     * только если одна запись не помещается в пакет стандартного размера
+     *
+     * @param bytes размер добавляемой строки словаря
+     */
+    private void ensureDictionaryCapacity(int bytes) {
+        if (bytes <= dictionary.remaining())
+            return;
+        ByteBuffer grown = ByteBuffer.allocate(dictionary.position() + bytes);
+        dictionary.flip();
+        grown.put(dictionary);
+        dictionary = grown;
+    }
+
+    /**
+     * Собирает текущий пакет, записывает его в канал и очищает буферы и словарь для следующего пакета
+     *
+     * @throws IOException если запись в канал завершилась ошибкой
+     */
+    private void writeBatch() throws IOException {
+        if (count == 0)
+            return;
+        int bitmapBytes = bitmapBytes(count);
+        int bytes = batchBytes();
+        if (bytes > out.capacity())
+            out = ByteBuffer.allocate(bytes);
+        out.clear();
+        out.putInt(0);
+        putVarInt(out, count);
+        putVarInt(out, hasNullSex ? FLAG_NULL_SEX : 0);
+        putVarInt(out, dictionarySize);
+        out.put(dictionary.flip());
+        putBitmap(sexBits, bitmapBytes);
+        if (hasNullSex)
+            putBitmap(nullSexBits, bitmapBytes);
+        out.put(records.flip());
+        out.putInt(0, out.position() - Integer.BYTES);
+        out.flip();
+        writeFully(out);
+
+        int words = (count + 63) >>> 6;
+        Arrays.fill(sexBits, 0, words, 0L);
+        Arrays.fill(nullSexBits, 0, words, 0L);
+        for (int i = 0; i < dictionarySize; i++)
+            tableKeys[usedSlots[i]] = null;
+        dictionary.clear();
+        records.clear();
+        dictionarySize = 0;
+        hasNullSex = false;
+        count = 0;
+    }
+
+    /**
+     * Записывает битовую карту в собираемый пакет
+     *
+     * @param bits  битовая карта
+     * @param bytes количество записываемых байт
+     */
+    private void putBitmap(long[] bits, int bytes) {
+        for (int i = 0; i < bytes; i++)
+            out.put((byte) (bits[i >>> 3] >>> ((i & 7) << 3)));
+    }
+
+    /**
+     * Записывает буфер в канал целиком
+     *
+     * @param buffer записываемый буфер
+     * @throws IOException если запись в канал завершилась ошибкой
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.person;
+
+import org.example.StringField;
+
+/**
+ * Строковые поля Person для MyArrayList.dedupStrings
+ */
+public final class PersonStringFields {
+
+    /**
+     * Имя
+     */
+    public static final StringField<Person> NAME = StringField.of(Person::getName, Person::setName);
+
+    /**
+     * Фамилия
+     */
+    public static final StringField<Person> SURNAME = StringField.of(Person::getSurname, Person::setSurname);
+
+    private PersonStringFields() {
+    }
+}
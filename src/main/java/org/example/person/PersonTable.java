@@ -0,0 +1,599 @@
+package org.example.person;
+
+import org.example.GrowthPolicy;
+import org.example.person.enums.Sex;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Колоночное хранилище персон вне кучи. Вместо объектов Person хранит поля в отдельных колонках
+ * в direct-буферах: возраст (int), пол (byte, порядковый номер Sex) и ссылки на имя и фамилию
+ * (смещение и длина в байтах), а сами строки хранятся в кодировке UTF-8 в общей области строк.
+ * Количество объектов в куче не зависит от количества строк таблицы.
+ *
+ * <p>
+ * Поддерживает добавление строки, получение полей по номеру строки, обход с переиспользуемым
+ * представлением Person и сортировку компараторами Person. Представление, которое возвращают итератор
+ * и forEach, - один и тот же объект, указывающий на текущую строку, поэтому его нельзя сохранять
+ * между итерациями. Память буферов освобождается сборщиком мусора вместе с таблицей.
+ */
+public class PersonTable implements Iterable<Person> {
+
+    /**
+     * Стандартная начальная ёмкость (в строках)
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Стандартная начальная ёмкость области строк (в байтах)
+     */
+    private static final int DEFAULT_ARENA_CAPACITY = 256;
+
+    /**
+     * Значение колонки пола для отсутствующего пола
+     */
+    private static final byte NULL_SEX = -1;
+
+    /**
+     * Значение ссылки на строку для отсутствующей строки
+     */
+    private static final long NULL_STRING = -1L;
+
+    /**
+     * Все значения пола по порядковому номеру
+     */
+    private static final Sex[] SEXES = Sex.values();
+
+    /**
+     * Колонка возрастов, по 4 байта на строку
+     */
+    private ByteBuffer ages;
+
+    /**
+     * Колонка полов, по 1 байту на строку
+     */
+    private ByteBuffer sexes;
+
+    /**
+     * Колонка ссылок на имена, по 8 байт на строку: смещение в старших 32 битах, длина в младших
+     */
+    private ByteBuffer names;
+
+    /**
+     * Колонка ссылок на фамилии, устроена так же, как колонка имён
+     */
+    private ByteBuffer surnames;
+
+    /**
+     * Область строк, в которой хранятся имена и фамилии в кодировке UTF-8
+     */
+    private ByteBuffer arena;
+
+    /**
+     * Количество занятых байт в области строк
+     */
+    private int arenaSize;
+
+    /**
+     * Ёмкость таблицы (в строках)
+     */
+    private int capacity;
+
+    /**
+     * Количество строк таблицы
+     */
+    private int size;
+
+    /**
+     * Политика увеличения ёмкости колонок и области строк
+     */
+    private final GrowthPolicy growthPolicy = GrowthPolicy.oneAndHalf();
+
+    /**
+     * Конструктор пустой таблицы
+     */
+    public PersonTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Конструктор пустой таблицы с указанной начальной ёмкостью
+     *
+     * @param initialCapacity начальная ёмкость таблицы (в строках)
+     * @throws IllegalArgumentException если начальная ёмкость отрицательная
+     */
+    public PersonTable(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        allocateColumns(initialCapacity);
+        arena = allocate(DEFAULT_ARENA_CAPACITY);
+    }
+
+    /**
+     * Возвращает количество строк таблицы
+     *
+     * @return количество строк таблицы
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает true если таблица пустая
+     *
+     * @return true если таблица пустая
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает количество байт, занятых буферами таблицы вне кучи
+     *
+     * @return размер буферов таблицы в байтах
+     */
+    public long offHeapBytes() {
+        return (long) ages.capacity() + sexes.capacity() + names.capacity() + surnames.capacity() + arena.capacity();
+    }
+
+    /**
+     * Добавляет персону в конец таблицы
+     *
+     * @param person добавляемая персона
+     * @return номер добавленной строки
+     * @throws NullPointerException если персона не инициализирована
+     */
+    public int add(Person person) {
+        return add(person.getAge(), person.getName(), person.getSurname(), person.getSex());
+    }
+
+    /**
+     * Добавляет строку в конец таблицы
+     *
+     * @param age     возраст
+     * @param name    имя
+     * @param surname фамилия
+     * @param sex     пол
+     * @return номер добавленной строки
+     */
+    public int add(int age, String name, String surname, Sex sex) {
+        if (size == capacity)
+            growColumns(size + 1);
+        int row = size;
+        ages.putInt(row * Integer.BYTES, age);
+        sexes.put(row, encodeSex(sex));
+        names.putLong(row * Long.BYTES, appendString(name));
+        surnames.putLong(row * Long.BYTES, appendString(surname));
+        size++;
+        return row;
+    }
+
+    /**
+     * Возвращает возраст в указанной строке
+     *
+     * @param row номер строки
+     * @return возраст
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public int getAge(int row) {
+        Objects.checkIndex(row, size);
+        return ages.getInt(row * Integer.BYTES);
+    }
+
+    /**
+     * Возвращает пол в указанной строке
+     *
+     * @param row номер строки
+     * @return пол
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public Sex getSex(int row) {
+        Objects.checkIndex(row, size);
+        byte ordinal = sexes.get(row);
+        return ordinal == NULL_SEX ? null : SEXES[ordinal];
+    }
+
+    /**
+     * Возвращает имя в указанной строке
+     *
+     * @param row номер строки
+     * @return имя
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public String getName(int row) {
+        Objects.checkIndex(row, size);
+        return readString(names.getLong(row * Long.BYTES));
+    }
+
+    /**
+     * Возвращает фамилию в указанной строке
+     *
+     * @param row номер строки
+     * @return фамилия
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public String getSurname(int row) {
+        Objects.checkIndex(row, size);
+        return readString(surnames.getLong(row * Long.BYTES));
+    }
+
+    /**
+     * Устанавливает возраст в указанной строке
+     *
+     * @param row номер строки
+     * @param age возраст
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public void setAge(int row, int age) {
+        Objects.checkIndex(row, size);
+        ages.putInt(row * Integer.BYTES, age);
+    }
+
+    /**
+     * Устанавливает пол в указанной строке
+     *
+     * @param row номер строки
+     * @param sex пол
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public void setSex(int row, Sex sex) {
+        Objects.checkIndex(row, size);
+        sexes.put(row, encodeSex(sex));
+    }
+
+    /**
+     * Устанавливает имя в указанной строке. Новое имя добавляется в область строк,
+     * место старого имени не освобождается
+     *
+     * @param row  номер строки
+     * @param name имя
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public void setName(int row, String name) {
+        Objects.checkIndex(row, size);
+        names.putLong(row * Long.BYTES, appendString(name));
+    }
+
+    /**
+     * Устанавливает фамилию в указанной строке. Новая фамилия добавляется в область строк,
+     * место старой фамилии не освобождается
+     *
+     * @param row     номер строки
+     * @param surname фамилия
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public void setSurname(int row, String surname) {
+        Objects.checkIndex(row, size);
+        surnames.putLong(row * Long.BYTES, appendString(surname));
+    }
+
+    /**
+     * Возвращает новый объект Person с полями указанной строки
+     *
+     * @param row номер строки
+     * @return персона из указанной строки
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public Person get(int row) {
+        return new Person(getAge(row), getName(row), getSurname(row), getSex(row));
+    }
+
+    /**
+     * Возвращает представление указанной строки. Представление читает и изменяет поля
+     * напрямую в таблице и не копирует их
+     *
+     * @param row номер строки
+     * @return представление строки в виде Person
+     * @throws IndexOutOfBoundsException если номер строки выходит за пределы таблицы
+     */
+    public Person view(int row) {
+        Objects.checkIndex(row, size);
+        RowView view = new RowView();
+        view.row = row;
+        return view;
+    }
+
+    /**
+     * Возвращает итератор по строкам таблицы. Метод next каждый раз возвращает один и тот же объект
+     * представления, указывающий на очередную строку
+     *
+     * @return итератор по строкам таблицы
+     */
+    @Override
+    public Iterator<Person> iterator() {
+        return new Iterator<>() {
+
+            /**
+             * Переиспользуемое представление строки
+             */
+            private final RowView view = new RowView();
+
+            /**
+             * Номер строки, которую вернёт следующий next
+             */
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public Person next() {
+                if (cursor >= size)
+                    throw new NoSuchElementException();
+                view.row = cursor++;
+                return view;
+            }
+        };
+    }
+
+    /**
+     * Выполняет действие для каждой строки таблицы, передавая одно и то же представление строки
+     *
+     * @param action действие над строкой
+     * @throws NullPointerException если действие не инициализировано
+     */
+    @Override
+    public void forEach(Consumer<? super Person> action) {
+        Objects.requireNonNull(action);
+        RowView view = new RowView();
+        for (int row = 0; row < size; row++) {
+            view.row = row;
+            action.accept(view);
+        }
+    }
+
+    /**
+     * Устойчивая сортировка строк таблицы. Сравниваются представления строк, поэтому подходят
+     * любые компараторы Person, в том числе PersonAgeComparator и PersonSexComparator.
+     * Сортируется перестановка номеров строк, после чего колонки переставляются за один проход,
+     * строки в области строк не перемещаются
+     *
+     * @param c Comparator используемый для сравнения персон
+     * @throws NullPointerException если Comparator не инициализирован
+     */
+    public void sort(Comparator<? super Person> c) {
+        Objects.requireNonNull(c);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++)
+            order[i] = i;
+        RowView left = new RowView();
+        RowView right = new RowView();
+        mergeSort(order, new int[size], 0, size, (a, b) -> {
+            left.row = a;
+            right.row = b;
+            return c.compare(left, right);
+        });
+        permute(order);
+    }
+
+    /**
+     * Устойчивая сортировка слиянием номеров строк
+     *
+     * @param a    сортируемый массив номеров строк
+     * @param tmp  вспомогательный массив того же размера
+     * @param from начальная позиция (включительно)
+     * @param to   конечная позиция (не включительно)
+     * @param c    сравнение номеров строк
+     */
+    private static void mergeSort(int[] a, int[] tmp, int from, int to, RowComparator c) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int x = a[i];
+                int j = i - 1;
+                while (j >= from && c.compare(a[j], x) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = x;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, tmp, from, mid, c);
+        mergeSort(a, tmp, mid, to, c);
+        if (c.compare(a[mid - 1], a[mid]) <= 0)
+            return;
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && c.compare(tmp[j], tmp[i]) >= 0)) a[k] = tmp[i++];
+            else a[k] = tmp[j++];
+        }
+    }
+
+    /**
+     * Переставляет строки всех колонок согласно перестановке: новая строка i - это старая строка order[i]
+     *
+     * @param order перестановка номеров строк
+     */
+    private void permute(int[] order) {
+        ByteBuffer newAges = allocate(ages.capacity());
+        ByteBuffer newSexes = allocate(sexes.capacity());
+        ByteBuffer newNames = allocate(names.capacity());
+        ByteBuffer newSurnames = allocate(surnames.capacity());
+        for (int i = 0; i < order.length; i++) {
+            int row = order[i];
+            newAges.putInt(i * Integer.BYTES, ages.getInt(row * Integer.BYTES));
+            newSexes.put(i, sexes.get(row));
+            newNames.putLong(i * Long.BYTES, names.getLong(row * Long.BYTES));
+            newSurnames.putLong(i * Long.BYTES, surnames.getLong(row * Long.BYTES));
+        }
+        ages = newAges;
+        sexes = newSexes;
+        names = newNames;
+        surnames = newSurnames;
+    }
+
+    /**
+     * Кодирует пол в значение колонки пола
+     *
+     * @param sex пол
+     * @return порядковый номер пола, NULL_SEX если пол не указан
+     */
+    private static byte encodeSex(Sex sex) {
+        return sex == null ? NULL_SEX : (byte) sex.ordinal();
+    }
+
+    /**
+     * Добавляет строку в область строк
+     *
+     * @param s добавляемая строка
+     * @return ссылка на строку (смещение и длина), NULL_STRING если строка не инициализирована
+     */
+    private long appendString(String s) {
+        if (s == null)
+            return NULL_STRING;
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        int offset = arenaSize;
+        if (bytes.length > arena.capacity() - offset)
+            growArena(offset + bytes.length);
+        arena.put(offset, bytes);
+        arenaSize = offset + bytes.length;
+        return ((long) offset << 32) | bytes.length;
+    }
+
+    /**
+     * Читает строку из области строк
+     *
+     * @param ref ссылка на строку
+     * @return строка, null если ссылка равна NULL_STRING
+     */
+    private String readString(long ref) {
+        if (ref == NULL_STRING)
+            return null;
+        byte[] bytes = new byte[(int) ref];
+        arena.get((int) (ref >>> 32), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Выделяет колонки указанной ёмкости
+     *
+     * @param newCapacity ёмкость колонок (в строках)
+     */
+    private void allocateColumns(int newCapacity) {
+        ages = allocate(newCapacity * Integer.BYTES);
+        sexes = allocate(newCapacity);
+        names = allocate(newCapacity * Long.BYTES);
+        surnames = allocate(newCapacity * Long.BYTES);
+        capacity = newCapacity;
+    }
+
+    /**
+     * Увеличивает ёмкость колонок, чтобы они вмещали хотя бы minCapacity строк
+     *
+     * @param minCapacity минимальная ёмкость (в строках)
+     * @throws OutOfMemoryError если колонки не помещаются в буфер
+     */
+    private void growColumns(int minCapacity) {
+        int newCapacity = Math.max(growthPolicy.newCapacity(capacity, minCapacity), Math.max(minCapacity, DEFAULT_CAPACITY));
+        newCapacity = Math.min(newCapacity, Integer.MAX_VALUE / Long.BYTES);
+        if (newCapacity < minCapacity)
+            throw new OutOfMemoryError("Required table capacity too large");
+        ByteBuffer oldAges = ages;
+        ByteBuffer oldSexes = sexes;
+        ByteBuffer oldNames = names;
+        ByteBuffer oldSurnames = surnames;
+        allocateColumns(newCapacity);
+        ages.put(0, oldAges, 0, size * Integer.BYTES);
+        sexes.put(0, oldSexes, 0, size);
+        names.put(0, oldNames, 0, size * Long.BYTES);
+        surnames.put(0, oldSurnames, 0, size * Long.BYTES);
+    }
+
+    /**
+     * Увеличивает область строк, чтобы она вмещала хотя бы minCapacity байт
+     *
+     * @param minCapacity минимальная ёмкость (в байтах)
+     * @throws OutOfMemoryError если область строк не помещается в буфер
+     */
+    private void growArena(int minCapacity) {
+        if (minCapacity < 0)
+            throw new OutOfMemoryError("Required arena capacity too large");
+        int newCapacity = Math.max(growthPolicy.newCapacity(arena.capacity(), minCapacity), minCapacity);
+        ByteBuffer newArena = allocate(newCapacity);
+        newArena.put(0, arena, 0, arenaSize);
+        arena = newArena;
+    }
+
+    /**
+     * Выделяет direct-буфер с порядком байт платформы
+     *
+     * @param bytes размер буфера в байтах
+     * @return новый буфер
+     */
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Сравнение двух строк таблицы по их номерам
+     */
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Представление строки таблицы в виде Person. Читает и записывает поля напрямую в колонки таблицы
+     */
+    private final class RowView extends Person {
+
+        /**
+         * Номер строки, на которую указывает представление
+         */
+        private int row;
+
+        RowView() {
+            super(0, null, null, null);
+        }
+
+        @Override
+        public int getAge() {
+            return ages.getInt(row * Integer.BYTES);
+        }
+
+        @Override
+        public void setAge(int age) {
+            PersonTable.this.setAge(row, age);
+        }
+
+        @Override
+        public String getName() {
+            return readString(names.getLong(row * Long.BYTES));
+        }
+
+        @Override
+        public void setName(String name) {
+            PersonTable.this.setName(row, name);
+        }
+
+        @Override
+        public String getSurname() {
+            return readString(surnames.getLong(row * Long.BYTES));
+        }
+
+        @Override
+        public void setSurname(String surname) {
+            PersonTable.this.setSurname(row, surname);
+        }
+
+        @Override
+        public Sex getSex() {
+            byte ordinal = sexes.get(row);
+            return ordinal == NULL_SEX ? null : SEXES[ordinal];
+        }
+
+        @Override
+        public void setSex(Sex sex) {
+            PersonTable.this.setSex(row, sex);
+        }
+    }
+}
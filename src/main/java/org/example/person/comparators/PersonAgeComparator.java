@@ -1,13 +1,13 @@
 package org.example.person.comparators;
 
+import org.example.IntKeyComparator;
 import org.example.person.Person;
 
-import java.util.Comparator;
-
 /**
- * Компаратор для сравнения Person по возрасту
+ * Компаратор для сравнения Person по возрасту. Ключ сортировки - возраст, поэтому MyArrayList
+ * сортирует по нему подсчётом за линейное время
  */
-public class PersonAgeComparator implements Comparator<Person> {
+public class PersonAgeComparator implements IntKeyComparator<Person> {
 
 
     /**
@@ -21,4 +21,15 @@ public class PersonAgeComparator implements Comparator<Person> {
     public int compare(Person o1, Person o2) {
         return Integer.compare(o1.getAge(), o2.getAge());
     }
+
+    /**
+     * Возвращает ключ сортировки - возраст персоны
+     *
+     * @param o персона
+     * @return возраст персоны
+     */
+    @Override
+    public int key(Person o) {
+        return o.getAge();
+    }
 }
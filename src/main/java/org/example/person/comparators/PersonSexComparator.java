@@ -1,13 +1,13 @@
 package org.example.person.comparators;
 
+import org.example.IntKeyComparator;
 import org.example.person.Person;
 
-import java.util.Comparator;
-
 /**
- * Компаратор для сравнения Person по полу
+ * Компаратор для сравнения Person по полу. Ключ сортировки - порядковый номер пола, поэтому MyArrayList
+ * сортирует по нему подсчётом за линейное время
  */
-public class PersonSexComparator implements Comparator<Person> {
+public class PersonSexComparator implements IntKeyComparator<Person> {
 
     /**
      * Сравнивает два объекта Person по полу
@@ -20,4 +20,15 @@ public class PersonSexComparator implements Comparator<Person> {
     public int compare(Person o1, Person o2) {
         return o1.getSex().compareTo(o2.getSex());
     }
+
+    /**
+     * Возвращает ключ сортировки - порядковый номер пола персоны
+     *
+     * @param o персона
+     * @return порядковый номер пола персоны
+     */
+    @Override
+    public int key(Person o) {
+        return o.getSex().ordinal();
+    }
 }
@@ -0,0 +1,34 @@
+package org.example.person.comparators;
+
+import org.example.SortKey;
+import org.example.person.Person;
+
+/**
+ * Ключи сортировки Person для MyArrayList.sortBy. Пол и возраст сохраняются как числа,
+ * для имени и фамилии вычисляется ранг строки
+ */
+public final class PersonSortKeys {
+
+    /**
+     * Ключ сортировки по полу
+     */
+    public static final SortKey<Person> SEX = SortKey.ofEnum(Person::getSex);
+
+    /**
+     * Ключ сортировки по возрасту
+     */
+    public static final SortKey<Person> AGE = SortKey.ofInt(Person::getAge);
+
+    /**
+     * Ключ сортировки по имени, персоны без имени располагаются первыми
+     */
+    public static final SortKey<Person> NAME = SortKey.of(Person::getName);
+
+    /**
+     * Ключ сортировки по фамилии, персоны без фамилии располагаются первыми
+     */
+    public static final SortKey<Person> SURNAME = SortKey.of(Person::getSurname);
+
+    private PersonSortKeys() {
+    }
+}
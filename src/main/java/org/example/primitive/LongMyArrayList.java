@@ -0,0 +1,374 @@
+package org.example.primitive;
+
+import org.example.GrowthPolicy;
+
+import java.util.*;
+import java.util.stream.LongStream;
+
+/**
+ * Динамический массив значений long. Аналог MyArrayList для чисел, хранящий элементы в массиве long[]
+ * без упаковки в Long. Реализует следующие операции над списком: добавить элемент; добавить элемент
+ * по индексу; получить элемент по индексу; удалить элемент по индексу; заменить элемент по индексу;
+ * сортировка; поиск индекса элемента; проверка на наличие элемента; добавление всех элементов другого
+ * списка или массива; конвертация списка в массив; итератор; поток LongStream.
+ *
+ * <p>
+ * Ёмкость увеличивается согласно политике GrowthPolicy, как в MyArrayList
+ */
+public class LongMyArrayList {
+
+    /**
+     * Стандартная начальная ёмкость
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Экземпляр пустого массива, используемый для пустых экземпляров
+     */
+    private static final long[] EMPTY_ELEMENT_DATA = {};
+
+    /**
+     * Экземпляр пустого массива, используемый для пустых экземпляров с размером по умолчанию
+     */
+    private static final long[] DEFAULT_CAPACITY_EMPTY_ELEMENT_DATA = {};
+
+    /**
+     * Максимальный размер массива
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Массив, в котором хранятся элементы списка
+     */
+    private long[] elementData;
+
+    /**
+     * Размер списка (количество содержащихся элементов)
+     */
+    private int size;
+
+    /**
+     * Политика увеличения ёмкости списка
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Конструктор пустого списка
+     */
+    public LongMyArrayList() {
+        this(GrowthPolicy.oneAndHalf());
+    }
+
+    /**
+     * Конструктор пустого списка с указанной политикой увеличения ёмкости
+     *
+     * @param growthPolicy политика увеличения ёмкости
+     * @throws NullPointerException если политика не инициализирована
+     */
+    public LongMyArrayList(GrowthPolicy growthPolicy) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.elementData = DEFAULT_CAPACITY_EMPTY_ELEMENT_DATA;
+    }
+
+    /**
+     * Конструктор пустого списка с указанной начальной емкостью
+     *
+     * @param initialCapacity начальная емкость списка
+     * @throws IllegalArgumentException если начальная ёмкость отрицательная
+     */
+    public LongMyArrayList(int initialCapacity) {
+        if (initialCapacity > 0) {
+            elementData = new long[initialCapacity];
+        } else if (initialCapacity == 0) {
+            elementData = EMPTY_ELEMENT_DATA;
+        } else {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        growthPolicy = GrowthPolicy.oneAndHalf();
+    }
+
+    /**
+     * Конструктор списка, содержащего копию передаваемого массива
+     *
+     * @param values массив, элементы которого должны быть скопированы в список
+     * @throws NullPointerException если массив не инициализирован
+     */
+    public LongMyArrayList(long[] values) {
+        growthPolicy = GrowthPolicy.oneAndHalf();
+        size = values.length;
+        elementData = size == 0 ? EMPTY_ELEMENT_DATA : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает true если список пустой
+     *
+     * @return true если список пустой
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает текущую ёмкость списка
+     *
+     * @return ёмкость списка
+     */
+    public int capacity() {
+        return elementData.length;
+    }
+
+    /**
+     * Увеличивает емкость списка, если это необходимо, чтобы он мог хранить хотя бы minCapacity элементов
+     *
+     * @param minCapacity минимальная емкость
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length
+                && !(elementData == DEFAULT_CAPACITY_EMPTY_ELEMENT_DATA && minCapacity <= DEFAULT_CAPACITY)) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Уменьшает емкость списка до его текущего размера
+     */
+    public void trimToSize() {
+        if (size < elementData.length) {
+            elementData = (size == 0) ? EMPTY_ELEMENT_DATA : Arrays.copyOf(elementData, size);
+        }
+    }
+
+    /**
+     * Увеличивает емкость списка, чтобы он мог хранить хотя бы minCapacity элементов
+     *
+     * @param minCapacity минимальная емкость
+     * @return массив нового размера
+     * @throws OutOfMemoryError если minCapacity отрицательная
+     */
+    private long[] grow(int minCapacity) {
+        int oldCapacity = elementData.length;
+        if (oldCapacity > 0 || elementData != DEFAULT_CAPACITY_EMPTY_ELEMENT_DATA) {
+            if (minCapacity < 0)
+                throw new OutOfMemoryError("Required array length too large");
+            int newCapacity = growthPolicy.newCapacity(oldCapacity, minCapacity);
+            if (newCapacity < minCapacity)
+                newCapacity = minCapacity;
+            else if (newCapacity > MAX_ARRAY_SIZE)
+                newCapacity = Math.max(minCapacity, MAX_ARRAY_SIZE);
+            return elementData = Arrays.copyOf(elementData, newCapacity);
+        } else {
+            return elementData = new long[Math.max(DEFAULT_CAPACITY, minCapacity)];
+        }
+    }
+
+    /**
+     * Добавление элемента в конец списка
+     *
+     * @param e элемент, добавляемый в список
+     * @return true
+     */
+    public boolean add(long e) {
+        if (size == elementData.length) {
+            elementData = grow(size + 1);
+        }
+        elementData[size] = e;
+        size++;
+        return true;
+    }
+
+    /**
+     * Добавление элемента в список по указанной позиции index. Сдвигает остальные элементы списка вправо
+     *
+     * @param index   индекс, по которому вставляется новый элемент (не замена)
+     * @param element элемент, добавляемый в список
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public void add(int index, long element) {
+        if (index > size || index < 0)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if (size == elementData.length) {
+            elementData = grow(size + 1);
+        }
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = element;
+        size++;
+    }
+
+    /**
+     * Возвращает элемент списка по указанной позиции
+     *
+     * @param index индекс (позиция) возвращаемого элемента
+     * @return элемент списка по указанной позиции
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public long get(int index) {
+        Objects.checkIndex(index, size);
+        return elementData[index];
+    }
+
+    /**
+     * Заменяет элемент по указанной позиции в списке на другой (заменяющий)
+     *
+     * @param index   индекс (позиция) элемента для замены
+     * @param element элемент, который должен быть вставлен по указанной позиции
+     * @return элемент, который был заменён
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public long set(int index, long element) {
+        Objects.checkIndex(index, size);
+        long oldValue = elementData[index];
+        elementData[index] = element;
+        return oldValue;
+    }
+
+    /**
+     * Удаляет элемент из списка по указанной позиции
+     *
+     * @param index индекс (позиция) удаляемого элемента
+     * @return элемент, удалённый из списка
+     * @throws IndexOutOfBoundsException если index выходит за пределы размера списка, или он отрицательный
+     */
+    public long remove(int index) {
+        Objects.checkIndex(index, size);
+        long oldValue = elementData[index];
+        System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Очищает список от содержащихся элементов
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения передаваемого элемента в списке,
+     * если его нет в списке, возвращает -1
+     *
+     * @param o передаваемый элемент для получения индекса в списке
+     * @return индекс передаваемого элемента в списке, -1 если элемента нет
+     */
+    public int indexOf(long o) {
+        long[] es = elementData;
+        for (int i = 0; i < size; i++) {
+            if (es[i] == o) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Возвращает true если передаваемый элемент содержится в списке
+     *
+     * @param o передаваемый элемент для проверки наличия в списке
+     * @return true если элемент содержится в списке
+     */
+    public boolean contains(long o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Сортировка элементов списка по возрастанию
+     */
+    public void sort() {
+        Arrays.sort(elementData, 0, size);
+    }
+
+    /**
+     * Вставляет все элементы передаваемого массива в конец списка
+     *
+     * @param values передаваемый массив
+     * @return true, если список изменился
+     * @throws NullPointerException если массив не инициализирован
+     */
+    public boolean addAll(long[] values) {
+        return addAll(values, values.length);
+    }
+
+    /**
+     * Вставляет все элементы передаваемого списка в конец списка
+     *
+     * @param list передаваемый список
+     * @return true, если список изменился
+     * @throws NullPointerException если список не инициализирован
+     */
+    public boolean addAll(LongMyArrayList list) {
+        return addAll(list.elementData, list.size);
+    }
+
+    /**
+     * Вставляет первые numNew элементов массива в конец списка
+     *
+     * @param values массив с добавляемыми элементами
+     * @param numNew количество добавляемых элементов
+     * @return true, если список изменился
+     */
+    private boolean addAll(long[] values, int numNew) {
+        if (numNew == 0)
+            return false;
+        if (numNew > elementData.length - size)
+            elementData = grow(size + numNew);
+        System.arraycopy(values, 0, elementData, size, numNew);
+        size += numNew;
+        return true;
+    }
+
+    /**
+     * Возвращает все элементы списка в виде массива
+     *
+     * @return массив, содержащий все элементы списка
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(elementData, size);
+    }
+
+    /**
+     * Возвращает итератор списка, возвращающий значения без упаковки
+     *
+     * @return итератор списка
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+
+            /**
+             * Индекс элемента, который вернёт следующий nextLong
+             */
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public long nextLong() {
+                int i = cursor;
+                if (i >= size)
+                    throw new NoSuchElementException();
+                cursor = i + 1;
+                return elementData[i];
+            }
+        };
+    }
+
+    /**
+     * Возвращает последовательный поток элементов списка
+     *
+     * @return поток LongStream элементов списка
+     */
+    public LongStream stream() {
+        return Arrays.stream(elementData, 0, size);
+    }
+}
@@ -0,0 +1,196 @@
+package org.example;
+
+import org.example.person.Person;
+import org.example.person.comparators.PersonAgeComparator;
+import org.example.person.enums.Sex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentMyArrayListTest {
+
+    ConcurrentMyArrayList<Person> personList = new ConcurrentMyArrayList<>();
+
+    ConcurrentMyArrayList<Integer> testNumbersList_100000 = new ConcurrentMyArrayList<>();
+
+    Person person1 = new Person(20, "Надежда", "Петрова", Sex.FEMALE);
+    Person person2 = new Person(18, "Иван", "Иванов", Sex.MALE);
+    Person person3 = new Person(20, "Олег", "Орлов", Sex.MALE);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @Before
+    public void setUp() throws Exception {
+        personList.add(person1);
+        personList.add(person2);
+        personList.add(person3);
+
+        for (int i = 0; i < 100000; i++) {
+            testNumbersList_100000.add(i);
+        }
+    }
+
+    @Test
+    public void testGet() {
+        Assert.assertEquals(person2, personList.get(1));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> personList.get(3));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> personList.get(-1));
+    }
+
+    @Test
+    public void testAddWithIndexAndRemove() {
+        personList.add(0, person3);
+
+        Assert.assertEquals(4, personList.size());
+        Assert.assertEquals(person3, personList.remove(0));
+        Assert.assertTrue(personList.remove(person2));
+        Assert.assertFalse(personList.remove(person2));
+        Assert.assertArrayEquals(new Object[]{person1, person3}, personList.toArray());
+    }
+
+    @Test
+    public void testIndexOf() {
+        Assert.assertEquals(2, personList.indexOf(person3));
+        Assert.assertEquals(-1, personList.indexOf(null));
+        Assert.assertTrue(personList.containsAll(List.of(person1, person3)));
+    }
+
+    @Test
+    public void testRemoveIf() {
+        Assert.assertTrue(testNumbersList_100000.removeIf(i -> i % 2 == 0));
+        Assert.assertEquals(50000, testNumbersList_100000.size());
+        Assert.assertEquals((Integer) 99999, testNumbersList_100000.get(49999));
+    }
+
+    @Test
+    public void testSort() {
+        personList.sort(new PersonAgeComparator());
+
+        Assert.assertEquals(person2, personList.get(0));
+    }
+
+    @Test
+    public void testIteratorIsSnapshot() {
+        Iterator<Person> iterator = personList.iterator();
+        personList.clear();
+
+        Assert.assertEquals(person1, iterator.next());
+        Assert.assertThrows(UnsupportedOperationException.class, iterator::remove);
+        Assert.assertTrue(personList.isEmpty());
+    }
+
+    @Test
+    public void testAddIfAbsent() {
+        Assert.assertFalse(personList.addIfAbsent(person1));
+        Person person = new Person(30, "Мария", "Сидорова", Sex.FEMALE);
+        Assert.assertTrue(personList.addIfAbsent(person));
+        Assert.assertEquals(4, personList.size());
+    }
+
+    @Test
+    public void testCompareAndSet() {
+        Assert.assertFalse(personList.compareAndSet(0, person2, person3));
+        Assert.assertTrue(personList.compareAndSet(0, person1, person3));
+        Assert.assertEquals(person3, personList.get(0));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> personList.compareAndSet(5, person1, person3));
+    }
+
+    @Test
+    public void testAdd_withThreads() throws Exception {
+        ConcurrentMyArrayList<Integer> list = new ConcurrentMyArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    list.add(i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(800000, list.size());
+    }
+
+    @Test
+    public void testAddIfAbsent_withThreads() throws Exception {
+        ConcurrentMyArrayList<Integer> list = new ConcurrentMyArrayList<>();
+        AtomicInteger added = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (list.addIfAbsent(i))
+                        added.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(1000, list.size());
+        Assert.assertEquals(1000, added.get());
+        Assert.assertEquals(1000, new HashSet<>(Arrays.asList(list.toArray())).size());
+    }
+
+    @Test
+    public void testCompareAndSet_withThreads() throws Exception {
+        ConcurrentMyArrayList<Integer> counter = new ConcurrentMyArrayList<>();
+        counter.add(0);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    Integer current;
+                    do {
+                        current = counter.get(0);
+                    } while (!counter.compareAndSet(0, current, current + 1));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Assert.assertEquals((Integer) 80000, counter.get(0));
+    }
+
+    @Test
+    public void testGet_withConcurrentWriter() throws Exception {
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < 100000; i++) {
+                testNumbersList_100000.add(i);
+                testNumbersList_100000.remove(testNumbersList_100000.size() - 1);
+                testNumbersList_100000.add(0, -1);
+                testNumbersList_100000.remove(0);
+            }
+        });
+        List<Future<?>> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            readers.add(executor.submit(() -> {
+                Random random = new Random();
+                for (int i = 0; i < 100000; i++) {
+                    int index = random.nextInt(100000);
+                    Integer value = testNumbersList_100000.get(index);
+                    Assert.assertTrue(value == index || value == index - 1 || value == -1);
+                }
+            }));
+        }
+        writer.get();
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(100000, testNumbersList_100000.size());
+    }
+}
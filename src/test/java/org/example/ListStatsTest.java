@@ -0,0 +1,119 @@
+package org.example;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class ListStatsTest {
+
+    @Before
+    public void setUp() {
+        ListStats.reset();
+        ListStats.enable();
+    }
+
+    @After
+    public void tearDown() {
+        ListStats.disable();
+        ListStats.reset();
+    }
+
+    @Test
+    public void testGrowAndCopy() {
+        MyArrayList<Integer> list = new MyArrayList<>(4);
+        for (int i = 0; i < 5; i++)
+            list.add(i);
+        list.add(0, -1);
+        list.remove(1);
+        list.addAll(Arrays.asList(7, 8));
+
+        ListStats stats = ListStats.snapshot();
+        Assert.assertEquals(2, stats.growCalls());
+        Assert.assertEquals(4 + 5 + 4 + 6 + 2, stats.copiedElements());
+        Assert.assertEquals(stats.copiedElements() * ListStats.REFERENCE_BYTES, stats.arraycopyBytes());
+    }
+
+    @Test
+    public void testSortComparisons() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            list.add((i * 7919) % 1000);
+        int[] counted = new int[1];
+
+        list.sort((a, b) -> {
+            counted[0]++;
+            return Integer.compare(a, b);
+        });
+
+        ListStats stats = ListStats.snapshot();
+        Assert.assertEquals(1, stats.sorts());
+        Assert.assertEquals(counted[0], stats.sortComparisons());
+    }
+
+    @Test
+    public void testIndexScans() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < 100; i++)
+            list.add(i);
+
+        list.indexOf(9);
+        list.contains(-1);
+        list.indexOf(null);
+
+        ListStats stats = ListStats.snapshot();
+        Assert.assertEquals(3, stats.indexScans());
+        Assert.assertEquals(10 + 100 + 100, stats.scannedElements());
+        Assert.assertEquals(70, stats.averageScanLength(), 1e-9);
+    }
+
+    @Test
+    public void testDisabled() {
+        ListStats.disable();
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < 100; i++)
+            list.add(0, i);
+        list.sort(Comparator.naturalOrder());
+        list.indexOf(5);
+
+        ListStats stats = ListStats.snapshot();
+        Assert.assertFalse(ListStats.isEnabled());
+        Assert.assertEquals(0, stats.growCalls() + stats.copiedElements() + stats.sorts() + stats.indexScans());
+    }
+
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("list-stats", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.MyArrayList.Grow");
+            recording.enable("org.example.MyArrayList.Sort");
+            recording.enable("org.example.ListStats").with("period", "endChunk");
+            recording.start();
+            MyArrayList<Integer> list = new MyArrayList<>();
+            for (int i = 0; i < 100; i++)
+                list.add(100 - i);
+            list.sort(Comparator.naturalOrder());
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Assert.assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("org.example.MyArrayList.Grow")
+                    && e.getInt("newCapacity") > e.getInt("oldCapacity")));
+            Assert.assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("org.example.MyArrayList.Sort")
+                    && e.getInt("size") == 100 && e.getLong("comparisons") > 0));
+            Assert.assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("org.example.ListStats")
+                    && e.getLong("growCalls") > 0));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
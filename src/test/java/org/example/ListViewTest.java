@@ -0,0 +1,181 @@
+package org.example;
+
+import org.example.person.Person;
+import org.example.person.enums.Sex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ListViewTest {
+
+    MyArrayList<Integer> numbers = new MyArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        for (int i = 0; i < 10; i++)
+            numbers.add(i);
+    }
+
+    @Test
+    public void testMapFilterLimitSkip() {
+        MyArrayList<String> result = numbers.view()
+                .filter(i -> i % 2 == 0)
+                .skip(1)
+                .map(i -> "n" + i)
+                .limit(3)
+                .toMyArrayList();
+
+        Assert.assertArrayEquals(new Object[]{"n2", "n4", "n6"}, result.toArray());
+        Assert.assertEquals(10, numbers.size());
+    }
+
+    @Test
+    public void testWithoutStages() {
+        Assert.assertArrayEquals(numbers.toArray(), numbers.view().toMyArrayList().toArray());
+        Assert.assertEquals(10, numbers.view().count());
+        Assert.assertEquals(0, new MyArrayList<Integer>().view().count());
+    }
+
+    @Test
+    public void testLimit_stopsReadingList() {
+        AtomicInteger mapped = new AtomicInteger();
+
+        long count = numbers.view()
+                .map(i -> {
+                    mapped.incrementAndGet();
+                    return i * 10;
+                })
+                .limit(4)
+                .count();
+
+        Assert.assertEquals(4, count);
+        Assert.assertEquals(4, mapped.get());
+    }
+
+    @Test
+    public void testFirst_stopsReadingList() {
+        AtomicInteger tested = new AtomicInteger();
+
+        Optional<Integer> first = numbers.view()
+                .filter(i -> {
+                    tested.incrementAndGet();
+                    return i > 2;
+                })
+                .first();
+
+        Assert.assertEquals(Optional.of(3), first);
+        Assert.assertEquals(4, tested.get());
+        Assert.assertEquals(Optional.empty(), numbers.view().filter(i -> i > 100).first());
+        Assert.assertThrows(NullPointerException.class, () -> numbers.view().map(i -> null).first());
+    }
+
+    @Test
+    public void testLimitZero_neverReadsList() {
+        AtomicInteger mapped = new AtomicInteger();
+        AtomicInteger tested = new AtomicInteger();
+
+        ListView<Integer> empty = numbers.view()
+                .map(i -> {
+                    mapped.incrementAndGet();
+                    return i;
+                })
+                .filter(i -> {
+                    tested.incrementAndGet();
+                    return i > 5;
+                })
+                .limit(0)
+                .map(i -> i * 10);
+
+        Assert.assertEquals(0, empty.count());
+        Assert.assertEquals(Optional.empty(), empty.first());
+        Assert.assertEquals(0, empty.toMyArrayList().size());
+        empty.forEach(i -> Assert.fail());
+        Assert.assertEquals(0, mapped.get());
+        Assert.assertEquals(0, tested.get());
+    }
+
+    @Test
+    public void testSkipAndLimitBounds() {
+        Assert.assertEquals(0, numbers.view().limit(0).count());
+        Assert.assertEquals(10, numbers.view().limit(100).count());
+        Assert.assertEquals(0, numbers.view().skip(100).count());
+        Assert.assertArrayEquals(new Object[]{8, 9}, numbers.view().skip(8).toMyArrayList().toArray());
+        Assert.assertThrows(IllegalArgumentException.class, () -> numbers.view().limit(-1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> numbers.view().skip(-1));
+    }
+
+    @Test
+    public void testViewIsReusable() {
+        ListView<Integer> firstTwo = numbers.view().skip(1).limit(2);
+
+        Assert.assertArrayEquals(new Object[]{1, 2}, firstTwo.toMyArrayList().toArray());
+        Assert.assertArrayEquals(new Object[]{1, 2}, firstTwo.toMyArrayList().toArray());
+
+        numbers.remove(1);
+        Assert.assertArrayEquals(new Object[]{2, 3}, firstTwo.toMyArrayList().toArray());
+    }
+
+    @Test
+    public void testForEach() {
+        List<Integer> visited = new ArrayList<>();
+
+        numbers.view().filter(i -> i % 3 == 0).forEach(visited::add);
+
+        Assert.assertEquals(Arrays.asList(0, 3, 6, 9), visited);
+    }
+
+    @Test
+    public void testForEach_concurrentModification() {
+        Assert.assertThrows(ConcurrentModificationException.class,
+                () -> numbers.view().limit(2).forEach(numbers::add));
+    }
+
+    @Test
+    public void testPersons() {
+        MyArrayList<Person> persons = new MyArrayList<>();
+        persons.add(new Person(20, "Надежда", "Петрова", Sex.FEMALE));
+        persons.add(new Person(18, "Иван", "Иванов", Sex.MALE));
+        persons.add(new Person(21, "Анастасия", "Боброва", Sex.FEMALE));
+        persons.add(new Person(19, "Мария", "Сидорова", Sex.FEMALE));
+
+        MyArrayList<String> names = persons.view()
+                .filter(p -> p.getSex() == Sex.FEMALE)
+                .map(Person::getName)
+                .limit(2)
+                .toMyArrayList();
+
+        Assert.assertArrayEquals(new Object[]{"Надежда", "Анастасия"}, names.toArray());
+    }
+
+    @Test
+    public void testMapFilterLimit_10000000() {
+        MyArrayList<Integer> many = new MyArrayList<>(10000000);
+        for (int i = 0; i < 10000000; i++)
+            many.add(i);
+
+        MyArrayList<Long> result = many.view()
+                .filter(i -> i % 3 == 0)
+                .map(i -> (long) i * i)
+                .skip(10)
+                .limit(1000000)
+                .toMyArrayList();
+
+        List<Long> expected = IntStream.range(0, 10000000)
+                .filter(i -> i % 3 == 0)
+                .mapToObj(i -> (long) i * i)
+                .skip(10)
+                .limit(1000000)
+                .collect(Collectors.toList());
+        Assert.assertArrayEquals(expected.toArray(), result.toArray());
+        Assert.assertEquals(3333334, many.view().filter(i -> i % 3 == 0).count());
+    }
+}
@@ -1,14 +1,20 @@
 package org.example;
 
 import org.example.person.Person;
+import org.example.person.PersonStringFields;
 import org.example.person.comparators.PersonAgeComparator;
 import org.example.person.comparators.PersonSexComparator;
+import org.example.person.comparators.PersonSortKeys;
 import org.example.person.enums.Sex;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -38,7 +44,7 @@ public class MyArrayListTest {
     Person person4 = new Person(21, "Анастасия", "Боброва", Sex.MALE);
     Person person5 = new Person(19, "Петр", "Петров", Sex.MALE);
 
-    ListIterator<Integer> iterator = testNumbersList_10000000.iterator();
+    ListIterator<Integer> iterator;
 
 
     @Before
@@ -69,6 +75,8 @@ public class MyArrayListTest {
             testNumbersListArrayList_100000.add(i);
         }
 
+        iterator = testNumbersList_10000000.iterator();
+
     }
 
     @Test
@@ -98,6 +106,136 @@ public class MyArrayListTest {
         Assert.assertEquals(5, personList.indexOf(testPerson));
     }
 
+    @Test
+    public void testContains_withNull() {
+        MyArrayList<Person> list = new MyArrayList<>();
+        list.add(testPerson);
+        Assert.assertFalse(list.contains(null));
+        list.add(null);
+        Assert.assertTrue(list.contains(null));
+        Assert.assertEquals(1, list.indexOf(null));
+    }
+
+    @Test
+    public void testLastIndexOf() {
+        personList.add(testPerson);
+        personList.add(testPerson);
+        Assert.assertEquals(-1, emptyList.lastIndexOf(testPerson));
+        Assert.assertEquals(6, personList.lastIndexOf(testPerson));
+        Assert.assertEquals(0, personList.lastIndexOf(person1));
+    }
+
+    @Test
+    public void testHashIndex() {
+        personList.add(testPerson);
+        personList.add(testPerson);
+        personList.enableHashIndex();
+
+        Assert.assertTrue(personList.isHashIndexEnabled());
+        Assert.assertEquals(5, personList.indexOf(testPerson));
+        Assert.assertEquals(6, personList.lastIndexOf(testPerson));
+        Assert.assertFalse(personList.contains(null));
+        Assert.assertTrue(personList.containsAll(personListWithInitialCapacity));
+        Assert.assertTrue(personList.hashIndexMemoryBytes() > 0);
+
+        personList.disableHashIndex();
+        Assert.assertFalse(personList.isHashIndexEnabled());
+        Assert.assertEquals(0, personList.hashIndexMemoryBytes());
+    }
+
+    @Test
+    public void testHashIndex_withModifications() {
+        personList.enableHashIndex();
+
+        personList.add(testPerson);
+        Assert.assertEquals(5, personList.indexOf(testPerson));
+
+        personList.add(0, testPerson);
+        Assert.assertEquals(0, personList.indexOf(testPerson));
+        Assert.assertEquals(6, personList.lastIndexOf(testPerson));
+        Assert.assertEquals(1, personList.indexOf(person1));
+
+        personList.remove(0);
+        Assert.assertEquals(5, personList.indexOf(testPerson));
+        Assert.assertEquals(0, personList.indexOf(person1));
+
+        personList.remove(5);
+        Assert.assertFalse(personList.contains(testPerson));
+
+        personList.set(2, testPerson);
+        Assert.assertEquals(2, personList.indexOf(testPerson));
+        Assert.assertFalse(personList.contains(person3));
+
+        personList.set(4, person1);
+        Assert.assertEquals(0, personList.indexOf(person1));
+        Assert.assertEquals(4, personList.lastIndexOf(person1));
+        Assert.assertFalse(personList.contains(person5));
+
+        personList.sort(new PersonAgeComparator());
+        Assert.assertEquals(0, personList.indexOf(person2));
+
+        Assert.assertTrue(personList.remove(person2));
+        Assert.assertFalse(personList.contains(person2));
+
+        personList.removeIf(p -> p == person1);
+        Assert.assertEquals(-1, personList.indexOf(person1));
+
+        personList.addAll(List.of(person5, person5));
+        Assert.assertEquals(2, personList.indexOf(person5));
+        Assert.assertEquals(3, personList.lastIndexOf(person5));
+
+        personList.clear();
+        Assert.assertFalse(personList.contains(person5));
+        personList.add(person5);
+        Assert.assertEquals(0, personList.indexOf(person5));
+    }
+
+    @Test
+    public void testHashIndex_withRandomOperations() {
+        Random random = new Random(42);
+        MyArrayList<Integer> indexed = new MyArrayList<>();
+        indexed.enableHashIndex();
+        ArrayList<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(100);
+            switch (random.nextInt(5)) {
+                case 0, 1 -> {
+                    indexed.add(value);
+                    expected.add(value);
+                }
+                case 2 -> {
+                    int index = random.nextInt(expected.size() + 1);
+                    indexed.add(index, value);
+                    expected.add(index, value);
+                }
+                case 3 -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        Assert.assertEquals(expected.set(index, value), indexed.set(index, value));
+                    }
+                }
+                default -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextBoolean() ? expected.size() - 1 : random.nextInt(expected.size());
+                        Assert.assertEquals(expected.remove(index), indexed.remove(index));
+                    }
+                }
+            }
+            int probe = random.nextInt(110);
+            Assert.assertEquals(expected.indexOf(probe), indexed.indexOf(probe));
+            Assert.assertEquals(expected.lastIndexOf(probe), indexed.lastIndexOf(probe));
+        }
+    }
+
+    @Test
+    public void testContainsAll_withHashIndex_100000() {
+        testNumbersList_100000.enableHashIndex();
+
+        Assert.assertTrue(testNumbersList_100000.containsAll(testNumbersListArrayList_100000));
+        Assert.assertTrue(testNumbersList_100000.remove((Integer) 99999));
+        Assert.assertFalse(testNumbersList_100000.containsAll(testNumbersListArrayList_100000));
+    }
+
     @Test
     public void testContainsAll() {
         Assert.assertTrue(personList.containsAll(personListWithInitialCapacity));
@@ -136,6 +274,72 @@ public class MyArrayListTest {
         Assert.assertEquals(testNumbersList_10000.size(), testNumbersList_100000.size());
     }
 
+    @Test
+    public void testRetainAll_10000000() {
+        Set<Integer> retained = new HashSet<>();
+        for (int i = 0; i < 10000000; i += 1000) {
+            retained.add(i);
+        }
+        Assert.assertTrue(testNumbersList_10000000.retainAll(retained));
+        Assert.assertEquals(10000, testNumbersList_10000000.size());
+        Assert.assertEquals((Integer) 9999000, testNumbersList_10000000.get(9999));
+    }
+
+    @Test
+    public void testRemoveAll_10000000() {
+        Set<Integer> removed = new HashSet<>();
+        for (int i = 0; i < 10000000; i += 2) {
+            removed.add(i);
+        }
+        Assert.assertTrue(testNumbersList_10000000.removeAll(removed));
+        Assert.assertEquals(5000000, testNumbersList_10000000.size());
+        Assert.assertEquals((Integer) 1, testNumbersList_10000000.get(0));
+        Assert.assertEquals((Integer) 9999999, testNumbersList_10000000.get(4999999));
+    }
+
+    @Test
+    public void testRemoveIf() {
+        Assert.assertTrue(personList.removeIf(p -> p.getSex() == Sex.MALE));
+        Assert.assertEquals(1, personList.size());
+        Assert.assertEquals(person1, personList.get(0));
+        Assert.assertFalse(personList.removeIf(p -> p.getAge() > 100));
+    }
+
+    @Test
+    public void testRemoveIf_100000() {
+        Assert.assertTrue(testNumbersList_100000.removeIf(i -> i % 2 == 0));
+        Assert.assertEquals(50000, testNumbersList_100000.size());
+        for (int i = 0; i < testNumbersList_100000.size(); i++) {
+            Assert.assertEquals((Integer) (2 * i + 1), testNumbersList_100000.get(i));
+        }
+    }
+
+    @Test
+    public void testRemoveIf_10000000() {
+        Assert.assertTrue(testNumbersList_10000000.removeIf(i -> i % 2 == 0));
+        Assert.assertEquals(5000000, testNumbersList_10000000.size());
+        Assert.assertEquals((Integer) 1, testNumbersList_10000000.get(0));
+        Assert.assertEquals((Integer) 9999999, testNumbersList_10000000.get(4999999));
+    }
+
+    @Test
+    public void testRemoveIf_withExceptionKeepsUncheckedElements() {
+        Assert.assertThrows(IllegalStateException.class, () -> personList.removeIf(p -> {
+            if (p == person4) throw new IllegalStateException();
+            return p == person2;
+        }));
+        Assert.assertEquals(4, personList.size());
+        Assert.assertEquals(person1, personList.get(0));
+        Assert.assertEquals(person3, personList.get(1));
+        Assert.assertEquals(person4, personList.get(2));
+        Assert.assertEquals(person5, personList.get(3));
+    }
+
+    @Test
+    public void testRemoveIf_withNullPredicateThrowsException() {
+        Assert.assertThrows(NullPointerException.class, () -> personList.removeIf(null));
+    }
+
     @Test
     public void testAdd() {
         Assert.assertTrue(personList.add(testPerson));
@@ -155,6 +359,164 @@ public class MyArrayListTest {
         }
     }
 
+    @Test
+    public void testAdd_withInitialCapacityOne() {
+        MyArrayList<Integer> list = new MyArrayList<>(1);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(100, list.size());
+        Assert.assertEquals((Integer) 99, list.get(99));
+    }
+
+    @Test
+    public void testGrowthPolicy_doubling() {
+        MyArrayList<Integer> list = new MyArrayList<>(4, GrowthPolicy.doubling());
+        for (int i = 0; i < 5; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(8, list.capacity());
+    }
+
+    @Test
+    public void testGrowthPolicy_additive() {
+        MyArrayList<Integer> list = new MyArrayList<>(4, GrowthPolicy.additive(100));
+        for (int i = 0; i < 5; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(104, list.capacity());
+    }
+
+    @Test
+    public void testGrowthPolicy_custom() {
+        MyArrayList<Integer> list = new MyArrayList<>((oldCapacity, minCapacity) -> oldCapacity + 1);
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(20, list.capacity());
+        Assert.assertEquals((Integer) 19, list.get(19));
+    }
+
+    @Test
+    public void testGrowthPolicy_capacityCoversMinimum() {
+        MyArrayList<Integer> list = new MyArrayList<>(10, GrowthPolicy.additive(1));
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        Assert.assertTrue(list.addAll(testNumbersListArrayList_100000));
+        Assert.assertEquals(100010, list.size());
+        Assert.assertTrue(list.capacity() >= 100010);
+        Assert.assertEquals((Integer) 99999, list.get(100009));
+    }
+
+    @Test
+    public void testGrowthPolicy_withNullPolicyThrowsException() {
+        Assert.assertThrows(NullPointerException.class, () -> new MyArrayList<Integer>(10, null));
+        Assert.assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.additive(0));
+    }
+
+    @Test
+    public void testEnsureCapacity() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.ensureCapacity(1000000);
+        Assert.assertEquals(1000000, list.capacity());
+        for (int i = 0; i < 1000000; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(1000000, list.capacity());
+
+        list.ensureCapacity(10);
+        Assert.assertEquals(1000000, list.capacity());
+    }
+
+    @Test
+    public void testRemoveWithIndex_releasesReference() throws Exception {
+        Person removed = personList.remove(2);
+
+        Field field = MyArrayList.class.getDeclaredField("elementData");
+        field.setAccessible(true);
+        Object[] elementData = (Object[]) field.get(personList);
+        Assert.assertEquals(person3, removed);
+        Assert.assertNull(elementData[4]);
+        Assert.assertFalse(Arrays.asList(elementData).contains(person3));
+    }
+
+    @Test
+    public void testShrinkPolicy() {
+        MyArrayList<Integer> list = new MyArrayList<>(1024);
+        list.setShrinkPolicy(ShrinkPolicy.halving(0.25));
+        for (int i = 0; i < 1024; i++)
+            list.add(i);
+
+        list.removeRange(256, 1024);
+        Assert.assertEquals(1024, list.capacity());
+        list.remove(255);
+        Assert.assertEquals(512, list.capacity());
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+            list.remove(list.size() - 1);
+        }
+        Assert.assertEquals(512, list.capacity());
+
+        list.removeIf(i -> i >= 10);
+        Assert.assertEquals(32, list.capacity());
+        Assert.assertEquals(Integer.valueOf(9), list.get(9));
+        list.clear();
+        Assert.assertEquals(16, list.capacity());
+
+        list.setShrinkPolicy(null);
+        Assert.assertNull(list.getShrinkPolicy());
+    }
+
+    @Test
+    public void testShrinkPolicy_withGapBuffer() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.enableGapBuffer();
+        list.setShrinkPolicy(ShrinkPolicy.halving(0.3, 0));
+        for (int i = 0; i < 100; i++)
+            list.add(0, i);
+
+        for (int i = 0; i < 90; i++)
+            list.remove(5);
+
+        Assert.assertTrue(list.capacity() < 40);
+        Assert.assertArrayEquals(new Object[]{99, 98, 97, 96, 95, 4, 3, 2, 1, 0}, list.toArray());
+    }
+
+    @Test
+    public void testShrinkPolicy_withIllegalArgumentsThrowsException() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ShrinkPolicy.halving(0.5));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ShrinkPolicy.halving(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ShrinkPolicy.halving(Double.NaN));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ShrinkPolicy.halving(0.25, -1));
+    }
+
+    @Test
+    public void testShrinkPolicy_10000000() {
+        testNumbersList_10000000.setShrinkPolicy(ShrinkPolicy.halving(0.25));
+
+        testNumbersList_10000000.removeIf(i -> i % 1000 != 0);
+
+        Assert.assertEquals(10000, testNumbersList_10000000.size());
+        Assert.assertTrue(testNumbersList_10000000.capacity() < 40000);
+        Assert.assertEquals(Integer.valueOf(9999000), testNumbersList_10000000.get(9999));
+    }
+
+    @Test
+    public void testTrimToSize() {
+        testNumbersList_10000000.removeIf(i -> i >= 100);
+        testNumbersList_10000000.trimToSize();
+        Assert.assertEquals(100, testNumbersList_10000000.capacity());
+        Assert.assertEquals((Integer) 99, testNumbersList_10000000.get(99));
+
+        Assert.assertTrue(testNumbersList_10000000.add(100));
+        Assert.assertEquals(101, testNumbersList_10000000.size());
+
+        emptyList.trimToSize();
+        Assert.assertEquals(0, emptyList.capacity());
+        Assert.assertTrue(emptyList.add(testPerson));
+    }
+
     @Test
     public void testAddWithIndex() {
         personList.add(0, testPerson);
@@ -190,6 +552,96 @@ public class MyArrayListTest {
         }
     }
 
+    @Test
+    public void testAddWithIndex_withGapBuffer_withLoop_10000000() {
+        personList.enableGapBuffer();
+        Assert.assertTrue(personList.isGapBufferEnabled());
+        for (int i = 0; i < 10000000; i++) {
+            personList.add(i, testPerson);
+            Assert.assertEquals(personList.get(i), testPerson);
+            Assert.assertEquals(i + 6, personList.size());
+        }
+        Assert.assertEquals(person1, personList.get(10000000));
+        Assert.assertEquals(person5, personList.get(10000004));
+    }
+
+    @Test
+    public void testRemoveWithIndex_withGapBuffer_10000000() {
+        testNumbersList_10000000.enableGapBuffer();
+        for (int i = 0; i < 1000000; i++)
+            Assert.assertEquals((Integer) (5000000 + i), testNumbersList_10000000.remove(5000000));
+
+        Assert.assertEquals(9000000, testNumbersList_10000000.size());
+        Assert.assertEquals((Integer) 4999999, testNumbersList_10000000.get(4999999));
+        Assert.assertEquals((Integer) 6000000, testNumbersList_10000000.get(5000000));
+        Assert.assertEquals(5000000, testNumbersList_10000000.indexOf(6000000));
+    }
+
+    @Test
+    public void testGapBuffer_withIterator() {
+        personList.enableGapBuffer();
+        ListIterator<Person> it = personList.iterator();
+        it.next();
+        it.add(testPerson);
+        it.next();
+        it.remove();
+        it.add(testPerson);
+
+        Assert.assertEquals(List.of(person1, testPerson, testPerson, person3, person4, person5),
+                Arrays.asList(personList.toArray()));
+        personList.disableGapBuffer();
+        Assert.assertFalse(personList.isGapBufferEnabled());
+        Assert.assertEquals(person3, personList.get(3));
+    }
+
+    @Test
+    public void testGapBuffer_withRandomOperations() {
+        Random random = new Random(7);
+        MyArrayList<Integer> gapped = new MyArrayList<>();
+        gapped.enableGapBuffer();
+        ArrayList<Integer> expected = new ArrayList<>();
+        int cursor = 0;
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(1000);
+            if (random.nextInt(10) == 0)
+                cursor = random.nextInt(expected.size() + 1);
+            cursor = Math.min(cursor, expected.size());
+            switch (random.nextInt(6)) {
+                case 0, 1 -> {
+                    gapped.add(cursor, value);
+                    expected.add(cursor, value);
+                    cursor++;
+                }
+                case 2 -> {
+                    gapped.add(value);
+                    expected.add(value);
+                }
+                case 3 -> {
+                    if (cursor < expected.size())
+                        Assert.assertEquals(expected.set(cursor, value), gapped.set(cursor, value));
+                }
+                case 4 -> {
+                    if (cursor > 0) {
+                        cursor--;
+                        Assert.assertEquals(expected.remove(cursor), gapped.remove(cursor));
+                    }
+                }
+                default -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        Assert.assertEquals(expected.get(index), gapped.get(index));
+                    }
+                }
+            }
+            Assert.assertEquals(expected.size(), gapped.size());
+            if (i % 1000 == 0) {
+                Assert.assertArrayEquals(expected.toArray(), gapped.toArray());
+                Assert.assertEquals(expected.indexOf(value), gapped.indexOf(value));
+            }
+        }
+        Assert.assertEquals(expected, gapped.stream().collect(Collectors.toList()));
+    }
+
     @Test
     public void testAddWithIndex_withNegativeIndexThrowsException() {
         Assert.assertThrows(IndexOutOfBoundsException.class, () -> personList.add(-1, testPerson));
@@ -326,11 +778,187 @@ public class MyArrayListTest {
 
         Assert.assertEquals(person2, personListTestSort.get(0));
         Assert.assertEquals(person5, personListTestSort.get(1));
-        Assert.assertEquals(person3, personListTestSort.get(2));
-        Assert.assertEquals(person1, personListTestSort.get(3));
+        Assert.assertEquals(person1, personListTestSort.get(2));
+        Assert.assertEquals(person3, personListTestSort.get(3));
         Assert.assertEquals(person4, personListTestSort.get(4));
     }
 
+    @Test
+    public void testSortByIntKey() {
+        personListTestSort.sortByIntKey(Person::getAge);
+
+        Assert.assertEquals(List.of(person2, person5, person1, person3, person4),
+                Arrays.asList(personListTestSort.toArray()));
+    }
+
+    @Test
+    public void testSortByIntKey_withNegativeAndWideKeys() {
+        MyArrayList<Integer> numbers = new MyArrayList<>();
+        numbers.addAll(List.of(5, Integer.MIN_VALUE, -3, Integer.MAX_VALUE, 0, -3, 1 << 20));
+        numbers.sortByIntKey(Integer::intValue);
+
+        Assert.assertArrayEquals(new Object[]{Integer.MIN_VALUE, -3, -3, 0, 5, 1 << 20, Integer.MAX_VALUE},
+                numbers.toArray());
+    }
+
+    @Test
+    public void testSortByIntKey_withFewSpreadKeys() {
+        MyArrayList<int[]> pairs = new MyArrayList<>();
+        int[][] values = {{65535, 0}, {0, 1}, {40000, 2}, {0, 3}, {65535, 4}};
+        for (int[] pair : values)
+            pairs.add(pair);
+
+        pairs.sortByIntKey(pair -> pair[0]);
+
+        int[] order = new int[pairs.size()];
+        for (int i = 0; i < order.length; i++)
+            order[i] = pairs.get(i)[1];
+        Assert.assertArrayEquals(new int[]{1, 3, 2, 0, 4}, order);
+    }
+
+    @Test
+    public void testSortByIntKey_10000000() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000000; i++) {
+            testNumbersList_10000000.set(i, random.nextInt());
+        }
+        Object[] expected = testNumbersList_10000000.toArray();
+        Arrays.sort(expected);
+
+        testNumbersList_10000000.sortByIntKey(Integer::intValue);
+
+        Assert.assertArrayEquals(expected, testNumbersList_10000000.toArray());
+    }
+
+    @Test
+    public void testSortByEnumKey() {
+        personListTestSort.sortByEnumKey(Person::getSex);
+
+        Assert.assertEquals(List.of(person2, person3, person4, person5, person1),
+                Arrays.asList(personListTestSort.toArray()));
+    }
+
+    @Test
+    public void testSortBy() {
+        personListTestSort.add(testPerson);
+        personListTestSort.sortBy(PersonSortKeys.SEX, PersonSortKeys.AGE, PersonSortKeys.SURNAME);
+
+        Assert.assertEquals(List.of(person2, testPerson, person5, person3, person4, person1),
+                Arrays.asList(personListTestSort.toArray()));
+    }
+
+    @Test
+    public void testSortBy_withReversedKey() {
+        personListTestSort.sortBy(PersonSortKeys.AGE.reversed(), PersonSortKeys.NAME);
+
+        Assert.assertEquals(List.of(person4, person1, person3, person5, person2),
+                Arrays.asList(personListTestSort.toArray()));
+    }
+
+    @Test
+    public void testSortBy_matchesComparatorSort_100000() {
+        Random random = new Random(42);
+        MyArrayList<Person> persons = new MyArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            persons.add(new Person(random.nextInt(100), "Имя" + random.nextInt(50),
+                    random.nextInt(20) == 0 ? null : "Фамилия" + random.nextInt(1000),
+                    random.nextBoolean() ? Sex.MALE : Sex.FEMALE));
+        }
+        Object[] expected = persons.toArray();
+        Comparator<Person> comparator = Comparator.comparing(Person::getSex)
+                .thenComparingInt(Person::getAge)
+                .thenComparing(Person::getSurname, Comparator.nullsFirst(Comparator.naturalOrder()));
+        Arrays.sort(expected, (a, b) -> comparator.compare((Person) a, (Person) b));
+
+        persons.sortBy(PersonSortKeys.SEX, PersonSortKeys.AGE, PersonSortKeys.SURNAME);
+
+        Assert.assertArrayEquals(expected, persons.toArray());
+    }
+
+    @Test
+    public void testSortBy_withWideKeys_10000000() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000000; i++) {
+            testNumbersList_10000000.set(i, random.nextInt());
+        }
+        Object[] expected = testNumbersList_10000000.toArray();
+        Arrays.sort(expected, Comparator.comparingInt(o -> (Integer) o & 1)
+                .thenComparing(o -> (Integer) o, Comparator.reverseOrder()));
+
+        testNumbersList_10000000.sortBy(SortKey.ofInt(o -> o & 1), SortKey.<Integer>ofInt(o -> o).reversed());
+
+        Assert.assertArrayEquals(expected, testNumbersList_10000000.toArray());
+    }
+
+    @Test
+    public void testSortBy_withKeysNotFittingInLong_100000() {
+        Random random = new Random(42);
+        MyArrayList<long[]> pairs = new MyArrayList<>();
+        for (int i = 0; i < 100000; i++)
+            pairs.add(new long[]{random.nextInt(), random.nextInt(4) - 2L + Integer.MIN_VALUE * (long) (i % 2), i});
+
+        pairs.sortBy(SortKey.ofInt(p -> (int) p[0]), SortKey.ofInt(p -> (int) p[1]));
+
+        Object[] actual = pairs.toArray();
+        for (int i = 1; i < actual.length; i++) {
+            long[] a = (long[]) actual[i - 1];
+            long[] b = (long[]) actual[i];
+            Assert.assertTrue(a[0] < b[0] || a[0] == b[0] && ((int) a[1] < (int) b[1]
+                    || (int) a[1] == (int) b[1] && a[2] < b[2]));
+        }
+        Assert.assertEquals(100000, new HashSet<>(Arrays.asList(actual)).size());
+    }
+
+    @Test
+    public void testDedupStrings() {
+        MyArrayList<Person> persons = new MyArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            persons.add(new Person(i, "Имя" + i % 10, i % 3 == 0 ? null : "Фамилия" + i % 20, Sex.MALE));
+        persons.add(null);
+        StringPool pool = new StringPool(64);
+
+        long replaced = persons.dedupStrings(pool, PersonStringFields.NAME, PersonStringFields.SURNAME);
+
+        Assert.assertEquals(1000 - 10 + 666 - 20, replaced);
+        Assert.assertEquals(replaced, pool.hits());
+        Assert.assertTrue(pool.bytesSaved() > 0);
+        for (int i = 10; i < 1000; i++) {
+            Assert.assertSame(persons.get(i % 10).getName(), persons.get(i).getName());
+            Assert.assertEquals("Имя" + i % 10, persons.get(i).getName());
+        }
+        Assert.assertNull(persons.get(999).getSurname());
+        Assert.assertEquals(0, persons.dedupStrings(pool, PersonStringFields.NAME));
+    }
+
+    @Test
+    public void testDedupStrings_10000000() {
+        MyArrayList<String[]> rows = new MyArrayList<>();
+        for (int i = 0; i < 10000000; i++)
+            rows.add(new String[]{Integer.toString(testNumbersList_10000000.get(i) % 1000)});
+        StringPool pool = new StringPool(4096);
+
+        rows.dedupStrings(pool, StringField.of(r -> r[0], (r, s) -> r[0] = s));
+
+        Assert.assertSame(rows.get(5)[0], rows.get(9999005)[0]);
+        Assert.assertTrue(pool.hitRate() > 0.99);
+    }
+
+    @Test
+    public void testSort_withIntKeyComparatorIsStable() {
+        Random random = new Random(42);
+        MyArrayList<Person> persons = new MyArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            persons.add(new Person(random.nextInt(100), "Имя" + i, "Фамилия" + i,
+                    random.nextBoolean() ? Sex.MALE : Sex.FEMALE));
+        }
+        Object[] expected = persons.toArray();
+        Arrays.sort(expected, (a, b) -> Integer.compare(((Person) a).getAge(), ((Person) b).getAge()));
+
+        persons.sort(new PersonAgeComparator());
+
+        Assert.assertArrayEquals(expected, persons.toArray());
+    }
+
     @Test
     public void testSort_withPersonSex() {
 
@@ -378,6 +1006,104 @@ public class MyArrayListTest {
         Assert.assertArrayEquals(testSortedNumbersList.toArray(), testUnsortedNumbersList.toArray());
     }
 
+    @Test
+    public void testParallelSort_withPersonAge() {
+        personListTestSort.parallelSort(new PersonAgeComparator());
+
+        Assert.assertEquals(person2, personListTestSort.get(0));
+        Assert.assertEquals(person5, personListTestSort.get(1));
+        Assert.assertEquals(person4, personListTestSort.get(4));
+    }
+
+    @Test
+    public void testParallelSort_withNumbers_1000000() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int i = 0; i < 1000000; i++) {
+            testSortedNumbersList.add(i);
+            testUnsortedNumbersList.add(1000000 - i - 1);
+        }
+        testUnsortedNumbersList.parallelSort(Comparator.naturalOrder(), false, pool, 1000);
+        pool.shutdown();
+
+        Assert.assertArrayEquals(testSortedNumbersList.toArray(), testUnsortedNumbersList.toArray());
+    }
+
+    @Test
+    public void testParallelSort_withThresholdOne() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++)
+            testUnsortedNumbersList.add(random.nextInt(100));
+        Object[] expected = testUnsortedNumbersList.toArray();
+        Arrays.sort(expected);
+
+        MyArrayList<Integer> unstable = new MyArrayList<>(testUnsortedNumbersList);
+
+        testUnsortedNumbersList.parallelSort(Comparator.naturalOrder(), true, pool, 1);
+        unstable.parallelSort(Comparator.naturalOrder(), false, pool, 1);
+        pool.shutdown();
+
+        Assert.assertArrayEquals(expected, testUnsortedNumbersList.toArray());
+        Assert.assertArrayEquals(expected, unstable.toArray());
+    }
+
+    @Test
+    public void testParallelSort_withNumbers_10000000() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000000; i++) {
+            testNumbersList_10000000.set(i, random.nextInt());
+        }
+        Object[] expected = testNumbersList_10000000.toArray();
+        Arrays.sort(expected);
+
+        testNumbersList_10000000.parallelSort(Comparator.naturalOrder(), true);
+
+        Assert.assertArrayEquals(expected, testNumbersList_10000000.toArray());
+    }
+
+    @Test
+    public void testParallelSort_stableKeepsPreviousOrder() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Random random = new Random(42);
+        MyArrayList<Person> persons = new MyArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            persons.add(new Person(random.nextInt(100), "Имя" + i, "Фамилия" + i,
+                    random.nextBoolean() ? Sex.MALE : Sex.FEMALE));
+        }
+        persons.parallelSort(new PersonAgeComparator(), true, pool, 64);
+        persons.parallelSort(new PersonSexComparator(), true, pool, 64);
+        pool.shutdown();
+
+        for (int i = 1; i < persons.size(); i++) {
+            Person previous = persons.get(i - 1);
+            Person current = persons.get(i);
+            Assert.assertTrue(previous.getSex().compareTo(current.getSex()) <= 0);
+            if (previous.getSex() == current.getSex()) {
+                Assert.assertTrue(previous.getAge() <= current.getAge());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSort_withComparatorExceptionKeepsList() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Object[] before = testNumbersList_100000.toArray();
+        Assert.assertThrows(IllegalStateException.class, () -> testNumbersList_100000.parallelSort((a, b) -> {
+            if (a == 50000 || b == 50000) throw new IllegalStateException();
+            return Integer.compare(b, a);
+        }, true, pool, 100));
+        pool.shutdown();
+
+        Assert.assertArrayEquals(before, testNumbersList_100000.toArray());
+    }
+
+    @Test
+    public void testParallelSort_withIllegalArgumentsThrowsException() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> personList.parallelSort(new PersonAgeComparator(), true, ForkJoinPool.commonPool(), 0));
+        Assert.assertThrows(NullPointerException.class, () -> personList.parallelSort(null));
+    }
+
     @Test
     public void testAddAll() {
         MyArrayList<Person> testPersonList = new MyArrayList<>();
@@ -386,6 +1112,122 @@ public class MyArrayListTest {
         Assert.assertArrayEquals(personList.toArray(), testPersonList.toArray());
     }
 
+    @Test
+    public void testAddAll_fromMyArrayList() {
+        MyArrayList<Integer> source = new MyArrayList<>();
+        source.enableGapBuffer();
+        for (int i = 0; i < 10; i++)
+            source.add(0, i);
+        MyArrayList<Integer> target = new MyArrayList<>(Arrays.asList(100, 101));
+        target.enableHashIndex();
+
+        Assert.assertTrue(target.addAll(source));
+        Assert.assertTrue(target.addAll(target));
+        Assert.assertFalse(target.addAll(new MyArrayList<>()));
+
+        Assert.assertEquals(24, target.size());
+        Assert.assertEquals(Integer.valueOf(9), target.get(2));
+        Assert.assertEquals(Integer.valueOf(0), target.get(23));
+        Assert.assertEquals(2, target.indexOf(9));
+        Assert.assertEquals(14, target.lastIndexOf(9));
+        Assert.assertEquals(23, target.lastIndexOf(0));
+    }
+
+    @Test
+    public void testAddAll_atIndexFromMyArrayList() {
+        MyArrayList<Integer> source = new MyArrayList<>(Arrays.asList(1, 2, 3));
+        MyArrayList<Integer> target = new MyArrayList<>(Arrays.asList(0, 4));
+
+        target.addAll(1, source);
+        target.addAll(1, target);
+
+        Assert.assertArrayEquals(new Object[]{0, 0, 1, 2, 3, 4, 1, 2, 3, 4}, target.toArray());
+    }
+
+    @Test
+    public void testConstructor_fromMyArrayList() {
+        MyArrayList<Person> copy = new MyArrayList<>(personList);
+        copy.set(0, person5);
+
+        Assert.assertEquals(personList.size(), copy.size());
+        Assert.assertEquals(person1, personList.get(0));
+        Assert.assertEquals(0, new MyArrayList<>(emptyList).capacity());
+    }
+
+    @Test
+    public void testAddAll_withIterator() {
+        MyArrayList<Integer> list = new MyArrayList<>(Arrays.asList(-1));
+
+        Assert.assertTrue(list.addAll(Arrays.asList(0, 1, 2).iterator(), 3));
+        Assert.assertEquals(4, list.capacity());
+        Assert.assertTrue(list.addAll(Arrays.asList(3, 4, 5, 6).iterator(), 1));
+        Assert.assertFalse(list.addAll(Collections.<Integer>emptyIterator(), 100));
+
+        Assert.assertArrayEquals(new Object[]{-1, 0, 1, 2, 3, 4, 5, 6}, list.toArray());
+        Assert.assertThrows(IllegalArgumentException.class, () -> list.addAll(list.iterator(), -1));
+        Assert.assertThrows(NullPointerException.class, () -> list.addAll((Iterator<Integer>) null, 0));
+    }
+
+    @Test
+    public void testAddAll_withIteratorThrowingException() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.enableHashIndex();
+        Iterator<Integer> failing = new Iterator<>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (next == 3)
+                    throw new IllegalStateException();
+                return next++;
+            }
+        };
+
+        Assert.assertThrows(IllegalStateException.class, () -> list.addAll(failing, 10));
+        Assert.assertEquals(3, list.size());
+        Assert.assertEquals(2, list.indexOf(2));
+    }
+
+    @Test
+    public void testAddAll_withStream() {
+        MyArrayList<Integer> list = new MyArrayList<>(0);
+
+        Assert.assertTrue(list.addAll(Arrays.asList(1, 2, 3).stream()));
+        Assert.assertEquals(3, list.capacity());
+        Assert.assertTrue(list.addAll(Arrays.asList(4, 5, 6, 7).stream().filter(i -> i % 2 == 0)));
+        Assert.assertFalse(list.addAll(Arrays.<Integer>asList().stream()));
+
+        Assert.assertArrayEquals(new Object[]{1, 2, 3, 4, 6}, list.toArray());
+    }
+
+    @Test
+    public void testAddAll_withStream_10000000() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+
+        list.addAll(java.util.stream.IntStream.range(0, 10000000).boxed().parallel());
+
+        Assert.assertEquals(10000000, list.size());
+        Assert.assertEquals(10000000, list.capacity());
+        for (int i = 0; i < 10000000; i++)
+            Assert.assertEquals(i, (int) list.get(i));
+    }
+
+    @Test
+    public void testAddAll_fromMyArrayList_10000000() {
+        MyArrayList<Integer> merged = new MyArrayList<>(testNumbersList_10000000);
+
+        merged.addAll(testNumbersList_10000000);
+
+        Assert.assertEquals(20000000, merged.size());
+        Assert.assertEquals(Integer.valueOf(9999999), merged.get(9999999));
+        Assert.assertEquals(Integer.valueOf(0), merged.get(10000000));
+    }
+
     @Test
     public void testAddAll_withNegativeIndexThrowsException() {
 
@@ -402,6 +1244,193 @@ public class MyArrayListTest {
         Assert.assertThrows(IndexOutOfBoundsException.class, () -> emptyList.addAll(0, personList));
     }
 
+    @Test
+    public void testRemoveRange() {
+        testNumbersList_100000.enableHashIndex();
+
+        testNumbersList_100000.removeRange(10, 99990);
+        testNumbersList_100000.removeRange(5, 5);
+
+        Assert.assertEquals(20, testNumbersList_100000.size());
+        Assert.assertEquals(Integer.valueOf(9), testNumbersList_100000.get(9));
+        Assert.assertEquals(Integer.valueOf(99990), testNumbersList_100000.get(10));
+        Assert.assertEquals(-1, testNumbersList_100000.indexOf(50000));
+        Assert.assertEquals(10, testNumbersList_100000.indexOf(99990));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> testNumbersList_100000.removeRange(5, 4));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> testNumbersList_100000.removeRange(0, 21));
+    }
+
+    @Test
+    public void testRemoveRange_withGapBuffer() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.enableGapBuffer();
+        for (int i = 0; i < 10; i++)
+            list.add(i, i);
+        list.add(3, 100);
+
+        list.removeRange(2, 6);
+        list.add(2, 200);
+
+        Assert.assertArrayEquals(new Object[]{0, 1, 200, 5, 6, 7, 8, 9}, list.toArray());
+    }
+
+    @Test
+    public void testRemoveRange_10000000() {
+        testNumbersList_10000000.removeRange(1, 9999999);
+
+        Assert.assertArrayEquals(new Object[]{0, 9999999}, testNumbersList_10000000.toArray());
+    }
+
+    @Test
+    public void testSubList() {
+        List<Person> subList = personList.subList(1, 4);
+
+        Assert.assertEquals(3, subList.size());
+        Assert.assertEquals(person2, subList.get(0));
+        Assert.assertEquals(person4, subList.get(2));
+        Assert.assertEquals(person3, subList.set(1, testPerson));
+        Assert.assertEquals(testPerson, personList.get(2));
+        Assert.assertEquals(1, subList.indexOf(testPerson));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> subList.get(3));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> personList.subList(2, 1));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> personList.subList(0, 6));
+    }
+
+    @Test
+    public void testSubList_structuralChanges() {
+        List<Person> subList = personList.subList(1, 4);
+        List<Person> nested = subList.subList(1, 3);
+
+        nested.add(0, testPerson);
+        Assert.assertEquals(4, subList.size());
+        Assert.assertEquals(6, personList.size());
+        Assert.assertEquals(testPerson, personList.get(2));
+
+        Assert.assertEquals(person4, nested.remove(2));
+        nested.clear();
+        Assert.assertEquals(0, nested.size());
+        Assert.assertEquals(1, subList.size());
+        Assert.assertArrayEquals(new Object[]{person1, person2, person5}, personList.toArray());
+
+        Iterator<Person> iterator = subList.iterator();
+        iterator.next();
+        iterator.remove();
+        Assert.assertTrue(subList.isEmpty());
+        Assert.assertArrayEquals(new Object[]{person1, person5}, personList.toArray());
+    }
+
+    @Test
+    public void testSubList_afterListModificationThrowsException() {
+        List<Person> subList = personList.subList(1, 4);
+
+        personList.add(testPerson);
+
+        Assert.assertThrows(ConcurrentModificationException.class, () -> subList.get(0));
+        Assert.assertThrows(ConcurrentModificationException.class, subList::size);
+    }
+
+    @Test
+    public void testSubList_withGapBuffer() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.enableGapBuffer();
+        for (int i = 0; i < 10; i++)
+            list.add(0, i);
+
+        List<Integer> subList = list.subList(2, 8);
+        subList.remove(0);
+        subList.add(5, 100);
+
+        Assert.assertEquals(Arrays.asList(6, 5, 4, 3, 2, 100), subList);
+        Assert.assertArrayEquals(new Object[]{9, 8, 6, 5, 4, 3, 2, 100, 1, 0}, list.toArray());
+    }
+
+    @Test
+    public void testSubList_clear_10000000() {
+        testNumbersList_10000000.subList(100, 9999900).clear();
+
+        Assert.assertEquals(200, testNumbersList_10000000.size());
+        Assert.assertEquals(Integer.valueOf(99), testNumbersList_10000000.get(99));
+        Assert.assertEquals(Integer.valueOf(9999900), testNumbersList_10000000.get(100));
+    }
+
+    @Test
+    public void testInsertAll() {
+        MyArrayList<Integer> list = new MyArrayList<>(Arrays.asList(0, 1, 2, 3));
+        list.enableHashIndex();
+
+        Assert.assertTrue(list.insertAll(new int[]{0, 2, 2, 4}, new Integer[]{10, 20, 21, 40}));
+
+        Assert.assertArrayEquals(new Object[]{10, 0, 1, 20, 21, 2, 3, 40}, list.toArray());
+        Assert.assertEquals(4, list.indexOf(21));
+        Assert.assertFalse(list.insertAll(new int[0], new Integer[0]));
+    }
+
+    @Test
+    public void testInsertAll_withCollection() {
+        MyArrayList<Person> persons = new MyArrayList<>();
+        persons.enableGapBuffer();
+        persons.add(person1);
+        persons.add(0, person2);
+
+        persons.insertAll(new int[]{1, 2}, Arrays.asList(person3, person4));
+
+        Assert.assertArrayEquals(new Object[]{person2, person3, person1, person4}, persons.toArray());
+    }
+
+    @Test
+    public void testInsertAll_withIllegalArgumentsThrowsException() {
+        MyArrayList<Integer> list = new MyArrayList<>(Arrays.asList(0, 1, 2));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> list.insertAll(new int[]{0}, new Integer[]{1, 2}));
+        Assert.assertThrows(IllegalArgumentException.class, () -> list.insertAll(new int[]{2, 1}, new Integer[]{1, 2}));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.insertAll(new int[]{0, 4}, new Integer[]{1, 2}));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.insertAll(new int[]{-1}, new Integer[]{1}));
+        Assert.assertThrows(NullPointerException.class, () -> list.insertAll(null, new Integer[0]));
+        Assert.assertArrayEquals(new Object[]{0, 1, 2}, list.toArray());
+    }
+
+    @Test
+    public void testInsertAll_100000() {
+        Random random = new Random(42);
+        int[] indexes = new int[10000];
+        Integer[] values = new Integer[indexes.length];
+        for (int j = 0; j < indexes.length; j++) {
+            indexes[j] = random.nextInt(100001);
+            values[j] = -j;
+        }
+        Arrays.sort(indexes);
+        ArrayList<Integer> expected = new ArrayList<>(testNumbersListArrayList_100000);
+        for (int j = indexes.length - 1; j >= 0; j--) {
+            int at = indexes[j];
+            while (j > 0 && indexes[j - 1] == at)
+                j--;
+            for (int t = j; t < indexes.length && indexes[t] == at; t++)
+                expected.add(at + t - j, values[t]);
+        }
+
+        testNumbersList_100000.insertAll(indexes, values);
+
+        Assert.assertArrayEquals(expected.toArray(), testNumbersList_100000.toArray());
+    }
+
+    @Test
+    public void testInsertAll_10000000() {
+        int[] indexes = new int[100000];
+        Integer[] values = new Integer[indexes.length];
+        for (int j = 0; j < indexes.length; j++) {
+            indexes[j] = j * 100;
+            values[j] = -j;
+        }
+
+        testNumbersList_10000000.insertAll(indexes, values);
+
+        Assert.assertEquals(10100000, testNumbersList_10000000.size());
+        for (int j = 0; j < indexes.length; j++) {
+            Assert.assertEquals(Integer.valueOf(-j), testNumbersList_10000000.get(j * 101));
+            Assert.assertEquals(Integer.valueOf(j * 100), testNumbersList_10000000.get(j * 101 + 1));
+        }
+    }
+
     @Test
     public void testToArray() {
         List<Person> testPersonList = new ArrayList<>(personList);
@@ -418,6 +1447,208 @@ public class MyArrayListTest {
         Assert.assertSame(personArr, personArrResult);
     }
 
+    @Test
+    public void testSpliteratorCharacteristics() {
+        Spliterator<Person> spliterator = personList.spliterator();
+
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        Assert.assertEquals(5, spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void testSpliteratorTrySplit() {
+        Spliterator<Integer> second = testNumbersList_100000.spliterator();
+        Spliterator<Integer> first = second.trySplit();
+
+        Assert.assertEquals(50000, first.estimateSize());
+        Assert.assertEquals(50000, second.estimateSize());
+        Assert.assertTrue(first.tryAdvance(i -> Assert.assertEquals((Integer) 0, i)));
+        Assert.assertTrue(second.tryAdvance(i -> Assert.assertEquals((Integer) 50000, i)));
+
+        int[] count = new int[1];
+        second.forEachRemaining(i -> count[0]++);
+        Assert.assertEquals(49999, count[0]);
+        Assert.assertFalse(second.tryAdvance(i -> Assert.fail()));
+    }
+
+    @Test
+    public void testSpliteratorTrySplit_withSingleElementReturnsNull() {
+        MyArrayList<Person> list = new MyArrayList<>();
+        list.add(testPerson);
+
+        Assert.assertNull(list.spliterator().trySplit());
+    }
+
+    @Test
+    public void testSpliterator_withConcurrentModificationException() {
+        Assert.assertThrows(ConcurrentModificationException.class,
+                () -> personList.spliterator().forEachRemaining(p -> personList.add(testPerson)));
+    }
+
+    @Test
+    public void testForEach() {
+        int[] ageSum = new int[1];
+        personList.forEach(p -> ageSum[0] += p.getAge());
+
+        Assert.assertEquals(98, ageSum[0]);
+    }
+
+    @Test
+    public void testForEach_10000000() {
+        long[] sum = new long[1];
+        testNumbersList_10000000.forEach(i -> sum[0] += i);
+
+        Assert.assertEquals(10000000L * (10000000L - 1) / 2, sum[0]);
+    }
+
+    @Test
+    public void testForEach_withConcurrentModificationException() {
+        Assert.assertThrows(ConcurrentModificationException.class, () -> personList.forEach(p -> personList.remove(0)));
+    }
+
+    @Test
+    public void testForEachIndexed() {
+        testNumbersList_100000.forEachIndexed((e, i) -> Assert.assertEquals((Integer) i, e));
+
+        Assert.assertThrows(ConcurrentModificationException.class,
+                () -> personList.forEachIndexed((p, i) -> personList.add(i, testPerson)));
+    }
+
+    @Test
+    public void testReplaceAll() {
+        personList.replaceAll(p -> testPerson);
+
+        for (int i = 0; i < personList.size(); i++) {
+            Assert.assertEquals(testPerson, personList.get(i));
+        }
+    }
+
+    @Test
+    public void testReplaceAll_10000000() {
+        testNumbersList_10000000.replaceAll(i -> i * 2);
+
+        Assert.assertEquals((Integer) 0, testNumbersList_10000000.get(0));
+        Assert.assertEquals((Integer) 19999998, testNumbersList_10000000.get(9999999));
+    }
+
+    @Test
+    public void testParallelForEach() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        LongAdder sum = new LongAdder();
+
+        testNumbersList_100000.parallelForEach(sum::add, pool);
+        pool.shutdown();
+
+        Assert.assertEquals(100000L * 99999 / 2, sum.sum());
+        Assert.assertThrows(ConcurrentModificationException.class,
+                () -> personList.parallelForEach(p -> personList.add(testPerson)));
+    }
+
+    @Test
+    public void testParallelReplaceAll_10000000() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        testNumbersList_10000000.enableHashIndex();
+
+        testNumbersList_10000000.parallelReplaceAll(i -> i * 2, pool);
+        pool.shutdown();
+
+        for (int i = 0; i < 10000000; i++)
+            Assert.assertEquals(i * 2, (int) testNumbersList_10000000.get(i));
+        Assert.assertEquals(5, testNumbersList_10000000.indexOf(10));
+    }
+
+    @Test
+    public void testParallelRemoveIf() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ArrayList<Integer> expected = new ArrayList<>(testNumbersListArrayList_100000);
+        expected.removeIf(i -> i % 3 == 0 || i > 90000);
+
+        Assert.assertTrue(testNumbersList_100000.parallelRemoveIf(i -> i % 3 == 0 || i > 90000, pool));
+        Assert.assertFalse(testNumbersList_100000.parallelRemoveIf(i -> i < 0, pool));
+        pool.shutdown();
+
+        Assert.assertArrayEquals(expected.toArray(), testNumbersList_100000.toArray());
+        Assert.assertTrue(personList.parallelRemoveIf(p -> p.getSex() == Sex.MALE));
+        Assert.assertArrayEquals(new Object[]{person1}, personList.toArray());
+    }
+
+    @Test
+    public void testParallelRemoveIf_withExceptionKeepsList() {
+        Assert.assertThrows(IllegalStateException.class, () -> testNumbersList_100000.parallelRemoveIf(i -> {
+            if (i == 99999)
+                throw new IllegalStateException();
+            return i % 2 == 0;
+        }));
+
+        Assert.assertArrayEquals(testNumbersListArrayList_100000.toArray(), testNumbersList_100000.toArray());
+    }
+
+    @Test
+    public void testParallelRemoveIf_10000000() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        testNumbersList_10000000.parallelRemoveIf(i -> i % 2 == 1, pool);
+        pool.shutdown();
+
+        Assert.assertEquals(5000000, testNumbersList_10000000.size());
+        for (int i = 0; i < 5000000; i++)
+            Assert.assertEquals(i * 2, (int) testNumbersList_10000000.get(i));
+    }
+
+    @Test
+    public void testParallelCount_10000000() {
+        Assert.assertEquals(3333334, testNumbersList_10000000.parallelCount(i -> i % 3 == 0));
+        Assert.assertEquals(0, emptyList.parallelCount(p -> true));
+    }
+
+    @Test
+    public void testParallelReduce() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        long sum = testNumbersList_10000000.parallelReduce(0L, (acc, i) -> acc + i, Long::sum, pool);
+        Integer max = testNumbersList_100000.parallelReduce(Integer.MIN_VALUE, Integer::max);
+        int ages = personList.parallelReduce(0, (acc, p) -> acc + p.getAge(), Integer::sum);
+        pool.shutdown();
+
+        Assert.assertEquals(10000000L * 9999999 / 2, sum);
+        Assert.assertEquals(Integer.valueOf(99999), max);
+        Assert.assertEquals(98, ages);
+        Assert.assertEquals(Integer.valueOf(7), new MyArrayList<Integer>().parallelReduce(7, Integer::sum));
+    }
+
+    @Test
+    public void testParallelReduce_isDeterministic() {
+        Random random = new Random(42);
+        MyArrayList<Double> values = new MyArrayList<>();
+        for (int i = 0; i < 1000000; i++)
+            values.add(random.nextDouble() * Math.pow(10, random.nextInt(20)));
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        double first = values.parallelReduce(0.0, Double::sum, Double::sum, single);
+        for (int i = 0; i < 5; i++)
+            Assert.assertEquals(first, values.parallelReduce(0.0, Double::sum, Double::sum, pool), 0);
+        single.shutdown();
+        pool.shutdown();
+    }
+
+    @Test
+    public void testStream() {
+        Assert.assertEquals(4, personList.stream().filter(p -> p.getSex() == Sex.MALE).count());
+        Assert.assertEquals(0, emptyList.stream().count());
+    }
+
+    @Test
+    public void testParallelStream_10000000() {
+        long expected = 10000000L * (10000000L - 1) / 2;
+
+        Assert.assertEquals(expected, testNumbersList_10000000.parallelStream().mapToLong(Integer::longValue).sum());
+        Assert.assertEquals(testNumbersListArrayList_10000000,
+                testNumbersList_10000000.parallelStream().collect(Collectors.toList()));
+    }
+
     @Test
     public void testIteratorHasNext() {
         for (int i = 0; i < testNumbersList_10000000.size(); i++) {
@@ -512,6 +1743,24 @@ public class MyArrayListTest {
         Assert.assertThrows(ConcurrentModificationException.class, () -> iterator.remove());
     }
 
+    @Test
+    public void testIteratorNext_withConcurrentModificationException() {
+        iterator.next();
+        testNumbersList_10000000.add(1);
+        Assert.assertThrows(ConcurrentModificationException.class, () -> iterator.next());
+        Assert.assertThrows(ConcurrentModificationException.class, () -> iterator.previous());
+    }
+
+    @Test
+    public void testIteratorNext_afterIteratorRemove() {
+        Assert.assertEquals((Integer) 0, iterator.next());
+        iterator.remove();
+        Assert.assertEquals((Integer) 1, iterator.next());
+        iterator.add(-1);
+        Assert.assertEquals((Integer) 2, iterator.next());
+        Assert.assertEquals((Integer) (-1), testNumbersList_10000000.get(1));
+    }
+
     @Test
     public void testIteratorSet() {
         for (int i = 0; i < testNumbersList_10000000.size(); i++) {
@@ -0,0 +1,168 @@
+package org.example;
+
+import org.example.person.Person;
+import org.example.person.comparators.PersonAgeComparator;
+import org.example.person.enums.Sex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+public class SortedMyArrayListTest {
+
+    SortedMyArrayList<Person> personList = new SortedMyArrayList<>(new PersonAgeComparator());
+
+    SortedMyArrayList<Integer> testNumbersList_100000 = new SortedMyArrayList<>();
+
+    Person person1 = new Person(20, "Надежда", "Петрова", Sex.FEMALE);
+    Person person2 = new Person(18, "Иван", "Иванов", Sex.MALE);
+    Person person3 = new Person(20, "Олег", "Орлов", Sex.MALE);
+    Person person4 = new Person(21, "Анастасия", "Боброва", Sex.MALE);
+    Person person5 = new Person(19, "Петр", "Петров", Sex.MALE);
+
+    @Before
+    public void setUp() throws Exception {
+        personList.add(person1);
+        personList.add(person2);
+        personList.add(person3);
+        personList.add(person4);
+        personList.add(person5);
+
+        for (int i = 0; i < 100000; i++) {
+            testNumbersList_100000.add(2 * i);
+        }
+    }
+
+    @Test
+    public void testAdd_keepsOrder() {
+        Assert.assertArrayEquals(new Object[]{person2, person5, person1, person3, person4}, personList.toArray());
+        Assert.assertEquals(100000, testNumbersList_100000.size());
+        Assert.assertEquals((Integer) 199998, testNumbersList_100000.get(99999));
+    }
+
+    @Test
+    public void testAdd_withRandomNumbers_100000() {
+        Random random = new Random(42);
+        SortedMyArrayList<Integer> sorted = new SortedMyArrayList<>();
+        ArrayList<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            int value = random.nextInt(1000);
+            sorted.add(value);
+            expected.add(value);
+        }
+        Collections.sort(expected);
+
+        Assert.assertArrayEquals(expected.toArray(), sorted.toArray());
+    }
+
+    @Test
+    public void testAddAll_mergesSortedBatch() {
+        Person testPerson = new Person(20, "Иван", "Иванов", Sex.MALE);
+        Person youngest = new Person(1, "Петр", "Иванов", Sex.MALE);
+        Assert.assertTrue(personList.addAll(List.of(testPerson, youngest)));
+        Assert.assertFalse(personList.addAll(List.of()));
+
+        Assert.assertArrayEquals(new Object[]{youngest, person2, person5, person1, person3, testPerson, person4},
+                personList.toArray());
+    }
+
+    @Test
+    public void testAddAll_100000() {
+        ArrayList<Integer> odd = new ArrayList<>();
+        for (int i = 100000 - 1; i >= 0; i--) {
+            odd.add(2 * i + 1);
+        }
+        testNumbersList_100000.addAll(odd);
+
+        Assert.assertEquals(200000, testNumbersList_100000.size());
+        for (int i = 0; i < 200000; i++) {
+            Assert.assertEquals((Integer) i, testNumbersList_100000.get(i));
+        }
+    }
+
+    @Test
+    public void testBinarySearch() {
+        Assert.assertEquals(500, testNumbersList_100000.binarySearch(1000));
+        Assert.assertEquals(-502, testNumbersList_100000.binarySearch(1001));
+        Assert.assertEquals(-1, testNumbersList_100000.binarySearch(-5));
+        Assert.assertEquals(-100001, testNumbersList_100000.binarySearch(1000000));
+        Assert.assertEquals(2, personList.binarySearch(new Person(20, null, null, null)));
+    }
+
+    @Test
+    public void testFloorAndCeiling() {
+        Assert.assertEquals((Integer) 1000, testNumbersList_100000.floor(1001));
+        Assert.assertEquals((Integer) 1002, testNumbersList_100000.ceiling(1001));
+        Assert.assertEquals((Integer) 1000, testNumbersList_100000.floor(1000));
+        Assert.assertEquals((Integer) 1000, testNumbersList_100000.ceiling(1000));
+        Assert.assertNull(testNumbersList_100000.floor(-1));
+        Assert.assertNull(testNumbersList_100000.ceiling(199999));
+        Assert.assertEquals(person3, personList.floor(new Person(20, null, null, null)));
+        Assert.assertEquals(person1, personList.ceiling(new Person(20, null, null, null)));
+    }
+
+    @Test
+    public void testRangeCount() {
+        Assert.assertEquals(50, testNumbersList_100000.rangeCount(100, 200));
+        Assert.assertEquals(0, testNumbersList_100000.rangeCount(7, 7));
+        Assert.assertEquals(100000, testNumbersList_100000.rangeCount(-1, 1000000));
+        Assert.assertEquals(3, personList.rangeCount(new Person(19, null, null, null), new Person(21, null, null, null)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> testNumbersList_100000.rangeCount(5, 4));
+    }
+
+    @Test
+    public void testSubRange() {
+        List<Integer> range = testNumbersList_100000.subRange(100, 110);
+
+        Assert.assertEquals(List.of(100, 102, 104, 106, 108), range);
+        Assert.assertEquals((Integer) 104, range.get(2));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> range.get(5));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> range.add(101));
+
+        testNumbersList_100000.add(101);
+        Assert.assertThrows(ConcurrentModificationException.class, () -> range.get(0));
+    }
+
+    @Test
+    public void testContainsAndIndexOf() {
+        Person testPerson = new Person(20, "Иван", "Иванов", Sex.MALE);
+        Assert.assertTrue(personList.contains(person3));
+        Assert.assertFalse(personList.contains(testPerson));
+        Assert.assertEquals(3, personList.indexOf(person3));
+        Assert.assertEquals(-1, personList.indexOf(testPerson));
+        Assert.assertTrue(testNumbersList_100000.containsAll(List.of(0, 500, 199998)));
+        Assert.assertFalse(testNumbersList_100000.containsAll(List.of(0, 501)));
+    }
+
+    @Test
+    public void testRemove() {
+        Assert.assertTrue(personList.remove(person1));
+        Assert.assertFalse(personList.remove(person1));
+        Assert.assertEquals(person2, personList.remove(0));
+        Assert.assertTrue(testNumbersList_100000.removeIf(i -> i % 4 == 0));
+
+        Assert.assertArrayEquals(new Object[]{person5, person3, person4}, personList.toArray());
+        Assert.assertEquals(50000, testNumbersList_100000.size());
+        Assert.assertEquals((Integer) 2, testNumbersList_100000.get(0));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Iterator<Person> it = personList.iterator();
+        while (it.hasNext()) {
+            if (it.next().getAge() == 20)
+                it.remove();
+        }
+
+        Assert.assertArrayEquals(new Object[]{person2, person5, person4}, personList.toArray());
+    }
+
+    @Test
+    public void testConstructorWithCollection() {
+        SortedMyArrayList<Integer> sorted = new SortedMyArrayList<>(List.of(5, 3, 9, 1), Comparator.reverseOrder());
+
+        Assert.assertArrayEquals(new Object[]{9, 5, 3, 1}, sorted.toArray());
+        Assert.assertEquals(18, sorted.stream().mapToInt(Integer::intValue).sum());
+    }
+}
@@ -0,0 +1,111 @@
+package org.example;
+
+import org.example.person.Person;
+import org.example.person.enums.Sex;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class StringPoolTest {
+
+    StringPool pool = new StringPool(1024);
+
+    @After
+    public void tearDown() {
+        Person.setStringPool(null);
+    }
+
+    @Test
+    public void testIntern() {
+        String first = new String("Иван");
+        String second = new String("Иван");
+
+        Assert.assertSame(first, pool.intern(first));
+        Assert.assertSame(first, pool.intern(second));
+        Assert.assertSame(first, pool.intern(first));
+        Assert.assertNull(pool.intern(null));
+
+        Assert.assertEquals(2, pool.hits());
+        Assert.assertEquals(1, pool.misses());
+        Assert.assertEquals(2.0 / 3, pool.hitRate(), 1e-9);
+        Assert.assertEquals(24 + 24, pool.bytesSaved());
+    }
+
+    @Test
+    public void testIntern_isBounded() {
+        StringPool small = new StringPool(3);
+        Assert.assertEquals(4, small.capacity());
+
+        for (int i = 0; i < 100000; i++)
+            small.intern("Имя" + i);
+
+        Assert.assertEquals(100000, small.misses());
+        Assert.assertEquals(0, small.hitRate(), 0);
+        small.clear();
+        Assert.assertEquals(0, small.misses());
+    }
+
+    @Test
+    public void testIntern_keepsRecentlyUsedString() {
+        StringPool small = new StringPool(2);
+        String hot = new String("Иван");
+        small.intern(hot);
+
+        for (int i = 0; i < 1000; i++) {
+            small.intern("Имя" + i);
+            Assert.assertSame(hot, small.intern(new String("Иван")));
+        }
+
+        Assert.assertEquals(1000, small.hits());
+        Assert.assertEquals(1001, small.misses());
+    }
+
+    @Test
+    public void testConstructor_withIllegalCapacity() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new StringPool(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new StringPool((1 << 30) + 1));
+    }
+
+    @Test
+    public void testIntern_concurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = executor.submit(() -> {
+                    for (int i = 0; i < 100000; i++) {
+                        String s = "Фамилия" + i % 100;
+                        Assert.assertEquals(s, pool.intern(s));
+                    }
+                });
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(400000, pool.hits() + pool.misses());
+        Assert.assertTrue(pool.hitRate() > 0.9);
+    }
+
+    @Test
+    public void testPerson_withStringPool() {
+        Person.setStringPool(pool);
+        Person person1 = new Person(20, new String("Иван"), new String("Иванов"), Sex.MALE);
+        Person person2 = new Person(30, new String("Иван"), null, Sex.MALE);
+        person2.setSurname(new String("Иванов"));
+
+        Assert.assertSame(person1.getName(), person2.getName());
+        Assert.assertSame(person1.getSurname(), person2.getSurname());
+        Assert.assertSame(pool, Person.getStringPool());
+
+        Person.setStringPool(null);
+        person2.setName(new String("Иван"));
+        Assert.assertNotSame(person1.getName(), person2.getName());
+    }
+}
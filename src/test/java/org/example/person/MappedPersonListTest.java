@@ -0,0 +1,155 @@
+package org.example.person;
+
+import org.example.MyArrayList;
+import org.example.person.enums.Sex;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Random;
+
+public class MappedPersonListTest {
+
+    MyArrayList<Person> personList = new MyArrayList<>();
+
+    Path file;
+
+    Person person1 = new Person(20, "Надежда", "Петрова", Sex.FEMALE);
+    Person person2 = new Person(18, "Иван", "Иванов", Sex.MALE);
+    Person person3 = new Person(20, "Олег", null, null);
+
+    @Before
+    public void setUp() throws Exception {
+        personList.add(person1);
+        personList.add(person2);
+        personList.add(person3);
+
+        file = Files.createTempFile("persons", ".bin");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testSaveAndOpen() throws IOException {
+        MappedPersonList.save(personList, file);
+
+        try (MappedPersonList mapped = MappedPersonList.open(file)) {
+            Assert.assertEquals(3, mapped.size());
+            assertPerson(person1, mapped.get(0));
+            assertPerson(person2, mapped.get(1));
+            assertPerson(person3, mapped.get(2));
+            Assert.assertEquals(18, mapped.getAge(1));
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> mapped.get(3));
+            Assert.assertThrows(UnsupportedOperationException.class, () -> mapped.add(person1));
+        }
+    }
+
+    @Test
+    public void testSaveAndOpen_withEmptyList() throws IOException {
+        MappedPersonList.save(new MyArrayList<>(), file);
+
+        try (MappedPersonList mapped = MappedPersonList.open(file)) {
+            Assert.assertTrue(mapped.isEmpty());
+            Assert.assertFalse(mapped.iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void testAppend() throws IOException {
+        try (MappedPersonList mapped = MappedPersonList.openForAppend(file)) {
+            mapped.add(person1);
+            mapped.add(person2);
+        }
+        try (MappedPersonList mapped = MappedPersonList.openForAppend(file)) {
+            Assert.assertEquals(2, mapped.size());
+            mapped.add(person3);
+            assertPerson(person3, mapped.get(2));
+        }
+        try (MappedPersonList mapped = MappedPersonList.open(file)) {
+            MyArrayList<Person> list = mapped.toMyArrayList();
+            Assert.assertEquals(3, list.size());
+            assertPerson(person1, list.get(0));
+            assertPerson(person3, list.get(2));
+        }
+    }
+
+    @Test
+    public void testAppend_1000000() throws IOException {
+        Random random = new Random(42);
+        try (MappedPersonList mapped = MappedPersonList.openForAppend(file)) {
+            for (int i = 0; i < 1000000; i++)
+                mapped.add(new Person(random.nextInt(100), "Имя" + i, "Фамилия" + i, Sex.values()[i % 2]));
+        }
+        random = new Random(42);
+        try (MappedPersonList mapped = MappedPersonList.open(file)) {
+            Assert.assertEquals(1000000, mapped.size());
+            Iterator<Person> it = mapped.iterator();
+            for (int i = 0; i < 1000000; i++) {
+                Person person = it.next();
+                Assert.assertEquals(random.nextInt(100), person.getAge());
+                Assert.assertEquals("Фамилия" + i, person.getSurname());
+            }
+            Assert.assertFalse(it.hasNext());
+        }
+    }
+
+    @Test
+    public void testOpen_withCorruptedData() throws IOException {
+        MappedPersonList.save(personList, file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 40);
+        }
+
+        IOException e = Assert.assertThrows(IOException.class, () -> MappedPersonList.open(file));
+        Assert.assertEquals("Checksum mismatch", e.getMessage());
+    }
+
+    @Test
+    public void testOpen_withTornWrite() throws IOException {
+        MappedPersonList.save(personList, file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        Assert.assertThrows(IOException.class, () -> MappedPersonList.open(file));
+    }
+
+    @Test
+    public void testOpen_withOtherVersion() throws IOException {
+        MappedPersonList.save(personList, file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{2, 0, 0, 0}), 4);
+        }
+
+        IOException e = Assert.assertThrows(IOException.class, () -> MappedPersonList.open(file));
+        Assert.assertEquals("Unsupported version: 2", e.getMessage());
+        Assert.assertThrows(IOException.class, () -> MappedPersonList.open(Files.write(file, new byte[]{1, 2})));
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        MappedPersonList.save(personList, file);
+        MappedPersonList mapped = MappedPersonList.open(file);
+        mapped.close();
+
+        Assert.assertThrows(IllegalStateException.class, () -> mapped.get(0));
+    }
+
+    private static void assertPerson(Person expected, Person actual) {
+        Assert.assertEquals(expected.getAge(), actual.getAge());
+        Assert.assertEquals(expected.getName(), actual.getName());
+        Assert.assertEquals(expected.getSurname(), actual.getSurname());
+        Assert.assertEquals(expected.getSex(), actual.getSex());
+    }
+}
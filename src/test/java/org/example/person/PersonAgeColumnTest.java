@@ -0,0 +1,145 @@
+package org.example.person;
+
+import org.example.MyArrayList;
+import org.example.person.comparators.PersonAgeComparator;
+import org.example.person.enums.Sex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class PersonAgeColumnTest {
+
+    MyArrayList<Person> persons = new MyArrayList<>();
+
+    PersonAgeColumn ageColumn = new PersonAgeColumn(persons);
+
+    Person person1 = new Person(20, "Надежда", "Петрова", Sex.FEMALE);
+    Person person2 = new Person(18, "Иван", "Иванов", Sex.MALE);
+    Person person3 = new Person(20, "Олег", "Орлов", Sex.MALE);
+    Person person4 = new Person(21, "Анастасия", "Боброва", Sex.MALE);
+    Person person5 = new Person(19, "Петр", "Петров", Sex.MALE);
+
+    @Before
+    public void setUp() throws Exception {
+        persons.add(person1);
+        persons.add(person2);
+        persons.add(person3);
+        persons.add(person4);
+        persons.add(person5);
+    }
+
+    @Test
+    public void testRangeIndexes() {
+        Assert.assertArrayEquals(new int[]{0, 2, 3}, ageColumn.rangeIndexes(20, 21));
+        Assert.assertArrayEquals(new int[]{1, 4}, ageColumn.rangeIndexes(0, 19));
+        Assert.assertArrayEquals(new int[0], ageColumn.rangeIndexes(22, 100));
+        Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 4},
+                ageColumn.rangeIndexes(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        Assert.assertEquals(5, ageColumn.size());
+    }
+
+    @Test
+    public void testRangeIndexes_illegalRange() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ageColumn.rangeIndexes(21, 20));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ageColumn.countRange(21, 20));
+    }
+
+    @Test
+    public void testEqual() {
+        Assert.assertArrayEquals(new int[]{0, 2}, ageColumn.equalIndexes(20));
+        Assert.assertArrayEquals(new long[]{0b101L}, ageColumn.equalBitmap(20));
+        Assert.assertArrayEquals(new int[0], ageColumn.equalIndexes(30));
+    }
+
+    @Test
+    public void testRangeBitmap() {
+        Assert.assertArrayEquals(new long[]{0b01101L}, ageColumn.rangeBitmap(20, 21));
+        Assert.assertEquals(3, ageColumn.countRange(20, 21));
+        Assert.assertArrayEquals(new long[0], new PersonAgeColumn(new MyArrayList<>()).rangeBitmap(0, 100));
+    }
+
+    @Test
+    public void testRebuild_afterListChanges() {
+        Assert.assertEquals(2, ageColumn.countRange(20, 20));
+
+        persons.add(new Person(20, "Мария", "Сидорова", Sex.FEMALE));
+        Assert.assertArrayEquals(new int[]{0, 2, 5}, ageColumn.equalIndexes(20));
+
+        persons.remove(0);
+        Assert.assertArrayEquals(new int[]{1, 4}, ageColumn.equalIndexes(20));
+
+        persons.set(0, person4);
+        Assert.assertArrayEquals(new int[]{0, 2}, ageColumn.equalIndexes(21));
+
+        persons.sort(new PersonAgeComparator());
+        Assert.assertArrayEquals(new int[]{1, 2}, ageColumn.equalIndexes(20));
+        Assert.assertEquals(5, ageColumn.size());
+    }
+
+    @Test
+    public void testRefresh_afterSetAge() {
+        Assert.assertArrayEquals(new int[]{3}, ageColumn.equalIndexes(21));
+
+        person2.setAge(21);
+        Assert.assertArrayEquals(new int[]{3}, ageColumn.equalIndexes(21));
+
+        ageColumn.refresh();
+        Assert.assertArrayEquals(new int[]{1, 3}, ageColumn.equalIndexes(21));
+    }
+
+    @Test
+    public void testNullPersons() {
+        persons.add(null);
+        persons.add(new Person(0, "Мария", "Сидорова", Sex.FEMALE));
+
+        Assert.assertArrayEquals(new int[]{6}, ageColumn.equalIndexes(0));
+        Assert.assertEquals(6, ageColumn.countRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+
+        persons.remove(5);
+        Assert.assertArrayEquals(new int[]{5}, ageColumn.equalIndexes(0));
+    }
+
+    @Test
+    public void testVectorKernel_matchesScalar() {
+        if (!PersonAgeColumn.VECTORIZED)
+            return;
+        Random random = new Random(42);
+        int[] ages = new int[64 * 100];
+        for (int i = 0; i < ages.length; i++)
+            ages[i] = i % 7 == 0 ? random.nextInt() : random.nextInt(120) - 10;
+        ages[0] = Integer.MIN_VALUE;
+        ages[1] = Integer.MAX_VALUE;
+        int[][] ranges = {{18, 30}, {42, 42}, {Integer.MIN_VALUE, 0}, {100, Integer.MAX_VALUE},
+                {Integer.MIN_VALUE, Integer.MAX_VALUE}};
+
+        for (int[] range : ranges) {
+            long[] expected = new long[100];
+            long[] actual = new long[100];
+            PersonAgeColumn.scalarRangeWords(ages, 100, range[0], range[1], expected);
+            AgeVectorKernel.rangeWords(ages, 100, range[0], range[1], actual);
+            Assert.assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testRangeIndexes_10000000() {
+        MyArrayList<Person> many = new MyArrayList<>(10000000);
+        Random random = new Random(42);
+        for (int i = 0; i < 10000000; i++)
+            many.add(new Person(random.nextInt(100), "Иван", "Иванов", Sex.MALE));
+        PersonAgeColumn column = new PersonAgeColumn(many);
+
+        int[] indexes = column.rangeIndexes(18, 30);
+
+        int expected = 0;
+        for (int i = 0; i < many.size(); i++) {
+            int age = many.get(i).getAge();
+            if (age >= 18 && age <= 30)
+                Assert.assertEquals(i, indexes[expected++]);
+        }
+        Assert.assertEquals(expected, indexes.length);
+        Assert.assertEquals(expected, column.countRange(18, 30));
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.person;
+
+import org.example.MyArrayList;
+import org.example.person.enums.Sex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+
+public class PersonBatchCodecTest {
+
+    MyArrayList<Person> personList = new MyArrayList<>();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    Person person1 = new Person(20, "Надежда", "Петрова", Sex.FEMALE);
+    Person person2 = new Person(18, "Иван", "Иванов", Sex.MALE);
+    Person person3 = new Person(-5, null, "O'Brien 😀", null);
+    Person person4 = new Person(Integer.MAX_VALUE, "Иван", null, Sex.MALE);
+
+    @Before
+    public void setUp() throws Exception {
+        personList.add(person1);
+        personList.add(person2);
+        personList.add(person3);
+        personList.add(person4);
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        try (PersonBatchWriter writer = new PersonBatchWriter(Channels.newChannel(bytes))) {
+            writer.writeAll(personList);
+        }
+
+        MyArrayList<Person> read = new MyArrayList<>();
+        try (PersonBatchReader reader = reader()) {
+            Assert.assertEquals(4, reader.readAll(read));
+            Assert.assertNull(reader.read());
+        }
+        for (int i = 0; i < personList.size(); i++)
+            assertPerson(personList.get(i), read.get(i));
+        Assert.assertSame(read.get(1).getName(), read.get(3).getName());
+    }
+
+    @Test
+    public void testWriteAndRead_withEmptyStream() throws IOException {
+        new PersonBatchWriter(Channels.newChannel(bytes)).close();
+
+        Assert.assertEquals(5, bytes.size());
+        Assert.assertNull(reader().read());
+    }
+
+    @Test
+    public void testWriteAndRead_withUnpairedSurrogate() throws IOException {
+        try (PersonBatchWriter writer = new PersonBatchWriter(Channels.newChannel(bytes))) {
+            writer.write(new Person(1, "a\uD800b", "\uDC00", Sex.MALE));
+        }
+
+        Person read = reader().read();
+        Assert.assertEquals("a?b", read.getName());
+        Assert.assertEquals("?", read.getSurname());
+    }
+
+    @Test
+    public void testWriteAndRead_1000000() throws IOException {
+        Random random = new Random(42);
+        try (PersonBatchWriter writer = new PersonBatchWriter(Channels.newChannel(bytes), 1000, 4096)) {
+            for (int i = 0; i < 1000000; i++) {
+                writer.write(new Person(random.nextInt(100), "Имя" + random.nextInt(100),
+                        "Фамилия" + i, random.nextInt(10) == 0 ? null : Sex.values()[i % 2]));
+            }
+        }
+
+        random = new Random(42);
+        try (PersonBatchReader reader = reader()) {
+            for (int i = 0; i < 1000000; i++) {
+                Person person = reader.read();
+                Assert.assertEquals(random.nextInt(100), person.getAge());
+                Assert.assertEquals("Имя" + random.nextInt(100), person.getName());
+                Assert.assertEquals("Фамилия" + i, person.getSurname());
+                Assert.assertEquals(random.nextInt(10) == 0 ? null : Sex.values()[i % 2], person.getSex());
+            }
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testWrite_batchesAreBounded() throws IOException {
+        int[] maxWrite = new int[1];
+        WritableByteChannel channel = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) {
+                maxWrite[0] = Math.max(maxWrite[0], src.remaining());
+                int n = src.remaining();
+                src.position(src.limit());
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (PersonBatchWriter writer = new PersonBatchWriter(channel, 100, 1024)) {
+            for (int i = 0; i < 100000; i++)
+                writer.write(new Person(i, "Имя" + i, "Фамилия" + i, Sex.MALE));
+        }
+
+        Assert.assertTrue(maxWrite[0] <= 1024);
+    }
+
+    @Test
+    public void testWrite_withOversizedRecord() throws IOException {
+        char[] name = new char[10000];
+        Arrays.fill(name, 'ж');
+        try (PersonBatchWriter writer = new PersonBatchWriter(Channels.newChannel(bytes), 10, 64)) {
+            writer.writeAll(personList);
+            writer.write(new Person(1, new String(name), null, Sex.FEMALE));
+        }
+
+        MyArrayList<Person> read = new MyArrayList<>();
+        Assert.assertEquals(5, reader().readAll(read));
+        Assert.assertEquals(new String(name), read.get(4).getName());
+    }
+
+    @Test
+    public void testWrite_afterFinishThrowsException() throws IOException {
+        PersonBatchWriter writer = new PersonBatchWriter(Channels.newChannel(bytes));
+        writer.finish();
+
+        Assert.assertThrows(IllegalStateException.class, () -> writer.write(person1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new PersonBatchWriter(Channels.newChannel(bytes), 0, 1024));
+    }
+
+    @Test
+    public void testRead_withTruncatedStream() throws IOException {
+        try (PersonBatchWriter writer = new PersonBatchWriter(Channels.newChannel(bytes))) {
+            writer.writeAll(personList);
+        }
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 5);
+
+        PersonBatchReader reader = new PersonBatchReader(Channels.newChannel(new ByteArrayInputStream(truncated)));
+        for (int i = 0; i < 4; i++)
+            Assert.assertNotNull(reader.read());
+        Assert.assertThrows(EOFException.class, reader::read);
+        PersonBatchReader cut = new PersonBatchReader(Channels.newChannel(new ByteArrayInputStream(truncated, 0, 20)));
+        Assert.assertThrows(EOFException.class, cut::read);
+    }
+
+    @Test
+    public void testRead_withCorruptedStream() {
+        byte[] corrupted = {0x7F, 0, 0, 0, 1};
+        PersonBatchReader reader = new PersonBatchReader(Channels.newChannel(new ByteArrayInputStream(corrupted)), 1024);
+        IOException e = Assert.assertThrows(IOException.class, reader::read);
+        Assert.assertEquals("Illegal batch length: 2130706432", e.getMessage());
+
+        byte[] badRef = {0, 0, 0, 4, 1, 0, 0, 0, 0, 5, 0};
+        PersonBatchReader badReader = new PersonBatchReader(Channels.newChannel(new ByteArrayInputStream(badRef)));
+        Assert.assertThrows(IOException.class, badReader::read);
+    }
+
+    private PersonBatchReader reader() {
+        return new PersonBatchReader(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static void assertPerson(Person expected, Person actual) {
+        Assert.assertEquals(expected.getAge(), actual.getAge());
+        Assert.assertEquals(expected.getName(), actual.getName());
+        Assert.assertEquals(expected.getSurname(), actual.getSurname());
+        Assert.assertEquals(expected.getSex(), actual.getSex());
+    }
+}
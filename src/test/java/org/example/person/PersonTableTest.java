@@ -0,0 +1,143 @@
+package org.example.person;
+
+import org.example.person.comparators.PersonAgeComparator;
+import org.example.person.comparators.PersonSexComparator;
+import org.example.person.enums.Sex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class PersonTableTest {
+
+    PersonTable personTable = new PersonTable();
+
+    PersonTable emptyTable = new PersonTable(0);
+
+    Person person1 = new Person(20, "Надежда", "Петрова", Sex.FEMALE);
+    Person person2 = new Person(18, "Иван", "Иванов", Sex.MALE);
+    Person person3 = new Person(20, "Олег", "Орлов", Sex.MALE);
+    Person person4 = new Person(21, "Анастасия", "Боброва", Sex.MALE);
+    Person person5 = new Person(19, "Петр", "Петров", Sex.MALE);
+
+    @Before
+    public void setUp() throws Exception {
+        personTable.add(person1);
+        personTable.add(person2);
+        personTable.add(person3);
+        personTable.add(person4);
+        personTable.add(person5);
+    }
+
+    @Test
+    public void testAdd() {
+        Assert.assertEquals(5, personTable.size());
+        Assert.assertEquals(5, personTable.add(21, "Мария", "Сидорова", Sex.FEMALE));
+        Assert.assertEquals(0, emptyTable.add(person1));
+        Assert.assertEquals(1, emptyTable.size());
+    }
+
+    @Test
+    public void testGet() {
+        Person person = personTable.get(0);
+
+        Assert.assertEquals(20, person.getAge());
+        Assert.assertEquals("Надежда", person.getName());
+        Assert.assertEquals("Петрова", person.getSurname());
+        Assert.assertEquals(Sex.FEMALE, person.getSex());
+    }
+
+    @Test
+    public void testGet_withNullFields() {
+        int row = personTable.add(30, null, null, null);
+
+        Assert.assertNull(personTable.getName(row));
+        Assert.assertNull(personTable.getSurname(row));
+        Assert.assertNull(personTable.getSex(row));
+    }
+
+    @Test
+    public void testGet_withIndexGreaterThanSizeThrowsException() {
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> personTable.get(5));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> emptyTable.getAge(0));
+    }
+
+    @Test
+    public void testView() {
+        Person view = personTable.view(1);
+        view.setAge(40);
+        view.setName("Степан");
+        view.setSex(Sex.FEMALE);
+
+        Assert.assertEquals(40, personTable.getAge(1));
+        Assert.assertEquals("Степан", personTable.getName(1));
+        Assert.assertEquals("Иванов", personTable.getSurname(1));
+        Assert.assertEquals(Sex.FEMALE, personTable.getSex(1));
+    }
+
+    @Test
+    public void testIterator() {
+        Iterator<Person> iterator = personTable.iterator();
+        Person first = iterator.next();
+        Assert.assertEquals("Надежда", first.getName());
+        Person second = iterator.next();
+        Assert.assertSame(first, second);
+        Assert.assertEquals("Иван", second.getName());
+
+        iterator.next();
+        iterator.next();
+        iterator.next();
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void testForEach() {
+        int[] ageSum = new int[1];
+        personTable.forEach(p -> ageSum[0] += p.getAge());
+
+        Assert.assertEquals(98, ageSum[0]);
+    }
+
+    @Test
+    public void testSort_withPersonAge() {
+        personTable.sort(new PersonAgeComparator());
+
+        Assert.assertEquals("Иван", personTable.getName(0));
+        Assert.assertEquals("Петр", personTable.getName(1));
+        Assert.assertEquals("Надежда", personTable.getName(2));
+        Assert.assertEquals("Олег", personTable.getName(3));
+        Assert.assertEquals("Анастасия", personTable.getName(4));
+    }
+
+    @Test
+    public void testSort_withPersonSexKeepsAgeOrder() {
+        personTable.sort(new PersonAgeComparator());
+        personTable.sort(new PersonSexComparator());
+
+        Assert.assertEquals("Иван", personTable.getName(0));
+        Assert.assertEquals("Петр", personTable.getName(1));
+        Assert.assertEquals("Олег", personTable.getName(2));
+        Assert.assertEquals("Анастасия", personTable.getName(3));
+        Assert.assertEquals("Надежда", personTable.getName(4));
+    }
+
+    @Test
+    public void testAdd_withLoop_1000000() {
+        Random random = new Random(42);
+        PersonTable table = new PersonTable();
+        for (int i = 0; i < 1000000; i++) {
+            table.add(random.nextInt(100), "Имя" + (i % 100), "Фамилия" + i, i % 2 == 0 ? Sex.MALE : Sex.FEMALE);
+        }
+        table.sort(new PersonAgeComparator());
+
+        Assert.assertEquals(1000000, table.size());
+        for (int i = 1; i < table.size(); i++) {
+            Assert.assertTrue(table.getAge(i - 1) <= table.getAge(i));
+        }
+        Assert.assertTrue(table.offHeapBytes() > 1000000L * 21);
+    }
+}
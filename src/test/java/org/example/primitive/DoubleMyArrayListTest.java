@@ -0,0 +1,48 @@
+package org.example.primitive;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DoubleMyArrayListTest {
+
+    DoubleMyArrayList valueList = new DoubleMyArrayList();
+
+    @Before
+    public void setUp() throws Exception {
+        valueList.add(2.5);
+        valueList.add(-1.0);
+        valueList.add(Double.NaN);
+    }
+
+    @Test
+    public void testAddAndGet() {
+        valueList.add(0, 0.5);
+
+        Assert.assertEquals(4, valueList.size());
+        Assert.assertEquals(0.5, valueList.get(0), 0.0);
+        Assert.assertEquals(2.5, valueList.get(1), 0.0);
+    }
+
+    @Test
+    public void testIndexOf() {
+        Assert.assertEquals(1, valueList.indexOf(-1.0));
+        Assert.assertEquals(2, valueList.indexOf(Double.NaN));
+        Assert.assertEquals(-1, valueList.indexOf(-0.0));
+    }
+
+    @Test
+    public void testSort() {
+        valueList.sort();
+
+        Assert.assertArrayEquals(new double[]{-1.0, 2.5, Double.NaN}, valueList.toArray(), 0.0);
+    }
+
+    @Test
+    public void testStream() {
+        valueList.remove(2);
+
+        Assert.assertEquals(1.5, valueList.stream().sum(), 0.0);
+        Assert.assertEquals(2.5, valueList.iterator().nextDouble(), 0.0);
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.primitive;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+public class IntMyArrayListTest {
+
+    IntMyArrayList ageList = new IntMyArrayList();
+
+    IntMyArrayList emptyList = new IntMyArrayList();
+
+    IntMyArrayList testNumbersList_10000000 = new IntMyArrayList();
+
+    @Before
+    public void setUp() throws Exception {
+        ageList.add(20);
+        ageList.add(18);
+        ageList.add(20);
+        ageList.add(21);
+        ageList.add(19);
+
+        for (int i = 0; i < 10000000; i++) {
+            testNumbersList_10000000.add(i);
+        }
+    }
+
+    @Test
+    public void testSize() {
+        Assert.assertEquals(5, ageList.size());
+        Assert.assertTrue(emptyList.isEmpty());
+    }
+
+    @Test
+    public void testAddWithIndex() {
+        ageList.add(0, 99);
+        ageList.add(6, 100);
+
+        Assert.assertEquals(99, ageList.get(0));
+        Assert.assertEquals(20, ageList.get(1));
+        Assert.assertEquals(100, ageList.get(6));
+        Assert.assertEquals(7, ageList.size());
+    }
+
+    @Test
+    public void testAddWithIndex_withIndexGreaterThanSizeThrowsException() {
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> ageList.add(10, 1));
+    }
+
+    @Test
+    public void testGet_withLoop_10000000() {
+        Random random = new Random();
+        for (int i = 0; i < 1000000; i++) {
+            int idx = random.nextInt(10000000);
+            Assert.assertEquals(idx, testNumbersList_10000000.get(idx));
+        }
+    }
+
+    @Test
+    public void testGet_withEmptyListThrowsException() {
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> emptyList.get(0));
+    }
+
+    @Test
+    public void testSet() {
+        Assert.assertEquals(18, ageList.set(1, 30));
+        Assert.assertEquals(30, ageList.get(1));
+    }
+
+    @Test
+    public void testRemove() {
+        Assert.assertEquals(18, ageList.remove(1));
+        Assert.assertEquals(4, ageList.size());
+        Assert.assertEquals(20, ageList.get(1));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> ageList.remove(4));
+    }
+
+    @Test
+    public void testIndexOf() {
+        Assert.assertEquals(0, ageList.indexOf(20));
+        Assert.assertEquals(4, ageList.indexOf(19));
+        Assert.assertEquals(-1, ageList.indexOf(50));
+        Assert.assertTrue(ageList.contains(21));
+        Assert.assertFalse(emptyList.contains(21));
+    }
+
+    @Test
+    public void testSort() {
+        ageList.sort();
+
+        Assert.assertArrayEquals(new int[]{18, 19, 20, 20, 21}, ageList.toArray());
+    }
+
+    @Test
+    public void testSort_withNumbers_1000000() {
+        IntMyArrayList unsorted = new IntMyArrayList();
+        for (int i = 0; i < 1000000; i++) {
+            unsorted.add(1000000 - i - 1);
+        }
+        unsorted.sort();
+
+        for (int i = 0; i < 1000000; i++) {
+            Assert.assertEquals(i, unsorted.get(i));
+        }
+    }
+
+    @Test
+    public void testAddAll() {
+        IntMyArrayList list = new IntMyArrayList(new int[]{1, 2});
+        Assert.assertTrue(list.addAll(ageList));
+        Assert.assertTrue(list.addAll(new int[]{3}));
+        Assert.assertFalse(list.addAll(emptyList));
+
+        Assert.assertArrayEquals(new int[]{1, 2, 20, 18, 20, 21, 19, 3}, list.toArray());
+    }
+
+    @Test
+    public void testIterator() {
+        PrimitiveIterator.OfInt iterator = testNumbersList_10000000.iterator();
+        for (int i = 0; i < testNumbersList_10000000.size(); i++) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(i, iterator.nextInt());
+        }
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertThrows(NoSuchElementException.class, iterator::nextInt);
+    }
+
+    @Test
+    public void testStream() {
+        Assert.assertEquals(98, ageList.stream().sum());
+        Assert.assertEquals(10000000L * (10000000L - 1) / 2,
+                testNumbersList_10000000.stream().parallel().asLongStream().sum());
+    }
+
+    @Test
+    public void testTrimToSize() {
+        ageList.trimToSize();
+        Assert.assertEquals(5, ageList.capacity());
+        Assert.assertTrue(ageList.add(1));
+        Assert.assertEquals(6, ageList.size());
+    }
+
+    @Test
+    public void testClear() {
+        testNumbersList_10000000.clear();
+
+        Assert.assertEquals(0, testNumbersList_10000000.size());
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.primitive;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LongMyArrayListTest {
+
+    LongMyArrayList timestampList = new LongMyArrayList();
+
+    @Before
+    public void setUp() throws Exception {
+        timestampList.add(1700000000003L);
+        timestampList.add(1700000000001L);
+        timestampList.add(1700000000002L);
+    }
+
+    @Test
+    public void testAddAndGet() {
+        timestampList.add(1, Long.MAX_VALUE);
+
+        Assert.assertEquals(4, timestampList.size());
+        Assert.assertEquals(Long.MAX_VALUE, timestampList.get(1));
+        Assert.assertEquals(1700000000001L, timestampList.get(2));
+    }
+
+    @Test
+    public void testRemoveAndIndexOf() {
+        Assert.assertEquals(1700000000001L, timestampList.remove(1));
+        Assert.assertEquals(1, timestampList.indexOf(1700000000002L));
+        Assert.assertEquals(-1, timestampList.indexOf(1700000000001L));
+    }
+
+    @Test
+    public void testSort() {
+        timestampList.sort();
+
+        Assert.assertArrayEquals(new long[]{1700000000001L, 1700000000002L, 1700000000003L}, timestampList.toArray());
+    }
+
+    @Test
+    public void testStream() {
+        Assert.assertEquals(1700000000001L, timestampList.stream().min().getAsLong());
+        Assert.assertEquals(1700000000003L, timestampList.iterator().nextLong());
+    }
+}